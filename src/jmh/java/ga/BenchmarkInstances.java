@@ -0,0 +1,55 @@
+package ga;
+
+import java.util.Random;
+
+import tsp.TSP;
+
+/**
+ * Instances used by the benchmarks - bundled TSPLIB files (e.g. "gr96") or
+ * synthetic instances of random places on a plane (e.g. "1000")
+ *
+ * @author Jagoda Wieczorek
+ */
+final class BenchmarkInstances {
+	private static final long SEED = 42L;
+
+	private static final int PLANE_SIZE = 10_000;
+
+	private BenchmarkInstances() {
+	}
+
+	/**
+	 * @param instance
+	 *                     name of the bundled instance or number of places of a
+	 *                     synthetic instance
+	 * @return distance matrix of the instance
+	 */
+	static DistanceMatrix load(final String instance) {
+		if (instance.startsWith("gr")) {
+			return DistanceMatrix.of(new TSP("resources/tsp/" + instance + ".tsp").getPlaces());
+		}
+
+		return instance(instance).toDistanceMatrix();
+	}
+
+	/**
+	 * @param instance
+	 *                     name of the bundled instance or number of places of a
+	 *                     synthetic instance
+	 * @return instance computing the distances of {@link #load(String)} on
+	 *         demand, synthetic instances have random places with rounded
+	 *         euclidean distances
+	 */
+	static TspInstance instance(final String instance) {
+		if (instance.startsWith("gr")) {
+			return TspInstance.load("resources/tsp/" + instance + ".tsp");
+		}
+
+		final int size = Integer.parseInt(instance);
+		final Random random = new Random(SEED);
+		final double[] x = random.ints(size, 0, PLANE_SIZE).asDoubleStream().toArray();
+		final double[] y = random.ints(size, 0, PLANE_SIZE).asDoubleStream().toArray();
+
+		return TspInstance.of(instance, x, y);
+	}
+}
@@ -0,0 +1,58 @@
+package ga;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of PartiallyMappedCrossover.perform
+ *
+ * @author Jagoda Wieczorek
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class CrossoverBenchmark {
+	@Param({ "gr96", "gr137", "1000", "10000" })
+	private String instance;
+
+	private final Crossover crossover = new PartiallyMappedCrossover();
+
+	private Individual parent1;
+
+	private Individual parent2;
+
+	private int[] child;
+
+	@Setup
+	public void setup() {
+		final DistanceMatrix distanceMatrix = BenchmarkInstances.load(this.instance);
+		this.parent1 = new Individual(distanceMatrix, new RandomAlgorithm());
+		this.parent2 = new Individual(distanceMatrix, new RandomAlgorithm());
+		this.child = new int[this.parent1.size()];
+	}
+
+	@Benchmark
+	public Individual perform() {
+		return this.crossover.perform(this.parent1, this.parent2, this.parent1.size() / 2);
+	}
+
+	@Benchmark
+	public int[] performIntoBuffer() {
+		this.crossover.perform(this.parent1.getGenes(), this.parent2.getGenes(), this.parent1.size() / 2, this.child);
+		return this.child;
+	}
+}
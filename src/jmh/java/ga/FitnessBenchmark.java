@@ -0,0 +1,73 @@
+package ga;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of Individual.calculateFitness and of a hit of FitnessCache, over
+ * the distance matrix and over distances computed by TspInstance
+ *
+ * @author Jagoda Wieczorek
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class FitnessBenchmark {
+	@Param({ "gr96", "gr137", "1000", "10000" })
+	private String instance;
+
+	private DistanceMatrix distanceMatrix;
+
+	private TspInstance tspInstance;
+
+	private FitnessCache matrixCache;
+
+	private FitnessCache instanceCache;
+
+	private Individual individual;
+
+	@Setup
+	public void setup() {
+		this.distanceMatrix = BenchmarkInstances.load(this.instance);
+		this.tspInstance = BenchmarkInstances.instance(this.instance);
+		this.individual = new Individual(this.distanceMatrix, new RandomAlgorithm());
+		this.matrixCache = new FitnessCache(this.distanceMatrix, 1024);
+		this.instanceCache = new FitnessCache(this.tspInstance, 1024);
+		this.individual.calculateFitness(this.matrixCache);
+		this.individual.calculateFitness(this.instanceCache);
+	}
+
+	@Benchmark
+	public int calculateFitness() {
+		return this.individual.calculateFitness(this.distanceMatrix);
+	}
+
+	@Benchmark
+	public int fitnessCacheHit() {
+		return this.individual.calculateFitness(this.matrixCache);
+	}
+
+	@Benchmark
+	public int computedFitness() {
+		return this.individual.calculateFitness(this.tspInstance);
+	}
+
+	@Benchmark
+	public int computedFitnessCacheHit() {
+		return this.individual.calculateFitness(this.instanceCache);
+	}
+}
@@ -0,0 +1,67 @@
+package ga;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of breeding one generation, into a new population and into a
+ * reused one (double buffering)
+ *
+ * @author Jagoda Wieczorek
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class GenerationBenchmark {
+	@Param({ "gr96", "gr137", "1000" })
+	private String instance;
+
+	@Param({ "500" })
+	private int populationSize;
+
+	private DistanceMatrix distanceMatrix;
+
+	private Population population;
+
+	private Population spare;
+
+	private long generation;
+
+	@Setup
+	public void setup() {
+		this.distanceMatrix = BenchmarkInstances.load(this.instance);
+		this.population = new Population(this.populationSize, this.distanceMatrix, new RandomAlgorithm());
+		this.spare = new Population(this.populationSize, this.distanceMatrix.size());
+	}
+
+	@Benchmark
+	public Population breedNewPopulation() {
+		return new Population(this.population, this.distanceMatrix, 0.2f, 0.5f, new Tournament(5), new PartiallyMappedCrossover(), new SwapMutation(),
+				null, 1, this.generation++);
+	}
+
+	@Benchmark
+	public Population breedIntoReusedPopulation() {
+		this.spare.breed(this.population, this.distanceMatrix, 0.2f, 0.5f, new Tournament(5), new PartiallyMappedCrossover(), new SwapMutation(),
+				null, 1, this.generation++, Deadline.none());
+		final Population bred = this.spare;
+		this.spare = this.population;
+		this.population = bred;
+
+		return bred;
+	}
+}
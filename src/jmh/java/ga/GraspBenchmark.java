@@ -0,0 +1,45 @@
+package ga;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of GraspAlgorithm.initialize
+ *
+ * @author Jagoda Wieczorek
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class GraspBenchmark {
+	@Param({ "gr96", "gr137", "1000", "10000" })
+	private String instance;
+
+	private final InitialGenomeAlgorithm graspAlgorithm = new GraspAlgorithm(2);
+
+	private DistanceMatrix distanceMatrix;
+
+	@Setup
+	public void setup() {
+		this.distanceMatrix = BenchmarkInstances.load(this.instance);
+	}
+
+	@Benchmark
+	public int[] initialize() {
+		return this.graspAlgorithm.initialize(this.distanceMatrix);
+	}
+}
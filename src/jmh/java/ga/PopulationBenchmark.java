@@ -0,0 +1,59 @@
+package ga;
+
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of Population.setBestIndividuals on a shuffled population
+ *
+ * @author Jagoda Wieczorek
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class PopulationBenchmark {
+	@Param({ "1000", "50000" })
+	private int populationSize;
+
+	private Population population;
+
+	private Random random;
+
+	@Setup
+	public void setup() {
+		this.random = new Random(42L);
+		this.population = new Population(this.populationSize, BenchmarkInstances.load("gr96"), new RandomAlgorithm());
+	}
+
+	/**
+	 * Selection keeps the population order, so one shuffle per iteration is
+	 * enough and its cost stays out of the measured calls
+	 */
+	@Setup(Level.Iteration)
+	public void shuffle() {
+		Collections.shuffle(this.population.getIndividuals(), this.random);
+	}
+
+	@Benchmark
+	public Population setBestIndividuals() {
+		this.population.setBestIndividuals(0.1f);
+		return this.population;
+	}
+}
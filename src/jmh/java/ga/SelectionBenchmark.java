@@ -0,0 +1,71 @@
+package ga;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of Tournament.select
+ *
+ * @author Jagoda Wieczorek
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class SelectionBenchmark {
+	@Param({ "1000", "50000" })
+	private int populationSize;
+
+	@Param({ "5" })
+	private int tournamentSize;
+
+	private Tournament tournament;
+
+	private List<Individual> individuals;
+
+	private int[] fitness;
+
+	private SplittableRandom random;
+
+	@Setup
+	public void setup() {
+		this.random = new SplittableRandom(42L);
+		this.tournament = new Tournament(this.tournamentSize);
+		this.individuals = new ArrayList<>(this.populationSize);
+		for (int i = 0; i < this.populationSize; i++) {
+			this.individuals.add(new Individual(this.random.nextInt(1_000_000)));
+		}
+		this.fitness = this.individuals.stream().mapToInt(Individual::getFitness).toArray();
+	}
+
+	@Benchmark
+	public Individual select() {
+		return this.tournament.select(this.individuals);
+	}
+
+	@Benchmark
+	public Individual selectWithRandom() {
+		return this.tournament.select(this.individuals, this.random);
+	}
+
+	@Benchmark
+	public int selectFromFitness() {
+		return this.tournament.select(this.fitness, this.random);
+	}
+}
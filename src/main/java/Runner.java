@@ -1,9 +1,6 @@
-import java.util.ArrayList;
+import java.io.IOException;
 
 import ga.*;
-import tsp.Path;
-import tsp.Place;
-import tsp.TSP;
 
 /**
  * Runner class
@@ -11,12 +8,20 @@ import tsp.TSP;
  * @author Jagoda Wieczorek
  */
 public class Runner {
-	public static void main(final String[] args) {
-		final TSP tsp = new TSP("resources/tsp/gr96.tsp");
-		final GeneticAlgorithm geneticAlgorithm = GeneticAlgorithm.create(300, 500, 0.2f, 0.5f, tsp, new Tournament(5), new PartiallyMappedCrossover(),
-				new GraspAlgorithm(2));
+	public static void main(final String[] args) throws IOException {
+		if (args.length > 0 && args[0].equals("--serve")) {
+			// long-lived service: --serve [port]
+			final SolveServer server = new SolveServer(args.length > 1 ? Integer.parseInt(args[1]) : 8080, Runtime.getRuntime().availableProcessors(),
+					64, 32);
+			Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+			server.start();
+			return;
+		}
+
+		final TspInstance instance = TspInstance.load(args.length > 0 ? args[0] : "resources/tsp/gr96.tsp");
+		final GeneticAlgorithm geneticAlgorithm = GeneticAlgorithm.create(300, 500, 0.2f, 0.5f, instance, new Tournament(5),
+				new PartiallyMappedCrossover(), new SwapMutation(), new GraspAlgorithm(2));
 		final Individual individual = geneticAlgorithm.run();
-		final Path pathObj = new Path(tsp.getPlaces(), individual.getGenome());
-		final ArrayList<Place> path = pathObj.getPath();
+		System.out.println(instance.getName() + ": " + individual.getFitness());
 	}
 }
@@ -0,0 +1,256 @@
+package ga;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Solves many instances concurrently on one shared work-stealing pool.
+ *
+ * At most {@code queueCapacity} jobs are queued or running, submitting more
+ * blocks the caller until a job completes (backpressure). Distances of an
+ * instance are computed once and shared by all its jobs - a full matrix for
+ * small instances, a shared cache of distances computed on demand for big
+ * ones. The most recently used instances are kept.
+ *
+ * @author Jagoda Wieczorek
+ */
+public class BatchSolver implements AutoCloseable {
+	/**
+	 * Instances up to this size get a full distance matrix (64 MB)
+	 */
+	static final int MATRIX_LIMIT = 4096;
+
+	private static final int DISTANCE_CACHE_CAPACITY = 1 << 20;
+
+	private final ForkJoinPool pool;
+
+	private final boolean ownPool;
+
+	private final int queueCapacity;
+
+	private final Semaphore permits;
+
+	private final Map<TspInstance, CompletableFuture<DistanceProvider>> distances;
+
+	/**
+	 * @param parallelism
+	 *                          number of threads of the pool
+	 * @param queueCapacity
+	 *                          maximum number of queued and running jobs
+	 * @param maxInstances
+	 *                          number of instances whose distances are kept
+	 */
+	public BatchSolver(final int parallelism, final int queueCapacity, final int maxInstances) {
+		this(new ForkJoinPool(parallelism), true, queueCapacity, maxInstances);
+	}
+
+	/**
+	 * @param pool
+	 *                          shared pool, not shut down by {@link #close()}
+	 * @param queueCapacity
+	 *                          maximum number of queued and running jobs
+	 * @param maxInstances
+	 *                          number of instances whose distances are kept
+	 */
+	public BatchSolver(final ForkJoinPool pool, final int queueCapacity, final int maxInstances) {
+		this(pool, false, queueCapacity, maxInstances);
+	}
+
+	private BatchSolver(final ForkJoinPool pool, final boolean ownPool, final int queueCapacity, final int maxInstances) {
+		if (queueCapacity <= 0) {
+			throw new IllegalArgumentException("Queue capacity cannot be less or equal 0");
+		}
+		if (maxInstances <= 0) {
+			throw new IllegalArgumentException("Number of instances cannot be less or equal 0");
+		}
+
+		this.pool = pool;
+		this.ownPool = ownPool;
+		this.queueCapacity = queueCapacity;
+		this.permits = new Semaphore(queueCapacity);
+		this.distances = new LinkedHashMap<TspInstance, CompletableFuture<DistanceProvider>>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<TspInstance, CompletableFuture<DistanceProvider>> eldest) {
+				return size() > maxInstances;
+			}
+		};
+	}
+
+	/**
+	 * Submit a job, blocks while the queue is full
+	 *
+	 * @param instance
+	 *                     instance to solve
+	 * @param config
+	 *                     configuration of the algorithm
+	 * @return the best tour of the job, its genome holds place ids
+	 * @throws InterruptedException
+	 *                                  when interrupted while waiting for the
+	 *                                  queue
+	 */
+	public CompletableFuture<Individual> solve(final TspInstance instance, final SolverConfig config) throws InterruptedException {
+		this.permits.acquire();
+
+		return submit(instance, config, null, null);
+	}
+
+	/**
+	 * Submit a job without blocking (admission control)
+	 *
+	 * @param instance
+	 *                     instance to solve
+	 * @param config
+	 *                     configuration of the algorithm
+	 * @param deadline
+	 *                     deadline of the job which can be cancelled, counted
+	 *                     from the submission, null for the maxtime of the
+	 *                     configuration counted from the start of the job
+	 * @param listener
+	 *                     listener of the generations of the job, may be null
+	 * @return the best tour of the job, its genome holds place ids
+	 * @throws RejectedExecutionException
+	 *                                        when the queue is full
+	 */
+	public CompletableFuture<Individual> trySolve(final TspInstance instance, final SolverConfig config, final Deadline deadline,
+			final GenerationListener listener) {
+		if (!this.permits.tryAcquire()) {
+			throw new RejectedExecutionException(String.format("Queue of %s jobs is full", this.queueCapacity));
+		}
+
+		return submit(instance, config, deadline, listener);
+	}
+
+	/**
+	 * Run the job holding an acquired permit
+	 */
+	private CompletableFuture<Individual> submit(final TspInstance instance, final SolverConfig config, final Deadline deadline,
+			final GenerationListener listener) {
+		try {
+			// the result completes after the permit is released
+			return CompletableFuture.supplyAsync(() -> {
+				final DistanceProvider distanceProvider = getDistanceProvider(instance);
+				final GeneticAlgorithm algorithm = config.create(instance, distanceProvider, this.pool);
+				if (listener != null) {
+					algorithm.addGenerationListener(listener);
+				}
+
+				if (deadline != null) {
+					return algorithm.run(deadline);
+				}
+				return algorithm.run(config.getMaxtime() != 0 ? Deadline.after(config.getMaxtime()) : Deadline.none());
+			}, this.pool).whenComplete((individual, exception) -> this.permits.release());
+		} catch (final RuntimeException e) {
+			this.permits.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * Submit jobs in the order of the map, blocks while the queue is full
+	 *
+	 * @param jobs
+	 *                 instances with configurations of their algorithms
+	 * @return the best tours by instance
+	 * @throws InterruptedException
+	 *                                  when interrupted while waiting for the
+	 *                                  queue, already submitted jobs continue
+	 */
+	public Map<TspInstance, CompletableFuture<Individual>> solveAll(final Map<TspInstance, SolverConfig> jobs) throws InterruptedException {
+		final Map<TspInstance, CompletableFuture<Individual>> results = new LinkedHashMap<>();
+		for (final Map.Entry<TspInstance, SolverConfig> job: jobs.entrySet()) {
+			results.put(job.getKey(), solve(job.getKey(), job.getValue()));
+		}
+
+		return results;
+	}
+
+	/**
+	 * Submit jobs with the same configuration, blocks while the queue is full
+	 *
+	 * @param instances
+	 *                      instances to solve
+	 * @param config
+	 *                      configuration of the algorithms
+	 * @return the best tours by instance
+	 * @throws InterruptedException
+	 *                                  when interrupted while waiting for the
+	 *                                  queue, already submitted jobs continue
+	 */
+	public Map<TspInstance, CompletableFuture<Individual>> solveAll(final Collection<TspInstance> instances, final SolverConfig config)
+			throws InterruptedException {
+		final Map<TspInstance, CompletableFuture<Individual>> results = new LinkedHashMap<>();
+		for (final TspInstance instance: instances) {
+			results.put(instance, solve(instance, config));
+		}
+
+		return results;
+	}
+
+	/**
+	 * Distances are computed by the first job of the instance outside of the
+	 * lock, other jobs of the instance wait for them
+	 *
+	 * @return distances of the instance shared by its jobs
+	 */
+	DistanceProvider getDistanceProvider(final TspInstance instance) {
+		final CompletableFuture<DistanceProvider> distanceProvider;
+		final boolean created;
+		synchronized (this.distances) {
+			final CompletableFuture<DistanceProvider> cached = this.distances.get(instance);
+			created = cached == null;
+			distanceProvider = created ? new CompletableFuture<>() : cached;
+			if (created) {
+				this.distances.put(instance, distanceProvider);
+			}
+		}
+
+		if (created) {
+			try {
+				distanceProvider.complete(distancesOf(instance, this.pool));
+			} catch (final RuntimeException e) {
+				synchronized (this.distances) {
+					this.distances.remove(instance, distanceProvider);
+				}
+				distanceProvider.completeExceptionally(e);
+			}
+		}
+
+		return distanceProvider.join();
+	}
+
+	/**
+	 * @param instance
+	 *                     instance
+	 * @param pool
+	 *                     pool computing the matrix
+	 * @return thread-safe distances of the instance - a full matrix for small
+	 *         instances, a cache of distances computed on demand for big ones
+	 */
+	static DistanceProvider distancesOf(final TspInstance instance, final ForkJoinPool pool) {
+		return instance.size() <= MATRIX_LIMIT ? instance.toDistanceMatrix(pool) : new CachedDistanceProvider(instance, DISTANCE_CACHE_CAPACITY);
+	}
+
+	/**
+	 * @return number of jobs which can be submitted without blocking
+	 */
+	public int getAvailableCapacity() {
+		return this.permits.availablePermits();
+	}
+
+	/**
+	 * Shut down the pool created by the solver, running jobs complete
+	 */
+	@Override
+	public void close() {
+		if (this.ownPool) {
+			this.pool.shutdown();
+		}
+	}
+}
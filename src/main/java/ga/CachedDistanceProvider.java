@@ -0,0 +1,176 @@
+package ga;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Bounded cache of distances computed on demand by another provider, e.g.
+ * {@link TspInstance}. Memory does not grow with the number of places, so
+ * instances too big for a {@link DistanceMatrix} can be evolved.
+ *
+ * The cache is 2-way set-associative: a pair of places maps to one set of two
+ * entries, a miss replaces the entry hit less often and ages the other one by
+ * one hit, so the most frequently hit pairs (tour edges between near places)
+ * stay cached. Sets are guarded by striped locks, hits are read
+ * optimistically.
+ *
+ * @author Jagoda Wieczorek
+ */
+public final class CachedDistanceProvider implements DistanceProvider {
+	private static final int WAYS = 2;
+
+	private static final int STRIPES = 256;
+
+	private static final long EMPTY = -1L;
+
+	private static final byte MAX_FREQUENCY = Byte.MAX_VALUE;
+
+	private final DistanceProvider source;
+
+	private final int setBits;
+
+	private final long[] keys;
+
+	private final int[] values;
+
+	private final byte[] frequencies;
+
+	private final StampedLock[] locks;
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * @param source
+	 *                     provider computing symmetric distances
+	 * @param capacity
+	 *                     maximum number of cached distances, rounded up to a
+	 *                     power of 2
+	 */
+	public CachedDistanceProvider(final DistanceProvider source, final int capacity) {
+		if (capacity < WAYS) {
+			throw new IllegalArgumentException(String.format("Cache capacity cannot be less than %s", WAYS));
+		}
+		if (capacity > 1 << 30) {
+			throw new IllegalArgumentException(String.format("Cache capacity cannot be bigger than %s", 1 << 30));
+		}
+
+		final int sets = Integer.highestOneBit(capacity - 1) * 2 / WAYS;
+		this.source = source;
+		this.setBits = Integer.numberOfTrailingZeros(sets);
+		this.keys = new long[sets * WAYS];
+		this.values = new int[sets * WAYS];
+		this.frequencies = new byte[sets * WAYS];
+		this.locks = new StampedLock[Math.min(STRIPES, sets)];
+		Arrays.fill(this.keys, EMPTY);
+		for (int stripe = 0; stripe < this.locks.length; stripe++) {
+			this.locks[stripe] = new StampedLock();
+		}
+	}
+
+	@Override
+	public int getDistance(final int from, final int to) {
+		if (from == to) {
+			return 0;
+		}
+
+		final long key = from < to ? (long) from << 32 | to : (long) to << 32 | from;
+		final int slot = this.setBits == 0 ? 0 : (int) ((key * 0x9E3779B97F4A7C15L) >>> (64 - this.setBits)) * WAYS;
+		final StampedLock lock = this.locks[(slot / WAYS) & (this.locks.length - 1)];
+
+		long stamp = lock.tryOptimisticRead();
+		int way = find(slot, key);
+		int value = way < 0 ? 0 : this.values[slot + way];
+		if (!lock.validate(stamp)) {
+			stamp = lock.readLock();
+			try {
+				way = find(slot, key);
+				value = way < 0 ? 0 : this.values[slot + way];
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+
+		if (way >= 0) {
+			this.hits.increment();
+			// approximate, a lost update only delays the eviction decision
+			if (this.frequencies[slot + way] < MAX_FREQUENCY) {
+				this.frequencies[slot + way]++;
+			}
+			return value;
+		}
+
+		this.misses.increment();
+		value = this.source.getDistance(from, to);
+		stamp = lock.writeLock();
+		try {
+			if (find(slot, key) < 0) {
+				final int victim = this.frequencies[slot] <= this.frequencies[slot + 1] ? 0 : 1;
+				final int survivor = slot + 1 - victim;
+				if (this.frequencies[survivor] > 0) {
+					this.frequencies[survivor]--;
+				}
+				this.keys[slot + victim] = key;
+				this.values[slot + victim] = value;
+				this.frequencies[slot + victim] = 1;
+			}
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+
+		return value;
+	}
+
+	private int find(final int slot, final long key) {
+		if (this.keys[slot] == key) {
+			return 0;
+		}
+
+		return this.keys[slot + 1] == key ? 1 : -1;
+	}
+
+	/**
+	 * @return provider of the distances
+	 */
+	DistanceProvider getSource() {
+		return this.source;
+	}
+
+	@Override
+	public int size() {
+		return this.source.size();
+	}
+
+	@Override
+	public int getId(final int index) {
+		return this.source.getId(index);
+	}
+
+	@Override
+	public int getIndex(final int id) {
+		return this.source.getIndex(id);
+	}
+
+	/**
+	 * @return number of distances read from the cache
+	 */
+	public long getHitCount() {
+		return this.hits.sum();
+	}
+
+	/**
+	 * @return number of distances computed by the source provider
+	 */
+	public long getMissCount() {
+		return this.misses.sum();
+	}
+
+	/**
+	 * @return maximum number of cached distances
+	 */
+	public int getCapacity() {
+		return this.keys.length;
+	}
+}
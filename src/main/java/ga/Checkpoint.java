@@ -0,0 +1,300 @@
+package ga;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Snapshot of a run - the population, the best individual found so far and
+ * the number of evolved generations. Random generators are seeded from the
+ * master seed and the generation number, termination criteria and restarts
+ * are replayed from the improvements of the best fitness, so together with
+ * the seed this is the full state needed to continue the run exactly where it
+ * stopped.
+ *
+ * Binary format (big-endian): magic, version, seed, generation, workers,
+ * population size, genome length, best fitness, best genome, fitness of all
+ * individuals, genomes of all individuals, number of improvements, pairs of
+ * generation and best fitness of the improvements, CRC32 of all preceding
+ * bytes. Version 1 has no improvements.
+ *
+ * @author Jagoda Wieczorek
+ */
+public final class Checkpoint {
+	private static final int MAGIC = 0x54535043;
+
+	private static final int VERSION = 2;
+
+	private static final int VERSION_WITHOUT_IMPROVEMENTS = 1;
+
+	private static final int HEADER_BYTES = 4 + 4 + 8 + 4 * 5;
+
+	private static final int CHUNK_BYTES = 1 << 16;
+
+	private final long seed;
+
+	private final int generation;
+
+	private final int workers;
+
+	private final int[] bestGenome;
+
+	private final int bestFitness;
+
+	private final int[] fitness;
+
+	private final int[] genomes;
+
+	/**
+	 * Pairs of generation and best fitness, null when read from version 1
+	 */
+	private final int[] improvements;
+
+	private Checkpoint(final long seed, final int generation, final int workers, final int[] bestGenome, final int bestFitness, final int[] fitness,
+			final int[] genomes, final int[] improvements) {
+		this.seed = seed;
+		this.generation = generation;
+		this.workers = workers;
+		this.bestGenome = bestGenome;
+		this.bestFitness = bestFitness;
+		this.fitness = fitness;
+		this.genomes = genomes;
+		this.improvements = improvements;
+	}
+
+	/**
+	 * Copy the state of the run, the copy does not share arrays with the
+	 * population so the run can continue while the checkpoint is written
+	 *
+	 * @param seed
+	 *                           master seed of the run
+	 * @param generation
+	 *                           number of evolved generations
+	 * @param workers
+	 *                           number of slices of every generation
+	 * @param population
+	 *                           current generation
+	 * @param bestIndividual
+	 *                           the best individual found so far
+	 * @param improvements
+	 *                           improvements of the best fitness so far
+	 * @return checkpoint
+	 */
+	static Checkpoint of(final long seed, final int generation, final int workers, final Population population, final Individual bestIndividual,
+			final ImprovementHistory improvements) {
+		final List<Individual> individuals = population.getIndividuals();
+		final int genomeLength = bestIndividual.size();
+		final int[] fitness = new int[individuals.size()];
+		final int[] genomes = new int[individuals.size() * genomeLength];
+		for (int i = 0; i < fitness.length; i++) {
+			fitness[i] = individuals.get(i).getFitness();
+			System.arraycopy(individuals.get(i).getGenes(), 0, genomes, i * genomeLength, genomeLength);
+		}
+
+		return new Checkpoint(seed, generation, workers, bestIndividual.getGenes().clone(), bestIndividual.getFitness(), fitness, genomes,
+				improvements.toArray());
+	}
+
+	/**
+	 * Write to a temporary file moved over the target afterwards, so the
+	 * previous checkpoint survives a crash during writing
+	 *
+	 * @param path
+	 *                 checkpoint file
+	 */
+	public void write(final Path path) {
+		final Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			final CRC32 crc = new CRC32();
+			final ByteBuffer buffer = ByteBuffer.allocate(CHUNK_BYTES);
+			buffer.putInt(MAGIC).putInt(VERSION).putLong(this.seed).putInt(this.generation).putInt(this.workers).putInt(this.fitness.length)
+					.putInt(this.bestGenome.length).putInt(this.bestFitness);
+			put(channel, buffer, crc, this.bestGenome);
+			put(channel, buffer, crc, this.fitness);
+			put(channel, buffer, crc, this.genomes);
+			put(channel, buffer, crc, new int[] { this.improvements.length / 2 });
+			put(channel, buffer, crc, this.improvements);
+			flush(channel, buffer, crc);
+			buffer.putLong(crc.getValue());
+			buffer.flip();
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			channel.force(false);
+		} catch (final IOException e) {
+			throw new UncheckedIOException(String.format("Cannot write checkpoint %s", path), e);
+		}
+
+		try {
+			Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (final IOException e) {
+			throw new UncheckedIOException(String.format("Cannot write checkpoint %s", path), e);
+		}
+	}
+
+	private static void put(final FileChannel channel, final ByteBuffer buffer, final CRC32 crc, final int[] values) throws IOException {
+		int offset = 0;
+		while (offset < values.length) {
+			final int count = Math.min(values.length - offset, buffer.remaining() / Integer.BYTES);
+			if (count == 0) {
+				flush(channel, buffer, crc);
+				continue;
+			}
+			final IntBuffer view = buffer.asIntBuffer();
+			view.put(values, offset, count);
+			buffer.position(buffer.position() + count * Integer.BYTES);
+			offset += count;
+		}
+	}
+
+	private static void flush(final FileChannel channel, final ByteBuffer buffer, final CRC32 crc) throws IOException {
+		buffer.flip();
+		crc.update(buffer.duplicate());
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	/**
+	 * @param path
+	 *                 checkpoint file
+	 * @return checkpoint
+	 */
+	public static Checkpoint read(final Path path) {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			final long size = channel.size();
+			if (size < HEADER_BYTES + Long.BYTES || size > Integer.MAX_VALUE) {
+				throw new IllegalArgumentException(String.format("File %s is not a checkpoint", path));
+			}
+
+			final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			if (buffer.getInt() != MAGIC) {
+				throw new IllegalArgumentException(String.format("File %s is not a checkpoint", path));
+			}
+			final int version = buffer.getInt();
+			if (version != VERSION && version != VERSION_WITHOUT_IMPROVEMENTS) {
+				throw new IllegalArgumentException(String.format("Unsupported checkpoint version %s", version));
+			}
+
+			final long seed = buffer.getLong();
+			final int generation = buffer.getInt();
+			final int workers = buffer.getInt();
+			final int populationSize = buffer.getInt();
+			final int genomeLength = buffer.getInt();
+			final int bestFitness = buffer.getInt();
+			final long populationBytes = HEADER_BYTES + ((long) genomeLength + populationSize + (long) populationSize * genomeLength) * Integer.BYTES;
+			final long improvementBytes = version == VERSION && size >= populationBytes + Integer.BYTES + Long.BYTES
+					? Integer.BYTES + 2L * Integer.BYTES * buffer.getInt((int) populationBytes)
+					: 0L;
+			if (size != populationBytes + improvementBytes + Long.BYTES) {
+				throw new IllegalArgumentException(String.format("Checkpoint %s is truncated", path));
+			}
+
+			final CRC32 crc = new CRC32();
+			final ByteBuffer data = buffer.duplicate();
+			data.position(0).limit((int) size - Long.BYTES);
+			crc.update(data);
+			if (crc.getValue() != buffer.getLong((int) size - Long.BYTES)) {
+				throw new IllegalArgumentException(String.format("Checkpoint %s is corrupted", path));
+			}
+
+			final IntBuffer ints = buffer.asIntBuffer();
+			final int[] bestGenome = new int[genomeLength];
+			final int[] fitness = new int[populationSize];
+			final int[] genomes = new int[populationSize * genomeLength];
+			ints.get(bestGenome).get(fitness).get(genomes);
+			int[] improvements = null;
+			if (version == VERSION) {
+				improvements = new int[2 * ints.get()];
+				ints.get(improvements);
+			}
+
+			return new Checkpoint(seed, generation, workers, bestGenome, bestFitness, fitness, genomes, improvements);
+		} catch (final IOException e) {
+			throw new UncheckedIOException(String.format("Cannot read checkpoint %s", path), e);
+		}
+	}
+
+	/**
+	 * @return population restored from the checkpoint
+	 */
+	Population toPopulation() {
+		final Population population = new Population(this.fitness.length, this.bestGenome.length);
+		final List<Individual> individuals = population.getIndividuals();
+		for (int i = 0; i < this.fitness.length; i++) {
+			final Individual individual = individuals.get(i);
+			System.arraycopy(this.genomes, i * this.bestGenome.length, individual.getGenes(), 0, this.bestGenome.length);
+			individual.setFitness(this.fitness[i]);
+		}
+		population.restore();
+
+		return population;
+	}
+
+	/**
+	 * @return the best individual found before the checkpoint
+	 */
+	Individual getBestIndividual() {
+		return new Individual(this.bestGenome.clone(), this.bestFitness);
+	}
+
+	/**
+	 * @return improvements of the best fitness before the checkpoint, null for
+	 *         checkpoints of version 1
+	 */
+	ImprovementHistory getImprovements() {
+		return this.improvements != null ? ImprovementHistory.of(this.improvements) : null;
+	}
+
+	/**
+	 * @return master seed of the run
+	 */
+	public long getSeed() {
+		return this.seed;
+	}
+
+	/**
+	 * @return number of evolved generations
+	 */
+	public int getGeneration() {
+		return this.generation;
+	}
+
+	/**
+	 * @return number of slices of every generation
+	 */
+	public int getWorkers() {
+		return this.workers;
+	}
+
+	/**
+	 * @return number of individuals
+	 */
+	public int getPopulationSize() {
+		return this.fitness.length;
+	}
+
+	/**
+	 * @return number of genes of every individual
+	 */
+	public int getGenomeLength() {
+		return this.bestGenome.length;
+	}
+
+	/**
+	 * @return fitness of the best individual found before the checkpoint
+	 */
+	public int getBestFitness() {
+		return this.bestFitness;
+	}
+}
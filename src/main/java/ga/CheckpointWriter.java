@@ -0,0 +1,90 @@
+package ga;
+
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Writes checkpoints on a background thread. A checkpoint requested while the
+ * previous one is still being written is skipped, so the generation loop
+ * never waits for the disk.
+ *
+ * @author Jagoda Wieczorek
+ */
+final class CheckpointWriter implements AutoCloseable {
+	private static final Logger LOGGER = Logger.getLogger(CheckpointWriter.class.getName());
+
+	private final Path path;
+
+	private final ExecutorService executor;
+
+	private final AtomicBoolean writing = new AtomicBoolean();
+
+	/**
+	 * @param path
+	 *                 checkpoint file, overwritten by every checkpoint
+	 */
+	CheckpointWriter(final Path path) {
+		this.path = path;
+		this.executor = Executors.newSingleThreadExecutor(runnable -> {
+			final Thread thread = new Thread(runnable, "checkpoint-writer");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * @param checkpoint
+	 *                       checkpoint not sharing arrays with the running
+	 *                       population
+	 * @param written
+	 *                       called on the writer thread after the checkpoint
+	 *                       was written, not called when writing failed
+	 * @return false if the checkpoint was skipped because the previous one is
+	 *         still being written
+	 */
+	boolean write(final Checkpoint checkpoint, final Runnable written) {
+		if (!this.writing.compareAndSet(false, true)) {
+			LOGGER.log(Level.FINE, "Checkpoint of generation {0} skipped, previous one is still being written", checkpoint.getGeneration());
+			return false;
+		}
+
+		this.executor.execute(() -> {
+			try {
+				checkpoint.write(this.path);
+				written.run();
+			} catch (final RuntimeException e) {
+				LOGGER.log(Level.WARNING, "Cannot write checkpoint of generation " + checkpoint.getGeneration(), e);
+			} finally {
+				this.writing.set(false);
+			}
+		});
+
+		return true;
+	}
+
+	/**
+	 * @return true while a checkpoint is being written, a new one would be
+	 *         skipped
+	 */
+	boolean isWriting() {
+		return this.writing.get();
+	}
+
+	/**
+	 * Wait until the pending checkpoint is written
+	 */
+	@Override
+	public void close() {
+		this.executor.shutdown();
+		try {
+			this.executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -1,5 +1,7 @@
 package ga;
 
+import java.util.SplittableRandom;
+
 /**
  * Crossover interface
  *
@@ -8,5 +10,124 @@ package ga;
 public interface Crossover {
 	Individual perform(Individual parent1, Individual parent2);
 
+	/**
+	 * @param parent1
+	 *                    first parent
+	 * @param parent2
+	 *                    second parent
+	 * @param random
+	 *                    random generator used to pick the breakpoint
+	 * @return child
+	 */
+	default Individual perform(final Individual parent1, final Individual parent2, final SplittableRandom random) {
+		return perform(parent1, parent2, random.nextInt(parent1.size() - 1));
+	}
+
 	Individual perform(Individual parent1, Individual parent2, int breakpoint);
+
+	/**
+	 * @param genome1
+	 *                       first parent's genome
+	 * @param genome2
+	 *                       second parent's genome
+	 * @param breakpoint
+	 *                       crossover breakpoint
+	 * @return child's genome
+	 */
+	default int[] perform(final int[] genome1, final int[] genome2, final int breakpoint) {
+		final int[] child = new int[genome1.length];
+		perform(genome1, genome2, breakpoint, child);
+
+		return child;
+	}
+
+	/**
+	 * @param genome1
+	 *                       first parent's genome
+	 * @param genome2
+	 *                       second parent's genome
+	 * @param breakpoint
+	 *                       crossover breakpoint
+	 * @param child
+	 *                       buffer the child's genome is written to, of the
+	 *                       parents' genome length and distinct from them
+	 */
+	default void perform(final int[] genome1, final int[] genome2, final int breakpoint, final int[] child) {
+		final int[] genes = perform(new Individual(genome1), new Individual(genome2), breakpoint).getGenes();
+		System.arraycopy(genes, 0, child, 0, genes.length);
+	}
+
+	/**
+	 * @param genome1
+	 *                    first parent's genome
+	 * @param genome2
+	 *                    second parent's genome
+	 * @param random
+	 *                    random generator used to pick the breakpoint
+	 * @param child
+	 *                    buffer the child's genome is written to
+	 */
+	default void perform(final int[] genome1, final int[] genome2, final SplittableRandom random, final int[] child) {
+		perform(genome1, genome2, random.nextInt(genome1.length - 1), child);
+	}
+
+	/**
+	 * Cross genomes stored in slabs of genomes, see {@link PopulationArena}. The
+	 * default implementation crosses copies, {@link PartiallyMappedCrossover}
+	 * works on the slabs directly.
+	 *
+	 * @param genomes1
+	 *                        slab holding the first parent's genome
+	 * @param offset1
+	 *                        position of the first parent's first gen
+	 * @param genomes2
+	 *                        slab holding the second parent's genome
+	 * @param offset2
+	 *                        position of the second parent's first gen
+	 * @param length
+	 *                        number of genes of a genome
+	 * @param breakpoint
+	 *                        crossover breakpoint
+	 * @param children
+	 *                        slab the child's genome is written to, distinct
+	 *                        from the parents' slabs
+	 * @param childOffset
+	 *                        position of the child's first gen
+	 */
+	default void perform(final int[] genomes1, final int offset1, final int[] genomes2, final int offset2, final int length, final int breakpoint,
+			final int[] children, final int childOffset) {
+		final int[] genome1 = new int[length];
+		final int[] genome2 = new int[length];
+		final int[] child = new int[length];
+		System.arraycopy(genomes1, offset1, genome1, 0, length);
+		System.arraycopy(genomes2, offset2, genome2, 0, length);
+		perform(genome1, genome2, breakpoint, child);
+		System.arraycopy(child, 0, children, childOffset, length);
+	}
+
+	/**
+	 * Cross genomes stored in slabs of genomes at a random breakpoint, see
+	 * {@link #perform(int[], int, int[], int, int, int, int[], int)}
+	 *
+	 * @param genomes1
+	 *                        slab holding the first parent's genome
+	 * @param offset1
+	 *                        position of the first parent's first gen
+	 * @param genomes2
+	 *                        slab holding the second parent's genome
+	 * @param offset2
+	 *                        position of the second parent's first gen
+	 * @param length
+	 *                        number of genes of a genome
+	 * @param random
+	 *                        random generator used to pick the breakpoint
+	 * @param children
+	 *                        slab the child's genome is written to
+	 * @param childOffset
+	 *                        position of the child's first gen
+	 */
+	default void perform(final int[] genomes1, final int offset1, final int[] genomes2, final int offset2, final int length,
+			final SplittableRandom random, final int[] children, final int childOffset) {
+		perform(genomes1, offset1, genomes2, offset2, length, random.nextInt(length - 1), children, childOffset);
+	}
 }
@@ -0,0 +1,81 @@
+package ga;
+
+/**
+ * Wall-clock budget of a run which can also be cancelled from another thread.
+ * Checking it costs one volatile read and at most one {@link System#nanoTime()}
+ * call.
+ *
+ * @author Jagoda Wieczorek
+ */
+public final class Deadline {
+	private final boolean limited;
+
+	private final long end;
+
+	private volatile boolean cancelled;
+
+	private Deadline(final boolean limited, final long end) {
+		this.limited = limited;
+		this.end = end;
+	}
+
+	/**
+	 * @param millis
+	 *                   time budget in milliseconds, counted from now
+	 * @return deadline reached after the time budget
+	 */
+	public static Deadline after(final long millis) {
+		if (millis < 0) {
+			throw new IllegalArgumentException("Time budget cannot be less than 0");
+		}
+
+		return new Deadline(true, System.nanoTime() + millis * 1_000_000L);
+	}
+
+	/**
+	 * @return deadline without time limit, reached only when cancelled
+	 */
+	public static Deadline none() {
+		return new Deadline(false, 0);
+	}
+
+	/**
+	 * Cancel the run, it stops as soon as it checks the deadline
+	 */
+	public void cancel() {
+		this.cancelled = true;
+	}
+
+	/**
+	 * @return true if cancelled
+	 */
+	public boolean isCancelled() {
+		return this.cancelled;
+	}
+
+	/**
+	 * @return true if has a time limit
+	 */
+	public boolean isLimited() {
+		return this.limited;
+	}
+
+	/**
+	 * @return true if cancelled or the time budget is exhausted
+	 */
+	public boolean isReached() {
+		return this.cancelled || (this.limited && System.nanoTime() - this.end >= 0);
+	}
+
+	/**
+	 * @return remaining time in milliseconds, {@link Long#MAX_VALUE} when not
+	 *         limited
+	 */
+	public long remainingMillis() {
+		if (!this.limited) {
+			return Long.MAX_VALUE;
+		}
+
+		return Math.max(0, (this.end - System.nanoTime()) / 1_000_000L);
+	}
+}
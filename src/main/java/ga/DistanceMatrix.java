@@ -0,0 +1,218 @@
+package ga;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+
+import tsp.Place;
+
+/**
+ * Dense matrix of distances between places. Places are remapped to 0-based
+ * indices (in ascending id order), so genomes used together with the matrix
+ * hold indices instead of place ids.
+ *
+ * @author Jagoda Wieczorek
+ */
+public final class DistanceMatrix implements DistanceProvider {
+	/**
+	 * Matrices of the deprecated adapters taking places, weakly keyed by the
+	 * places
+	 */
+	private static final Map<TreeMap<Integer, Place>, DistanceMatrix> CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+
+	/**
+	 * Biggest array length allowed by the VMs, some reserve header words in
+	 * arrays
+	 */
+	private static final int MAX_VALUES = Integer.MAX_VALUE - 8;
+
+	private final int size;
+
+	private final int[] ids;
+
+	private final int[] distances;
+
+	/**
+	 * @param ids
+	 *                      place ids in ascending order (index -> id)
+	 * @param distances
+	 *                      row-major distances, size {@code ids.length^2}
+	 */
+	DistanceMatrix(final int[] ids, final int[] distances) {
+		if (distances.length != (long) ids.length * ids.length) {
+			throw new IllegalArgumentException(String.format("Distance matrix for %s places has to contain %s values", ids.length, ids.length * ids.length));
+		}
+
+		this.size = ids.length;
+		this.ids = ids;
+		this.distances = distances;
+	}
+
+	/**
+	 * @param size
+	 *                 number of places
+	 * @return number of values of the matrix for the places
+	 * @throws IllegalArgumentException
+	 *                                      when the values do not fit into an
+	 *                                      array (above 46 340 places)
+	 */
+	static int values(final int size) {
+		final long values = (long) size * size;
+		if (values > MAX_VALUES) {
+			throw new IllegalArgumentException(String.format(
+					"Distance matrix cannot have more than %s values, got %s for %s places - use CachedDistanceProvider over the instance instead",
+					MAX_VALUES, values, size));
+		}
+
+		return (int) values;
+	}
+
+	/**
+	 * Build the matrix once from places with calculated distances
+	 *
+	 * @param places
+	 *                   all available places
+	 * @return distance matrix
+	 */
+	public static DistanceMatrix of(final TreeMap<Integer, Place> places) {
+		final int size = places.size();
+		final int[] ids = new int[size];
+		final Place[] indexedPlaces = new Place[size];
+		int index = 0;
+		for (final Map.Entry<Integer, Place> entry: places.entrySet()) {
+			ids[index] = entry.getKey();
+			indexedPlaces[index] = entry.getValue();
+			index++;
+		}
+
+		final int[] distances = new int[values(size)];
+		for (int from = 0; from < size; from++) {
+			final Place place = indexedPlaces[from];
+			final int row = from * size;
+			for (int to = 0; to < size; to++) {
+				if (from != to) {
+					distances[row + to] = place.getDistanceTo(ids[to]);
+				}
+			}
+		}
+
+		return new DistanceMatrix(ids, distances);
+	}
+
+	/**
+	 * Matrix built once for all calls of the deprecated adapters taking places,
+	 * a changed map of places gets a new matrix
+	 *
+	 * @param places
+	 *                   all available places
+	 * @return distance matrix
+	 */
+	static DistanceMatrix cachedOf(final TreeMap<Integer, Place> places) {
+		return CACHE.computeIfAbsent(places, DistanceMatrix::of);
+	}
+
+	/**
+	 * @param from
+	 *                 index of the first place
+	 * @param to
+	 *                 index of the second place
+	 * @return distance between places
+	 */
+	@Override
+	public int getDistance(final int from, final int to) {
+		return this.distances[from * this.size + to];
+	}
+
+	/**
+	 * Cost of the closed tour stored in a slab of genomes
+	 *
+	 * @param genomes
+	 *                    slab of genomes holding place indices
+	 * @param offset
+	 *                    position of the first gen of the genome
+	 * @param length
+	 *                    number of genes of the genome
+	 * @return tour cost
+	 */
+	@Override
+	public int cost(final int[] genomes, final int offset, final int length) {
+		final int[] distances = this.distances;
+		final int size = this.size;
+		final int end = offset + length;
+		int cost = 0;
+		int current = genomes[offset];
+		for (int i = offset + 1; i < end; i++) {
+			final int next = genomes[i];
+			cost += distances[current * size + next];
+			current = next;
+		}
+		cost += distances[current * size + genomes[offset]];
+
+		return cost;
+	}
+
+	/**
+	 * @return number of places
+	 */
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * @param index
+	 *                  place index
+	 * @return place id
+	 */
+	@Override
+	public int getId(final int index) {
+		return this.ids[index];
+	}
+
+	/**
+	 * @param id
+	 *               place id
+	 * @return place index
+	 */
+	@Override
+	public int getIndex(final int id) {
+		final int index = Arrays.binarySearch(this.ids, id);
+		if (index < 0) {
+			throw new IllegalArgumentException(String.format("Unknown place id %s", id));
+		}
+
+		return index;
+	}
+
+	/**
+	 * @param genome
+	 *                   genome holding place indices
+	 * @return genome holding place ids
+	 */
+	@Override
+	public int[] toIds(final int[] genome) {
+		final int[] ids = new int[genome.length];
+		for (int i = 0; i < genome.length; i++) {
+			ids[i] = this.ids[genome[i]];
+		}
+
+		return ids;
+	}
+
+	/**
+	 * @param genome
+	 *                   genome holding place ids
+	 * @return genome holding place indices
+	 */
+	@Override
+	public int[] toIndices(final int[] genome) {
+		final int[] indices = new int[genome.length];
+		for (int i = 0; i < genome.length; i++) {
+			indices[i] = getIndex(genome[i]);
+		}
+
+		return indices;
+	}
+}
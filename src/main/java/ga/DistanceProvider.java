@@ -0,0 +1,119 @@
+package ga;
+
+/**
+ * Distances between places remapped to 0-based indices (in ascending id
+ * order), genomes used together with the provider hold indices instead of
+ * place ids. Distances are symmetric.
+ *
+ * @author Jagoda Wieczorek
+ */
+public interface DistanceProvider {
+	/**
+	 * @param from
+	 *                 index of the first place
+	 * @param to
+	 *                 index of the second place
+	 * @return distance between places
+	 */
+	int getDistance(int from, int to);
+
+	/**
+	 * @return number of places
+	 */
+	int size();
+
+	/**
+	 * @param index
+	 *                  place index
+	 * @return place id
+	 */
+	int getId(int index);
+
+	/**
+	 * Cost of the closed tour
+	 *
+	 * @param genome
+	 *                   genome holding place indices
+	 * @return tour cost
+	 */
+	default int cost(final int[] genome) {
+		return cost(genome, 0, genome.length);
+	}
+
+	/**
+	 * Cost of the closed tour stored in a slab of genomes, see
+	 * {@link PopulationArena}
+	 *
+	 * @param genomes
+	 *                    slab of genomes holding place indices
+	 * @param offset
+	 *                    position of the first gen of the genome
+	 * @param length
+	 *                    number of genes of the genome
+	 * @return tour cost
+	 */
+	default int cost(final int[] genomes, final int offset, final int length) {
+		final int end = offset + length;
+		int cost = 0;
+		int current = genomes[offset];
+		for (int i = offset + 1; i < end; i++) {
+			final int next = genomes[i];
+			cost += getDistance(current, next);
+			current = next;
+		}
+		cost += getDistance(current, genomes[offset]);
+
+		return cost;
+	}
+
+	/**
+	 * @param id
+	 *               place id
+	 * @return place index
+	 */
+	default int getIndex(final int id) {
+		int low = 0;
+		int high = size() - 1;
+		while (low <= high) {
+			final int middle = (low + high) >>> 1;
+			final int middleId = getId(middle);
+			if (middleId < id) {
+				low = middle + 1;
+			} else if (middleId > id) {
+				high = middle - 1;
+			} else {
+				return middle;
+			}
+		}
+
+		throw new IllegalArgumentException(String.format("Unknown place id %s", id));
+	}
+
+	/**
+	 * @param genome
+	 *                   genome holding place indices
+	 * @return genome holding place ids
+	 */
+	default int[] toIds(final int[] genome) {
+		final int[] ids = new int[genome.length];
+		for (int i = 0; i < genome.length; i++) {
+			ids[i] = getId(genome[i]);
+		}
+
+		return ids;
+	}
+
+	/**
+	 * @param genome
+	 *                   genome holding place ids
+	 * @return genome holding place indices
+	 */
+	default int[] toIndices(final int[] genome) {
+		final int[] indices = new int[genome.length];
+		for (int i = 0; i < genome.length; i++) {
+			indices[i] = getIndex(genome[i]);
+		}
+
+		return indices;
+	}
+}
@@ -0,0 +1,129 @@
+package ga;
+
+/**
+ * TSPLIB edge weight types of instances given by node coordinates
+ *
+ * @author Jagoda Wieczorek
+ */
+public enum EdgeWeightType {
+	/**
+	 * Euclidean distance rounded to the nearest integer
+	 */
+	EUC_2D {
+		@Override
+		int distance(final double x1, final double y1, final double x2, final double y2) {
+			final double xd = x1 - x2;
+			final double yd = y1 - y2;
+
+			return (int) (Math.sqrt(xd * xd + yd * yd) + 0.5);
+		}
+	},
+	/**
+	 * Geographical distance, coordinates are DDD.MM latitude and longitude
+	 */
+	GEO {
+		/**
+		 * PI of the TSPLIB reference implementation, distances of a few pairs
+		 * differ by 1 from the legacy {@link tsp.TSP} loader, e.g. 3 pairs of
+		 * gr137
+		 */
+		private static final double PI = 3.141592;
+
+		private static final double RRR = 6378.388;
+
+		/**
+		 * Degrees are truncated as in the TSPLIB reference implementation, the
+		 * "nint" of the TSPLIB documentation gives wrong optimal tour lengths
+		 */
+		@Override
+		double coordinate(final double coordinate) {
+			final int degrees = (int) coordinate;
+			final double minutes = coordinate - degrees;
+
+			return PI * (degrees + 5.0 * minutes / 3.0) / 180.0;
+		}
+
+		@Override
+		int distance(final double latitude1, final double longitude1, final double latitude2, final double longitude2) {
+			final double q1 = Math.cos(longitude1 - longitude2);
+			final double q2 = Math.cos(latitude1 - latitude2);
+			final double q3 = Math.cos(latitude1 + latitude2);
+
+			return (int) (RRR * Math.acos(0.5 * ((1.0 + q1) * q2 - (1.0 - q1) * q3)) + 1.0);
+		}
+
+		/**
+		 * The distance is the great-circle distance, which grows with the chord
+		 * between the points on the unit sphere
+		 */
+		@Override
+		void point(final double latitude, final double longitude, final double[] points, final int offset) {
+			points[offset] = Math.cos(latitude) * Math.cos(longitude);
+			points[offset + 1] = Math.cos(latitude) * Math.sin(longitude);
+			points[offset + 2] = Math.sin(latitude);
+		}
+	},
+	/**
+	 * Pseudo-Euclidean distance
+	 */
+	ATT {
+		@Override
+		int distance(final double x1, final double y1, final double x2, final double y2) {
+			final double xd = x1 - x2;
+			final double yd = y1 - y2;
+			final double distance = Math.sqrt((xd * xd + yd * yd) / 10.0);
+			final int rounded = (int) (distance + 0.5);
+
+			return rounded < distance ? rounded + 1 : rounded;
+		}
+	};
+
+	/**
+	 * @param coordinate
+	 *                       coordinate as given in the TSPLIB file
+	 * @return coordinate used by {@link #distance}
+	 */
+	double coordinate(final double coordinate) {
+		return coordinate;
+	}
+
+	/**
+	 * Point in space, the distance between two nodes never decreases with the
+	 * euclidean distance of their points
+	 *
+	 * @param x
+	 *                   first coordinate converted by {@link #coordinate}
+	 * @param y
+	 *                   second coordinate converted by {@link #coordinate}
+	 * @param points
+	 *                   3 coordinates of every point
+	 * @param offset
+	 *                   position of the first coordinate of the point
+	 */
+	void point(final double x, final double y, final double[] points, final int offset) {
+		points[offset] = x;
+		points[offset + 1] = y;
+		points[offset + 2] = 0.0;
+	}
+
+	/**
+	 * @return distance between two different nodes given by coordinates
+	 *         converted by {@link #coordinate}
+	 */
+	abstract int distance(double x1, double y1, double x2, double y2);
+
+	/**
+	 * @param name
+	 *                 value of the EDGE_WEIGHT_TYPE keyword
+	 * @return edge weight type
+	 */
+	static EdgeWeightType of(final String name) {
+		for (final EdgeWeightType type: values()) {
+			if (type.name().equals(name)) {
+				return type;
+			}
+		}
+
+		throw new IllegalArgumentException(String.format("Unsupported edge weight type %s", name));
+	}
+}
@@ -0,0 +1,242 @@
+package ga;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Bounded cache of tour costs wrapping the provider used by the algorithm,
+ * see {@link GeneticAlgorithm#setDistanceProvider(DistanceProvider)}. Once
+ * the population converges most offspring are clones of tours already
+ * evaluated, their cost is read from the cache instead of summing all edges.
+ *
+ * Tours are keyed by {@link #hash(int[])}, which is the same for rotations
+ * and reversals of a tour. A hit also has to match a second, independently
+ * mixed 64-bit hash of the edges, so another tour's cost is returned only when
+ * both hashes collide. The cache is direct-mapped, a new tour replaces the one
+ * stored in its slot. Slots are guarded by striped locks, hits are read
+ * optimistically.
+ *
+ * Hashing reads every gene and mixes every edge twice, so a hit pays off only
+ * over providers computing expensive distances, e.g. {@link TspInstance} with
+ * GEO distances. Over a {@link DistanceMatrix} or computed EUC_2D distances
+ * summing the edges is faster than a hit, see FitnessBenchmark.
+ *
+ * @author Jagoda Wieczorek
+ */
+public final class FitnessCache implements DistanceProvider {
+	private static final int STRIPES = 256;
+
+	private static final long EMPTY = 0L;
+
+	private final DistanceProvider source;
+
+	private final int slotBits;
+
+	private final long[] hashes;
+
+	private final long[] verifiers;
+
+	private final int[] costs;
+
+	private final StampedLock[] locks;
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * @param source
+	 *                     provider of distances between places
+	 * @param capacity
+	 *                     maximum number of cached tours, rounded up to a
+	 *                     power of 2
+	 */
+	public FitnessCache(final DistanceProvider source, final int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Cache capacity cannot be less or equal 0");
+		}
+		if (capacity > 1 << 30) {
+			throw new IllegalArgumentException(String.format("Cache capacity cannot be bigger than %s", 1 << 30));
+		}
+
+		final int slots = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) * 2;
+		this.source = source;
+		this.slotBits = Integer.numberOfTrailingZeros(slots);
+		this.hashes = new long[slots];
+		this.verifiers = new long[slots];
+		this.costs = new int[slots];
+		this.locks = new StampedLock[Math.min(STRIPES, slots)];
+		for (int stripe = 0; stripe < this.locks.length; stripe++) {
+			this.locks[stripe] = new StampedLock();
+		}
+	}
+
+	/**
+	 * Hash of the set of undirected edges of the closed tour - the same for all
+	 * rotations and both directions of the tour
+	 *
+	 * @param genome
+	 *                   genome holding place indices
+	 * @return tour hash, never 0
+	 */
+	public static long hash(final int[] genome) {
+		return hash(genome, 0, genome.length);
+	}
+
+	/**
+	 * Hash of the tour stored in a slab of genomes, see {@link #hash(int[])}
+	 *
+	 * @param genomes
+	 *                    slab of genomes holding place indices
+	 * @param offset
+	 *                    position of the first gen of the genome
+	 * @param length
+	 *                    number of genes of the genome
+	 * @return tour hash, never 0
+	 */
+	public static long hash(final int[] genomes, final int offset, final int length) {
+		final int end = offset + length;
+		long hash = 0;
+		int current = genomes[end - 1];
+		for (int i = offset; i < end; i++) {
+			final int next = genomes[i];
+			hash += mix(current < next ? (long) current << 32 | next : (long) next << 32 | current);
+			current = next;
+		}
+
+		return hash == EMPTY ? 1 : hash;
+	}
+
+	/**
+	 * Second hash of the set of undirected edges, mixed independently of
+	 * {@link #hash(int[], int, int)}, which verifies hits
+	 *
+	 * @param genomes
+	 *                    slab of genomes holding place indices
+	 * @param offset
+	 *                    position of the first gen of the genome
+	 * @param length
+	 *                    number of genes of the genome
+	 * @return verifier of the tour
+	 */
+	static long verifier(final int[] genomes, final int offset, final int length) {
+		final int end = offset + length;
+		long verifier = 0;
+		int current = genomes[end - 1];
+		for (int i = offset; i < end; i++) {
+			final int next = genomes[i];
+			verifier += fmix(current < next ? (long) current << 32 | next : (long) next << 32 | current);
+			current = next;
+		}
+
+		return verifier;
+	}
+
+	/**
+	 * MurmurHash3 finalizer
+	 */
+	private static long fmix(final long edge) {
+		long z = (edge ^ (edge >>> 33)) * 0xFF51AFD7ED558CCDL;
+		z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+
+		return z ^ (z >>> 33);
+	}
+
+	/**
+	 * SplitMix64 finalizer
+	 */
+	private static long mix(final long edge) {
+		long z = edge * 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+
+		return z ^ (z >>> 31);
+	}
+
+	@Override
+	public int cost(final int[] genomes, final int offset, final int length) {
+		final long hash = hash(genomes, offset, length);
+		final long verifier = verifier(genomes, offset, length);
+		final int slot = this.slotBits == 0 ? 0 : (int) (hash >>> (64 - this.slotBits));
+		final StampedLock lock = this.locks[slot & (this.locks.length - 1)];
+
+		long stamp = lock.tryOptimisticRead();
+		boolean found = this.hashes[slot] == hash && this.verifiers[slot] == verifier;
+		int cost = this.costs[slot];
+		if (!lock.validate(stamp)) {
+			stamp = lock.readLock();
+			try {
+				found = this.hashes[slot] == hash && this.verifiers[slot] == verifier;
+				cost = this.costs[slot];
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+
+		if (found) {
+			this.hits.increment();
+			return cost;
+		}
+
+		this.misses.increment();
+		cost = this.source.cost(genomes, offset, length);
+		stamp = lock.writeLock();
+		try {
+			this.hashes[slot] = hash;
+			this.verifiers[slot] = verifier;
+			this.costs[slot] = cost;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+
+		return cost;
+	}
+
+	@Override
+	public int getDistance(final int from, final int to) {
+		return this.source.getDistance(from, to);
+	}
+
+	/**
+	 * @return provider of the distances
+	 */
+	DistanceProvider getSource() {
+		return this.source;
+	}
+
+	@Override
+	public int size() {
+		return this.source.size();
+	}
+
+	@Override
+	public int getId(final int index) {
+		return this.source.getId(index);
+	}
+
+	@Override
+	public int getIndex(final int id) {
+		return this.source.getIndex(id);
+	}
+
+	/**
+	 * @return number of tour costs read from the cache instead of evaluated
+	 */
+	public long getSavedEvaluations() {
+		return this.hits.sum();
+	}
+
+	/**
+	 * @return number of tour costs evaluated by the source provider
+	 */
+	public long getEvaluations() {
+		return this.misses.sum();
+	}
+
+	/**
+	 * @return maximum number of cached tours
+	 */
+	public int getCapacity() {
+		return this.hashes.length;
+	}
+}
@@ -0,0 +1,17 @@
+package ga;
+
+/**
+ * Listener notified by {@link GeneticAlgorithm} after every bred generation.
+ * Called on the thread running the algorithm, a slow listener slows down the
+ * run.
+ *
+ * @author Jagoda Wieczorek
+ */
+@FunctionalInterface
+public interface GenerationListener {
+	/**
+	 * @param statistics
+	 *                       statistics of the generation
+	 */
+	void onGeneration(GenerationStatistics statistics);
+}
@@ -0,0 +1,152 @@
+package ga;
+
+/**
+ * Metrics of one generation reported to {@link GenerationListener}
+ *
+ * @author Jagoda Wieczorek
+ */
+public final class GenerationStatistics {
+	/**
+	 * Phases of breeding a generation. Breeding phases are summed over all
+	 * slices, so with parallel breeding they may add up to more than the wall
+	 * time of the generation.
+	 */
+	public enum Phase {
+		/**
+		 * Tournament selection of parents
+		 */
+		SELECTION,
+		/**
+		 * Crossover, or copying the parent when crossover does not occur
+		 */
+		CROSSOVER,
+		/**
+		 * Mutation
+		 */
+		MUTATION,
+		/**
+		 * Local search of offspring
+		 */
+		LOCAL_SEARCH,
+		/**
+		 * Full evaluation of offspring changed by crossover
+		 */
+		EVALUATION,
+		/**
+		 * Finding the best, the worst and the best part of the new generation
+		 */
+		SORTING
+	}
+
+	private final int generation;
+
+	private final int bestFitness;
+
+	private final int avgFitness;
+
+	private final int worstFitness;
+
+	private final int bestFitnessSoFar;
+
+	private final float diversity;
+
+	private final int evaluations;
+
+	private final long[] phaseNanos;
+
+	private final long generationNanos;
+
+	GenerationStatistics(final int generation, final Population population, final int bestFitnessSoFar, final long generationNanos) {
+		this.generation = generation;
+		this.bestFitness = population.getBestFitness();
+		this.avgFitness = population.getAvgFitness();
+		this.worstFitness = population.getWorstFitness();
+		this.bestFitnessSoFar = bestFitnessSoFar;
+		this.diversity = population.getDiversity();
+		this.evaluations = population.getEvaluations();
+		this.phaseNanos = new long[Phase.values().length];
+		for (final Phase phase: Phase.values()) {
+			this.phaseNanos[phase.ordinal()] = population.getPhaseNanos(phase);
+		}
+		this.generationNanos = generationNanos;
+	}
+
+	/**
+	 * @return number of the generation, the first bred generation is 1
+	 */
+	public int getGeneration() {
+		return this.generation;
+	}
+
+	/**
+	 * @return the best fitness of the generation
+	 */
+	public int getBestFitness() {
+		return this.bestFitness;
+	}
+
+	/**
+	 * @return average fitness of the generation
+	 */
+	public int getAvgFitness() {
+		return this.avgFitness;
+	}
+
+	/**
+	 * @return the worst fitness of the generation
+	 */
+	public int getWorstFitness() {
+		return this.worstFitness;
+	}
+
+	/**
+	 * @return the best fitness of all generations so far
+	 */
+	public int getBestFitnessSoFar() {
+		return this.bestFitnessSoFar;
+	}
+
+	/**
+	 * @return share of distinct tours in the generation, see
+	 *         {@link Population#getDiversity()}
+	 */
+	public float getDiversity() {
+		return this.diversity;
+	}
+
+	/**
+	 * @return number of full tour evaluations while breeding the generation
+	 */
+	public int getEvaluations() {
+		return this.evaluations;
+	}
+
+	/**
+	 * @param phase
+	 *                  phase of breeding
+	 * @return nanoseconds spent in the phase
+	 */
+	public long getPhaseNanos(final Phase phase) {
+		return this.phaseNanos[phase.ordinal()];
+	}
+
+	/**
+	 * @return wall time of breeding the generation in nanoseconds
+	 */
+	public long getGenerationNanos() {
+		return this.generationNanos;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder().append("Generation ").append(this.generation).append(": best ").append(this.bestFitness)
+				.append(", avg ").append(this.avgFitness).append(", worst ").append(this.worstFitness).append(", best so far ")
+				.append(this.bestFitnessSoFar).append(", diversity ").append(this.diversity).append(", evaluations ").append(this.evaluations)
+				.append(", time ").append(this.generationNanos).append(" ns");
+		for (final Phase phase: Phase.values()) {
+			builder.append(", ").append(phase.name().toLowerCase()).append(' ').append(this.phaseNanos[phase.ordinal()]).append(" ns");
+		}
+
+		return builder.toString();
+	}
+}
@@ -1,5 +1,12 @@
 package ga;
 
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import tsp.TSP;
@@ -12,6 +19,12 @@ import tsp.TSP;
 public class GeneticAlgorithm {
 	private static final Logger LOGGER = Logger.getLogger(TSP.class.getName());
 
+	/**
+	 * Stream of a seed used by the initial genome algorithm, generations and
+	 * workers use streams from 0
+	 */
+	static final long INITIALIZATION_STREAM = -1L;
+
 	private final int populationSize;
 
 	private final int numberOfGenerations;
@@ -24,12 +37,44 @@ public class GeneticAlgorithm {
 
 	private TSP tsp;
 
+	private TspInstance instance;
+
+	private DistanceMatrix distanceMatrix;
+
 	private Selector selector;
 
 	private Crossover crossover;
 
 	private InitialGenomeAlgorithm initialGenomeAlgorithm;
 
+	private Mutation mutation = new SwapMutation();
+
+	private ForkJoinPool pool;
+
+	private int workers = 1;
+
+	private long seed = new SplittableRandom().nextLong();
+
+	private LocalSearch localSearch;
+
+	private DistanceProvider distanceProvider;
+
+	private Path checkpointPath;
+
+	private int checkpointInterval;
+
+	private final List<GenerationListener> generationListeners = new CopyOnWriteArrayList<>();
+
+	private final List<TerminationCriterion> terminationCriteria = new CopyOnWriteArrayList<>();
+
+	private final List<Consumer<Individual>> incumbentListeners = new CopyOnWriteArrayList<>();
+
+	private int restartGenerations;
+
+	private float restartPart;
+
+	private boolean arena;
+
 	/**
 	 * GA constructor for TSP
 	 *
@@ -50,6 +95,7 @@ public class GeneticAlgorithm {
 	 *                                 Crossover type (e.g. PMX)
 	 * @deprecated Pass as the last constructor argument InitialGenomeAlgorithm
 	 */
+	@Deprecated
 	public GeneticAlgorithm(final int populationSize, final int numberOfGenerations, final float mutationProbability, final float crossoverProbability,
 			final TSP tsp, final Selector selector, final Crossover crossover) {
 		this(populationSize, numberOfGenerations, mutationProbability, crossoverProbability, tsp);
@@ -86,6 +132,32 @@ public class GeneticAlgorithm {
 		this.crossover = crossover;
 	}
 
+	/**
+	 * GA constructor for TSP with time budget
+	 *
+	 * @param populationSize
+	 *                                   Size of the population (number of
+	 *                                   Individuals in one generation)
+	 * @param numberOfGenerations
+	 *                                   Number of generations (ignored by
+	 *                                   {@link #run()} when maxtime is set)
+	 * @param mutationProbability
+	 *                                   Probability that mutation occurs
+	 * @param crossoverProbability
+	 *                                   Probability that crossover occurs
+	 * @param tsp
+	 *                                   Travelling salesman problem
+	 * @param selector
+	 *                                   Selector (e.g. Tournament / Roulette / .. )
+	 * @param crossover
+	 *                                   Crossover type (e.g. PMX)
+	 * @param initialGenomeAlgorithm
+	 *                                   Initial Genome Algorithm (e.g. Random,
+	 *                                   GRASP, ...)
+	 * @param maxtime
+	 *                                   Time budget of the run in milliseconds, 0
+	 *                                   for no budget
+	 */
 	public GeneticAlgorithm(final int populationSize, final int numberOfGenerations, final float mutationProbability, final float crossoverProbability,
 			final TSP tsp, final Selector selector, final Crossover crossover, final InitialGenomeAlgorithm initialGenomeAlgorithm, final long maxtime) {
 		this(populationSize, numberOfGenerations, mutationProbability, crossoverProbability, tsp, initialGenomeAlgorithm);
@@ -94,6 +166,71 @@ public class GeneticAlgorithm {
 		this.maxtime = maxtime;
 	}
 
+	/**
+	 * GA constructor for TSP
+	 *
+	 * @param populationSize
+	 *                                   Size of the population (number of
+	 *                                   Individuals in one generation)
+	 * @param numberOfGenerations
+	 *                                   Number of generations
+	 * @param mutationProbability
+	 *                                   Probability that mutation occurs
+	 * @param crossoverProbability
+	 *                                   Probability that crossover occurs
+	 * @param tsp
+	 *                                   Travelling salesman problem
+	 * @param selector
+	 *                                   Selector (e.g. Tournament / Roulette / .. )
+	 * @param crossover
+	 *                                   Crossover type (e.g. PMX)
+	 * @param mutation
+	 *                                   Mutation type (e.g. swap, inversion, ...)
+	 * @param initialGenomeAlgorithm
+	 *                                   Initial Genome Algorithm (e.g. Random,
+	 *                                   GRASP, ...)
+	 */
+	public GeneticAlgorithm(final int populationSize, final int numberOfGenerations, final float mutationProbability, final float crossoverProbability,
+			final TSP tsp, final Selector selector, final Crossover crossover, final Mutation mutation,
+			final InitialGenomeAlgorithm initialGenomeAlgorithm) {
+		this(populationSize, numberOfGenerations, mutationProbability, crossoverProbability, tsp, selector, crossover, initialGenomeAlgorithm);
+		this.mutation = mutation;
+	}
+
+	/**
+	 * GA constructor for TSP instance loaded by {@link TspInstance#load(String)}
+	 *
+	 * @param populationSize
+	 *                                   Size of the population (number of
+	 *                                   Individuals in one generation)
+	 * @param numberOfGenerations
+	 *                                   Number of generations
+	 * @param mutationProbability
+	 *                                   Probability that mutation occurs
+	 * @param crossoverProbability
+	 *                                   Probability that crossover occurs
+	 * @param instance
+	 *                                   Travelling salesman problem instance
+	 * @param selector
+	 *                                   Selector (e.g. Tournament / Roulette / .. )
+	 * @param crossover
+	 *                                   Crossover type (e.g. PMX)
+	 * @param mutation
+	 *                                   Mutation type (e.g. swap, inversion, ...)
+	 * @param initialGenomeAlgorithm
+	 *                                   Initial Genome Algorithm (e.g. Random,
+	 *                                   GRASP, ...)
+	 */
+	public GeneticAlgorithm(final int populationSize, final int numberOfGenerations, final float mutationProbability, final float crossoverProbability,
+			final TspInstance instance, final Selector selector, final Crossover crossover, final Mutation mutation,
+			final InitialGenomeAlgorithm initialGenomeAlgorithm) {
+		this(populationSize, numberOfGenerations, mutationProbability, crossoverProbability, initialGenomeAlgorithm);
+		this.instance = instance;
+		this.selector = selector;
+		this.crossover = crossover;
+		this.mutation = mutation;
+	}
+
 	/**
 	 * GA constructor for TSP
 	 *
@@ -110,6 +247,7 @@ public class GeneticAlgorithm {
 	 *                                 Travelling salesman problem
 	 * @deprecated Pass as the last constructor argument InitialGenomeAlgorithm
 	 */
+	@Deprecated
 	public GeneticAlgorithm(final int populationSize, final int numberOfGenerations, final float mutationProbability, final float crossoverProbability,
 			final TSP tsp) {
 		this(populationSize, numberOfGenerations, mutationProbability, crossoverProbability);
@@ -217,6 +355,7 @@ public class GeneticAlgorithm {
 	 * @deprecated Pass to the constructor InitialGenomeAlgorithm as the last
 	 *             argument
 	 */
+	@Deprecated
 	public static GeneticAlgorithm create(final int populationSize, final int numberOfGenerations, final float mutationProbability,
 			final float crossoverProbability, final TSP tsp, final Selector selector, final Crossover crossover) {
 		return new GeneticAlgorithm(populationSize, numberOfGenerations, mutationProbability, crossoverProbability, tsp, selector, crossover);
@@ -257,37 +396,755 @@ public class GeneticAlgorithm {
 				initialGenomeAlgorithm, maxtime);
 	}
 
+	/**
+	 *
+	 * @param populationSize
+	 *                                   Size of the population (number of
+	 *                                   Individuals in one generation)
+	 * @param numberOfGenerations
+	 *                                   Number of generations
+	 * @param mutationProbability
+	 *                                   Probability that mutation occurs
+	 * @param crossoverProbability
+	 *                                   Probability that crossover occurs
+	 * @param tsp
+	 *                                   Travelling salesman problem
+	 * @param selector
+	 *                                   e.g. Tournament selector
+	 * @param crossover
+	 *                                   Crossover
+	 * @param mutation
+	 *                                   Mutation
+	 * @param initialGenomeAlgorithm
+	 *                                   Initial genome algorithm
+	 * @return Genetic algorithm
+	 */
+	public static GeneticAlgorithm create(final int populationSize, final int numberOfGenerations, final float mutationProbability,
+			final float crossoverProbability, final TSP tsp, final Selector selector, final Crossover crossover, final Mutation mutation,
+			final InitialGenomeAlgorithm initialGenomeAlgorithm) {
+		return new GeneticAlgorithm(populationSize, numberOfGenerations, mutationProbability, crossoverProbability, tsp, selector, crossover, mutation,
+				initialGenomeAlgorithm);
+	}
+
+	/**
+	 *
+	 * @param populationSize
+	 *                                   Size of the population (number of
+	 *                                   Individuals in one generation)
+	 * @param numberOfGenerations
+	 *                                   Number of generations
+	 * @param mutationProbability
+	 *                                   Probability that mutation occurs
+	 * @param crossoverProbability
+	 *                                   Probability that crossover occurs
+	 * @param instance
+	 *                                   Travelling salesman problem instance
+	 * @param selector
+	 *                                   e.g. Tournament selector
+	 * @param crossover
+	 *                                   Crossover
+	 * @param mutation
+	 *                                   Mutation
+	 * @param initialGenomeAlgorithm
+	 *                                   Initial genome algorithm
+	 * @return Genetic algorithm
+	 */
+	public static GeneticAlgorithm create(final int populationSize, final int numberOfGenerations, final float mutationProbability,
+			final float crossoverProbability, final TspInstance instance, final Selector selector, final Crossover crossover, final Mutation mutation,
+			final InitialGenomeAlgorithm initialGenomeAlgorithm) {
+		return new GeneticAlgorithm(populationSize, numberOfGenerations, mutationProbability, crossoverProbability, instance, selector, crossover,
+				mutation, initialGenomeAlgorithm);
+	}
+
+	/**
+	 * Run the algorithm for the number of generations or, when created with
+	 * maxtime, evolve generations until maxtime milliseconds pass
+	 *
+	 * @return the best individual found, its genome holds place ids
+	 */
 	public Individual run() {
+		return run(deadline());
+	}
+
+	/**
+	 * @return deadline of a run started now, limited by maxtime if set
+	 */
+	Deadline deadline() {
+		return this.maxtime != 0 ? Deadline.after(this.maxtime) : Deadline.none();
+	}
+
+	/**
+	 * Anytime run - evolve generations until the deadline is reached or the run
+	 * is cancelled through the deadline. Without maxtime the number of
+	 * generations still limits the run.
+	 *
+	 * @param deadline
+	 *                     deadline of the run, may be cancelled from another
+	 *                     thread
+	 * @return the best individual seen so far, its genome holds place ids
+	 */
+	public Individual run(final Deadline deadline) {
+		// 0. remap places to dense indices once
+		final DistanceProvider distanceProvider = getDistanceProvider();
+		if (this.arena) {
+			return evolveArena(distanceProvider, deadline);
+		}
 		// 1. initialize first population
-		Population population = new Population(this.populationSize, this.tsp.getPlaces(), this.initialGenomeAlgorithm);
-		// LOGGER.log(Level.INFO, population.toString());
-		// 2. create generations based on previous one in a loop
+		return evolve(start(distanceProvider), deadline);
+	}
+
+	/**
+	 * Continue the run saved by checkpointing, see
+	 * {@link #setCheckpointing(Path, int)}. The algorithm has to be configured
+	 * as the one which wrote the checkpoint, the seed is taken from the
+	 * checkpoint. The resumed run gives the same result as a run which was not
+	 * stopped.
+	 *
+	 * @param path
+	 *                 checkpoint file
+	 * @return the best individual found, its genome holds place ids
+	 */
+	public Individual resume(final Path path) {
+		return resume(path, deadline());
+	}
+
+	/**
+	 * Continue the run saved by checkpointing until the deadline, see
+	 * {@link #resume(Path)}
+	 *
+	 * @param path
+	 *                     checkpoint file
+	 * @param deadline
+	 *                     deadline of the resumed run
+	 * @return the best individual seen so far, its genome holds place ids
+	 */
+	public Individual resume(final Path path, final Deadline deadline) {
+		final DistanceProvider distanceProvider = getDistanceProvider();
+		final Checkpoint checkpoint = Checkpoint.read(path);
+		if (checkpoint.getGenomeLength() != distanceProvider.size()) {
+			throw new IllegalArgumentException(
+					String.format("Checkpoint of %s places cannot be resumed for %s places", checkpoint.getGenomeLength(), distanceProvider.size()));
+		}
+		if (checkpoint.getPopulationSize() != this.populationSize) {
+			throw new IllegalArgumentException(String.format("Checkpoint of population of %s individuals cannot be resumed for population of %s individuals",
+					checkpoint.getPopulationSize(), this.populationSize));
+		}
+		if (checkpoint.getWorkers() != this.workers) {
+			throw new IllegalArgumentException(
+					String.format("Checkpoint written by %s workers cannot be resumed by %s workers", checkpoint.getWorkers(), this.workers));
+		}
+
+		final ImprovementHistory improvements = checkpoint.getImprovements();
+		if (improvements == null && (this.restartGenerations != 0 || !this.terminationCriteria.isEmpty())) {
+			throw new IllegalArgumentException("Checkpoint without improvements cannot be resumed with restarts or termination criteria");
+		}
+
+		this.seed = checkpoint.getSeed();
+
+		return evolve(new Evolution(distanceProvider, checkpoint.toPopulation(), checkpoint.getBestIndividual(), checkpoint.getGeneration(),
+				improvements != null ? improvements : new ImprovementHistory(checkpoint.getBestFitness())), deadline);
+	}
+
+	/**
+	 * Evolve the run in one segment, writing checkpoints when configured
+	 */
+	private Individual evolve(final Evolution evolution, final Deadline deadline) {
+		final long start = System.nanoTime();
+		final int firstGeneration = evolution.getGeneration();
+		try (CheckpointWriter checkpointWriter = this.checkpointPath != null ? new CheckpointWriter(this.checkpointPath) : null) {
+			evolution.evolve(deadline, checkpointWriter);
+		}
+		evolution.checkpoint();
+
+		LOGGER.log(Level.FINE, "{0} generations evolved in {1} ms",
+				new Object[] { evolution.getGeneration() - firstGeneration, (System.nanoTime() - start) / 1_000_000L });
+		if (evolution.distanceProvider instanceof FitnessCache) {
+			LOGGER.log(Level.FINE, "{0} evaluations saved by the fitness cache",
+					((FitnessCache) evolution.distanceProvider).getSavedEvaluations());
+		}
+
+		return toPlaceIds(evolution.getBestIndividual(), evolution.distanceProvider);
+	}
+
+	/**
+	 * Create generations in two arenas swapped every generation, see
+	 * {@link #setArena(boolean)}
+	 */
+	private Individual evolveArena(final DistanceProvider distanceProvider, final Deadline deadline) {
+		if (!this.generationListeners.isEmpty() || this.checkpointPath != null || this.restartGenerations != 0) {
+			throw new IllegalStateException("Generation listeners, checkpointing and restarts are not supported by the population arena");
+		}
+
+		final int generationLimit = generationLimit();
+		final long start = System.nanoTime();
+		PopulationArena population = new PopulationArena(this.populationSize, distanceProvider.size());
+		PopulationArena spare = new PopulationArena(this.populationSize, distanceProvider.size());
+		population.initialize(distanceProvider, this.initialGenomeAlgorithm, Seeds.derive(this.seed, INITIALIZATION_STREAM), parallelPool());
+		Individual bestIndividual = population.getBestIndividual();
 		int currentGeneration = 0;
+		resetTerminationCriteria();
+		notifyIncumbent(bestIndividual, distanceProvider);
+
+		while (currentGeneration < generationLimit && !deadline.isReached()) {
+			spare.breed(population, distanceProvider, this.mutationProbability, this.crossoverProbability, this.selector, this.crossover, this.mutation,
+					this.localSearch, this.pool, this.workers, Seeds.derive(this.seed, currentGeneration), deadline);
+			if (!spare.isComplete()) {
+				break;
+			}
+
+			final PopulationArena previous = population;
+			population = spare;
+			spare = previous;
+			currentGeneration++;
+			if (population.getFitness(population.getBestIndex()) < bestIndividual.getFitness()) {
+				bestIndividual = population.getBestIndividual();
+				notifyIncumbent(bestIndividual, distanceProvider);
+			}
 
-		if (this.maxtime != 0) {
-			final long start = System.currentTimeMillis();
-			final long end = start + this.maxtime;
-			int i = 0;
-			while (System.currentTimeMillis() < end) {
-				final Population newPopulation = new Population(this.populationSize, this.tsp.getPlaces(), this.initialGenomeAlgorithm);
-				if (System.currentTimeMillis() < end) {
+			if (isTerminated(currentGeneration, bestIndividual.getFitness())) {
+				break;
+			}
+		}
+
+		LOGGER.log(Level.FINE, "{0} generations evolved in {1} ms", new Object[] { currentGeneration, (System.nanoTime() - start) / 1_000_000L });
+
+		return toPlaceIds(bestIndividual, distanceProvider);
+	}
+
+	/**
+	 * @return number of generations of a run, unlimited with maxtime
+	 */
+	int generationLimit() {
+		return this.maxtime != 0 ? Integer.MAX_VALUE : this.numberOfGenerations;
+	}
+
+	/**
+	 * @return true when statistics of generations are listened to
+	 */
+	boolean isListened() {
+		return !this.generationListeners.isEmpty();
+	}
+
+	/**
+	 * @param statistics
+	 *                       statistics of an evolved generation
+	 */
+	void notifyGeneration(final GenerationStatistics statistics) {
+		for (final GenerationListener listener: this.generationListeners) {
+			listener.onGeneration(statistics);
+		}
+	}
+
+	/**
+	 * Forget generations of the previous run
+	 */
+	void resetTerminationCriteria() {
+		for (final TerminationCriterion criterion: this.terminationCriteria) {
+			criterion.reset();
+		}
+	}
+
+	/**
+	 * Give listeners the new best individual with genome holding place ids
+	 */
+	void notifyIncumbent(final Individual bestIndividual, final DistanceProvider distanceProvider) {
+		if (this.incumbentListeners.isEmpty()) {
+			return;
+		}
+
+		final Individual incumbent = toPlaceIds(bestIndividual, distanceProvider);
+		for (final Consumer<Individual> listener: this.incumbentListeners) {
+			listener.accept(incumbent);
+		}
+	}
+
+	/**
+	 * Every criterion sees every generation, so stateful criteria keep their
+	 * history complete
+	 *
+	 * @return true when any of the termination criteria is met
+	 */
+	boolean isTerminated(final int generation, final int bestFitness) {
+		boolean terminated = false;
+		for (final TerminationCriterion criterion: this.terminationCriteria) {
+			terminated |= criterion.isMet(generation, bestFitness);
+		}
+
+		return terminated;
+	}
+
+	/**
+	 * Create the first generation of a run evolved in segments, see
+	 * {@link Evolution#evolve(Deadline, CheckpointWriter)}
+	 *
+	 * @param distanceProvider
+	 *                             distances between places
+	 * @return run at generation 0
+	 */
+	Evolution start(final DistanceProvider distanceProvider) {
+		final Population population = initialPopulation(distanceProvider, this.seed);
+
+		// individuals of the populations are reused, keep a copy of the best one
+		return new Evolution(distanceProvider, population, population.getBestIndividual().copy(), 0,
+				new ImprovementHistory(population.getBestIndividual().getFitness()));
+	}
+
+	/**
+	 * @param distanceProvider
+	 *                             distances between places
+	 * @param seed
+	 *                             seed of the run
+	 * @return first generation created by the initial genome algorithm
+	 */
+	Population initialPopulation(final DistanceProvider distanceProvider, final long seed) {
+		return new Population(this.populationSize, distanceProvider, this.initialGenomeAlgorithm, Seeds.derive(seed, INITIALIZATION_STREAM), parallelPool());
+	}
+
+	/**
+	 * @param population
+	 *                             previous generation
+	 * @param distanceProvider
+	 *                             distances between places
+	 * @param pool
+	 *                             pool breeding the slices, null to breed on the
+	 *                             calling thread
+	 * @param seed
+	 *                             seed of the generation
+	 * @return next generation bred with the configured operators
+	 */
+	Population nextGeneration(final Population population, final DistanceProvider distanceProvider, final ForkJoinPool pool, final long seed) {
+		return nextGeneration(population, distanceProvider, pool, seed, Deadline.none());
+	}
+
+	/**
+	 * @param population
+	 *                             previous generation
+	 * @param distanceProvider
+	 *                             distances between places
+	 * @param pool
+	 *                             pool breeding the slices, null to breed on the
+	 *                             calling thread
+	 * @param seed
+	 *                             seed of the generation
+	 * @param deadline
+	 *                             deadline checked while breeding
+	 * @return next generation, not complete when the deadline was reached
+	 */
+	Population nextGeneration(final Population population, final DistanceProvider distanceProvider, final ForkJoinPool pool, final long seed,
+			final Deadline deadline) {
+		final Population next = new Population(population.getIndividuals().size(), population.getIndividuals().get(0).size());
+		nextGeneration(next, population, distanceProvider, pool, seed, deadline);
+
+		return next;
+	}
+
+	/**
+	 * Breed the next generation into a reused population
+	 *
+	 * @param target
+	 *                             population overwritten with the next generation
+	 * @param population
+	 *                             previous generation
+	 * @param distanceProvider
+	 *                             distances between places
+	 * @param pool
+	 *                             pool breeding the slices, null to breed on the
+	 *                             calling thread
+	 * @param seed
+	 *                             seed of the generation
+	 * @param deadline
+	 *                             deadline checked while breeding
+	 */
+	void nextGeneration(final Population target, final Population population, final DistanceProvider distanceProvider, final ForkJoinPool pool,
+			final long seed, final Deadline deadline) {
+		target.breed(population, distanceProvider, this.mutationProbability, this.crossoverProbability, this.selector, this.crossover, this.mutation,
+				this.localSearch, pool, this.workers, seed, deadline);
+	}
+
+	/**
+	 * @param individual
+	 *                             individual with genome holding place indices
+	 * @param distanceProvider
+	 *                             distances between places
+	 * @return copy of the individual with genome holding place ids
+	 */
+	static Individual toPlaceIds(final Individual individual, final DistanceProvider distanceProvider) {
+		return new Individual(distanceProvider.toIds(individual.getGenes()), individual.getFitness());
+	}
+
+	/**
+	 * Breed every generation in {@code workers} slices on the pool. For a fixed
+	 * seed and number of workers the breeding gives the same results with and
+	 * without the pool.
+	 *
+	 * @param pool
+	 *                    pool breeding the slices, null to breed on the calling
+	 *                    thread
+	 * @param workers
+	 *                    number of slices of every generation
+	 */
+	public void setParallelism(final ForkJoinPool pool, final int workers) {
+		if (workers <= 0) {
+			throw new IllegalArgumentException("Number of workers cannot be less or equal 0");
+		}
+
+		this.pool = pool;
+		this.workers = workers;
+	}
+
+	/**
+	 * @return pool of the data parallel loops (initialization, restarts), null
+	 *         to run them on the calling thread when there is one worker
+	 */
+	private ForkJoinPool parallelPool() {
+		return this.workers > 1 ? this.pool : null;
+	}
+
+	/**
+	 * Save the run every {@code interval} generations and when it ends, so it
+	 * can be continued by {@link #resume(Path)} after the JVM stops. Checkpoints
+	 * are written in the background, one requested while the previous one is
+	 * still being written is skipped.
+	 *
+	 * @param path
+	 *                     checkpoint file, overwritten by every checkpoint
+	 * @param interval
+	 *                     number of generations between checkpoints
+	 */
+	public void setCheckpointing(final Path path, final int interval) {
+		if (interval <= 0) {
+			throw new IllegalArgumentException("Checkpoint interval cannot be less or equal 0");
+		}
+
+		this.checkpointPath = path;
+		this.checkpointInterval = interval;
+	}
+
+	/**
+	 * Listen to generations of the next runs. Phases of breeding are timed only
+	 * while at least one listener is registered.
+	 *
+	 * @param listener
+	 *                     listener called after every generation
+	 */
+	public void addGenerationListener(final GenerationListener listener) {
+		this.generationListeners.add(listener);
+	}
+
+	/**
+	 * @param listener
+	 *                     listener to remove
+	 */
+	public void removeGenerationListener(final GenerationListener listener) {
+		this.generationListeners.remove(listener);
+	}
+
+	/**
+	 * @param listener
+	 *                     called on the thread of the run with every new best
+	 *                     individual, starting with the best of the first
+	 *                     generation, its genome holds place ids
+	 */
+	void addIncumbentListener(final Consumer<Individual> listener) {
+		this.incumbentListeners.add(listener);
+	}
+
+	/**
+	 * @param listener
+	 *                     listener to remove
+	 */
+	void removeIncumbentListener(final Consumer<Individual> listener) {
+		this.incumbentListeners.remove(listener);
+	}
+
+	/**
+	 * Stop the next runs early, the run stops when any of the criteria is met
+	 * and always after the number of generations or maxtime
+	 *
+	 * @param criterion
+	 *                      termination criterion
+	 */
+	public void addTerminationCriterion(final TerminationCriterion criterion) {
+		this.terminationCriteria.add(criterion);
+	}
+
+	/**
+	 * Partial restart - when the best fitness has not improved for the number
+	 * of generations, replace the worst part of the population with genomes of
+	 * the initial genome algorithm
+	 *
+	 * @param generations
+	 *                        number of generations without improvement, 0 to
+	 *                        disable restarts
+	 * @param part
+	 *                        part of the population to replace
+	 */
+	public void setRestart(final int generations, final float part) {
+		if (generations < 0) {
+			throw new IllegalArgumentException("Number of generations cannot be less than 0");
+		}
+		if (part <= 0 || part >= 1) {
+			throw new IllegalArgumentException("Restart part has to be in range (0,1)");
+		}
+
+		this.restartGenerations = generations;
+		this.restartPart = part;
+	}
+
+	/**
+	 * Master seed of the run - the initial population, every generation and
+	 * every worker get random streams derived from it, so the same seed and
+	 * number of workers always give the same run
+	 *
+	 * @param seed
+	 *                 master seed
+	 */
+	public void setSeed(final long seed) {
+		this.seed = seed;
+	}
+
+	/**
+	 * Keep generations in {@link PopulationArena}s instead of populations of
+	 * individuals - two slabs allocated once for the whole run, for populations
+	 * of millions of individuals. The run gives the same result as without the
+	 * arena, but generation listeners, checkpointing and restarts are not
+	 * supported.
+	 *
+	 * @param arena
+	 *                  true to evolve in arenas
+	 */
+	public void setArena(final boolean arena) {
+		this.arena = arena;
+	}
+
+	/**
+	 * Improve offspring by local search (memetic algorithm), e.g.
+	 * {@link NeighborListLocalSearch} over {@link #getDistanceProvider()}
+	 *
+	 * @param localSearch
+	 *                        local search, null to disable
+	 */
+	public void setLocalSearch(final LocalSearch localSearch) {
+		this.localSearch = localSearch;
+	}
+
+	/**
+	 * @return seed of the breeding random generators
+	 */
+	public long getSeed() {
+		return this.seed;
+	}
+
+	/**
+	 * @return number of generations
+	 */
+	public int getNumberOfGenerations() {
+		return this.numberOfGenerations;
+	}
+
+	/**
+	 * Evolve on the given distances instead of the distance matrix, e.g.
+	 * {@link CachedDistanceProvider} over a {@link TspInstance} too big for a
+	 * matrix or {@link FitnessCache} over an instance with GEO distances
+	 *
+	 * @param distanceProvider
+	 *                             distances between places of the TSP
+	 */
+	public void setDistanceProvider(final DistanceProvider distanceProvider) {
+		this.distanceProvider = distanceProvider;
+	}
+
+	/**
+	 * @return distances the algorithm evolves on, the distance matrix unless set
+	 *         by {@link #setDistanceProvider(DistanceProvider)}
+	 */
+	public DistanceProvider getDistanceProvider() {
+		return this.distanceProvider != null ? this.distanceProvider : getDistanceMatrix();
+	}
+
+	/**
+	 * @return distance matrix of the TSP places or instance, built on the first
+	 *         call
+	 */
+	public DistanceMatrix getDistanceMatrix() {
+		if (this.distanceMatrix == null) {
+			this.distanceMatrix = this.instance != null ? this.instance.toDistanceMatrix(parallelPool()) : DistanceMatrix.of(this.tsp.getPlaces());
+		}
+
+		return this.distanceMatrix;
+	}
+
+	/**
+	 * State of one run which can be evolved in segments, e.g. a round of
+	 * {@link PortfolioSolver}. Every segment honours the number of
+	 * generations, the termination criteria, partial restarts and the
+	 * listeners of the algorithm, so a run evolved in segments gives the same
+	 * result as a run evolved at once.
+	 */
+	final class Evolution {
+		private final DistanceProvider distanceProvider;
+
+		private final ImprovementHistory improvements;
+
+		/**
+		 * statistics and phase timings cost nothing when nobody listens
+		 */
+		private final boolean listened;
+
+		private Population population;
+
+		private Population spare;
+
+		private Individual bestIndividual;
+
+		private int currentGeneration;
+
+		/**
+		 * Generation of the last checkpoint written, set by the checkpoint
+		 * writer thread
+		 */
+		private volatile int checkpointGeneration;
+
+		private int improvementGeneration;
+
+		private boolean terminated;
+
+		/**
+		 * A resumed run replays the generations before the first one, so the
+		 * criteria and the restarts continue as in an uninterrupted run
+		 *
+		 * @param distanceProvider
+		 *                                  distances between places
+		 * @param population
+		 *                                  population of the first generation
+		 * @param bestIndividual
+		 *                                  the best individual found until the
+		 *                                  first generation
+		 * @param firstGeneration
+		 *                                  number of generations already evolved
+		 * @param improvements
+		 *                                  improvements until the first
+		 *                                  generation
+		 */
+		Evolution(final DistanceProvider distanceProvider, final Population population, final Individual bestIndividual, final int firstGeneration,
+				final ImprovementHistory improvements) {
+			this.distanceProvider = distanceProvider;
+			this.improvements = improvements;
+			this.listened = isListened();
+			this.population = population;
+			this.spare = new Population(GeneticAlgorithm.this.populationSize, distanceProvider.size());
+			this.bestIndividual = bestIndividual;
+			this.currentGeneration = firstGeneration;
+			this.checkpointGeneration = firstGeneration;
+			this.population.setTimed(this.listened);
+			this.spare.setTimed(this.listened);
+			resetTerminationCriteria();
+
+			int bestFitness = improvements.getFitness(0);
+			for (int generation = 1, improvement = 1; generation <= firstGeneration; generation++) {
+				if (improvement < improvements.size() && improvements.getGeneration(improvement) == generation) {
+					bestFitness = improvements.getFitness(improvement++);
+					this.improvementGeneration = generation;
+				}
+				this.terminated = isTerminated(generation, bestFitness);
+				if (!this.terminated && GeneticAlgorithm.this.restartGenerations != 0
+						&& generation - this.improvementGeneration >= GeneticAlgorithm.this.restartGenerations) {
+					this.improvementGeneration = generation;
+				}
+			}
+			notifyIncumbent(bestIndividual, distanceProvider);
+		}
+
+		/**
+		 * Create generations based on previous one in a loop, breeding into the
+		 * spare population and swapping the two (double buffering), until the
+		 * deadline, the number of generations or a termination criterion stops
+		 * the run
+		 *
+		 * @param deadline
+		 *                             deadline of the segment
+		 * @param checkpointWriter
+		 *                             writer of the checkpoints, null to skip
+		 *                             checkpointing
+		 */
+		void evolve(final Deadline deadline, final CheckpointWriter checkpointWriter) {
+			final GeneticAlgorithm algorithm = GeneticAlgorithm.this;
+			final int generationLimit = generationLimit();
+			while (!this.terminated && this.currentGeneration < generationLimit && !deadline.isReached()) {
+				final long generationStart = this.listened ? System.nanoTime() : 0L;
+				nextGeneration(this.spare, this.population, this.distanceProvider, algorithm.pool, Seeds.derive(algorithm.seed, this.currentGeneration),
+						deadline);
+				if (!this.spare.isComplete()) {
 					break;
 				}
-				population = newPopulation;
-				i++;
-				System.out.println("Test #" + i);
-				System.out.println(population.toString());
+
+				final Population previous = this.population;
+				this.population = this.spare;
+				this.spare = previous;
+				this.currentGeneration++;
+				if (this.population.getBestIndividual().compareTo(this.bestIndividual) > 0) {
+					this.bestIndividual = this.population.getBestIndividual().copy();
+					this.improvementGeneration = this.currentGeneration;
+					this.improvements.add(this.currentGeneration, this.bestIndividual.getFitness());
+					notifyIncumbent(this.bestIndividual, this.distanceProvider);
+				}
+
+				if (this.listened) {
+					final GenerationStatistics statistics = new GenerationStatistics(this.currentGeneration, this.population,
+							this.bestIndividual.getFitness(), System.nanoTime() - generationStart);
+					notifyGeneration(statistics);
+				}
+
+				if (isTerminated(this.currentGeneration, this.bestIndividual.getFitness())) {
+					this.terminated = true;
+					break;
+				}
+				if (algorithm.restartGenerations != 0 && this.currentGeneration - this.improvementGeneration >= algorithm.restartGenerations) {
+					LOGGER.log(Level.FINE, "Partial restart after generation {0}", this.currentGeneration);
+					this.population.reseed(algorithm.restartPart, this.distanceProvider, algorithm.initialGenomeAlgorithm,
+							Seeds.derive(Seeds.derive(algorithm.seed, this.currentGeneration), INITIALIZATION_STREAM), algorithm.parallelPool());
+					this.improvementGeneration = this.currentGeneration;
+				}
+
+				// the copy is taken only when the writer is idle, writing runs
+				// in the background and counts only when it succeeds
+				if (checkpointWriter != null && this.currentGeneration % algorithm.checkpointInterval == 0 && !checkpointWriter.isWriting()) {
+					final int generation = this.currentGeneration;
+					checkpointWriter.write(toCheckpoint(), () -> this.checkpointGeneration = generation);
+				}
 			}
-			System.out.println("Execution time: " + (System.currentTimeMillis() - start));
-			System.out.println("Number of iterations: " + (i + 1));
-		} else {
-			while (currentGeneration < this.numberOfGenerations) {
-				population = new Population(population, this.tsp.getPlaces(), this.mutationProbability, this.crossoverProbability, this.selector,
-						this.crossover);
-				currentGeneration++;
+		}
+
+		/**
+		 * Write the checkpoint of the current generation unless it was written
+		 * while evolving, a checkpoint failed in the background is written
+		 * again here. Call it after the checkpoint writer was closed.
+		 */
+		void checkpoint() {
+			if (GeneticAlgorithm.this.checkpointPath != null && this.checkpointGeneration != this.currentGeneration) {
+				toCheckpoint().write(GeneticAlgorithm.this.checkpointPath);
+				this.checkpointGeneration = this.currentGeneration;
 			}
 		}
 
-		return population.getBestIndividual();
+		private Checkpoint toCheckpoint() {
+			return Checkpoint.of(GeneticAlgorithm.this.seed, this.currentGeneration, GeneticAlgorithm.this.workers, this.population,
+					this.bestIndividual, this.improvements);
+		}
+
+		/**
+		 * @return the best individual found so far, its genome holds place
+		 *         indices
+		 */
+		Individual getBestIndividual() {
+			return this.bestIndividual;
+		}
+
+		/**
+		 * @return number of evolved generations
+		 */
+		int getGeneration() {
+			return this.currentGeneration;
+		}
 	}
 }
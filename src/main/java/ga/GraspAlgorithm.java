@@ -1,10 +1,7 @@
 package ga;
 
-import java.util.ArrayList;
-import java.util.Random;
-import java.util.TreeMap;
-
-import tsp.Place;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * GRASP algorithm (Greedy randomized adaptive search procedure) Semi greedy
@@ -13,49 +10,161 @@ import tsp.Place;
  * @author Jagoda Wieczorek
  */
 public class GraspAlgorithm implements InitialGenomeAlgorithm {
+	/**
+	 * Minimal number of nearest places kept for every place
+	 */
+	private static final int NEIGHBOR_COUNT = 16;
+
 	private final int rclSize;
 
-	private final Random random;
+	/**
+	 * Neighbor lists of the last distance provider, read without locking
+	 */
+	private volatile Neighbors neighbors;
 
 	/**
 	 * @param rclSize
 	 *                    Restricted candidate list (RCL) size
 	 */
 	public GraspAlgorithm(final int rclSize) {
+		if (rclSize <= 0) {
+			throw new IllegalArgumentException("RCL size cannot be less or equal 0");
+		}
 		this.rclSize = rclSize;
-		this.random = new Random();
 	}
 
+	/**
+	 * Candidates are taken from neighbor lists sorted by distance, a pointer per
+	 * place skips its visited neighbors. The whole row is scanned only when all
+	 * neighbors of the current place are already visited.
+	 */
 	@Override
-	public ArrayList<Integer> initialize(final int minGen, final int maxGen, final TreeMap<Integer, Place> places) {
-		int current = places.firstKey();
-		final ArrayList<Integer> genome = new ArrayList<>();
-		genome.add(current);
-
-		while (genome.size() <= places.get(current).getDistances().size()) {
-			current = getNextForCurrentPlace(current, places, genome);
-			genome.add(current);
+	public int[] initialize(final DistanceProvider distanceProvider, final SplittableRandom random) {
+		final NeighborLists neighbors = neighborLists(distanceProvider);
+		final int[] genome = new int[distanceProvider.size()];
+		final long[] visited = new long[(genome.length + 63) >>> 6];
+		final int[] skip = new int[genome.length];
+		final int[] rclList = new int[this.rclSize];
+		final int[] rclDistances = new int[this.rclSize];
+		int current = 0;
+		genome[0] = current;
+		visit(visited, current);
+
+		for (int i = 1; i < genome.length; i++) {
+			int count = fromNeighbors(current, neighbors, visited, skip, rclList);
+			if (count < this.rclSize && count < genome.length - i) {
+				count = fromRow(current, distanceProvider, visited, rclList, rclDistances);
+			}
+
+			current = rclList[random.nextInt(count)];
+			genome[i] = current;
+			visit(visited, current);
 		}
 
 		return genome;
 	}
 
-	private int getNextForCurrentPlace(final int current, final TreeMap<Integer, Place> places, final ArrayList<Integer> genome) {
-		final var distances = places.get(current).getDistances();
-		final ArrayList<Integer> rclList = new ArrayList<>();
+	/**
+	 * Collect the nearest not visited places from the neighbor list of the
+	 * current place, moving its pointer past the visited prefix
+	 *
+	 * @return number of collected places
+	 */
+	private int fromNeighbors(final int current, final NeighborLists neighbors, final long[] visited, final int[] skip, final int[] rclList) {
+		final int neighborCount = neighbors.getNeighborCount();
+		while (skip[current] < neighborCount && isVisited(visited, neighbors.getNeighbor(current, skip[current]))) {
+			skip[current]++;
+		}
+
+		int count = 0;
+		for (int rank = skip[current]; rank < neighborCount && count < this.rclSize; rank++) {
+			final int place = neighbors.getNeighbor(current, rank);
+			if (!isVisited(visited, place)) {
+				rclList[count++] = place;
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * Collect {@code rclSize} nearest not visited places by scanning the whole
+	 * row of the current place
+	 *
+	 * @return number of collected places
+	 */
+	private int fromRow(final int current, final DistanceProvider distanceProvider, final long[] visited, final int[] rclList,
+			final int[] rclDistances) {
 		int count = 0;
 
-		final var iterator = distances.entrySet().iterator();
-		// @TODO consider the performance when taken elements from the distances map are
-		// removed
-		while (iterator.hasNext() && count < this.rclSize) {
-			final int key = iterator.next().getKey();
-			if (!genome.contains(key)) {
-				rclList.add(key);
-				count++;
+		for (int place = 0; place < distanceProvider.size(); place++) {
+			if (isVisited(visited, place)) {
+				continue;
+			}
+
+			final int distance = distanceProvider.getDistance(current, place);
+			if (count == this.rclSize && distance >= rclDistances[count - 1]) {
+				continue;
+			}
+
+			int position = count < this.rclSize ? count++ : count - 1;
+			while (position > 0 && rclDistances[position - 1] > distance) {
+				rclList[position] = rclList[position - 1];
+				rclDistances[position] = rclDistances[position - 1];
+				position--;
+			}
+			rclList[position] = place;
+			rclDistances[position] = distance;
+		}
+
+		return count;
+	}
+
+	/**
+	 * Lists are built once per distance provider. A GRASP algorithm shared by
+	 * runs on different instances rebuilds them on every switch, such runs
+	 * should use their own algorithms. Lists of a {@link TspInstance} are
+	 * found from its coordinates, also behind the distance caches. Lists are
+	 * built on the pool of the calling task, without a task on the calling
+	 * thread.
+	 *
+	 * @return neighbor lists of the distance provider
+	 */
+	private NeighborLists neighborLists(final DistanceProvider distanceProvider) {
+		Neighbors neighbors = this.neighbors;
+		if (neighbors == null || neighbors.source != distanceProvider) {
+			synchronized (this) {
+				neighbors = this.neighbors;
+				if (neighbors == null || neighbors.source != distanceProvider) {
+					neighbors = new Neighbors(distanceProvider, NeighborLists.of(distanceProvider, Math.max(NEIGHBOR_COUNT, 2 * this.rclSize),
+							ForkJoinTask.getPool()));
+					this.neighbors = neighbors;
+				}
 			}
 		}
 
-		return rclList.get(this.random.nextInt(rclList.size()));
+		return neighbors.lists;
+	}
+
+	private static void visit(final long[] visited, final int place) {
+		visited[place >>> 6] |= 1L << place;
+	}
+
+	private static boolean isVisited(final long[] visited, final int place) {
+		return (visited[place >>> 6] & (1L << place)) != 0;
+	}
+
+	/**
+	 * Neighbor lists together with the distance provider they were built of
+	 */
+	private static final class Neighbors {
+		private final DistanceProvider source;
+
+		private final NeighborLists lists;
+
+		private Neighbors(final DistanceProvider source, final NeighborLists lists) {
+			this.source = source;
+			this.lists = lists;
+		}
 	}
 }
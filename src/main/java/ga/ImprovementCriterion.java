@@ -0,0 +1,56 @@
+package ga;
+
+/**
+ * Stop when the best fitness improved by less than epsilon (relative) over
+ * the last window of generations
+ *
+ * @author Jagoda Wieczorek
+ */
+public class ImprovementCriterion implements TerminationCriterion {
+	private final double epsilon;
+
+	/**
+	 * The best fitness of the last window + 1 generations, ring buffer
+	 */
+	private final int[] history;
+
+	private int count;
+
+	/**
+	 * @param epsilon
+	 *                    minimal relative improvement, e.g. 0.001 for 0.1%
+	 * @param window
+	 *                    number of generations
+	 */
+	public ImprovementCriterion(final double epsilon, final int window) {
+		if (epsilon < 0) {
+			throw new IllegalArgumentException("Epsilon cannot be less than 0");
+		}
+		if (window <= 0) {
+			throw new IllegalArgumentException("Window cannot be less or equal 0");
+		}
+		this.epsilon = epsilon;
+		this.history = new int[window + 1];
+	}
+
+	@Override
+	public boolean isMet(final int generation, final int bestFitness) {
+		this.history[this.count % this.history.length] = bestFitness;
+		this.count++;
+		if (this.count < this.history.length) {
+			return false;
+		}
+
+		final int windowStart = this.history[this.count % this.history.length];
+		if (windowStart <= 0) {
+			return bestFitness >= windowStart;
+		}
+
+		return (double) (windowStart - bestFitness) / windowStart < this.epsilon;
+	}
+
+	@Override
+	public void reset() {
+		this.count = 0;
+	}
+}
@@ -0,0 +1,94 @@
+package ga;
+
+import java.util.Arrays;
+
+/**
+ * Generations in which the best fitness of a run improved. Termination
+ * criteria and partial restarts see only the best fitness of every generation,
+ * so a resumed run replays the history to continue exactly where it stopped.
+ *
+ * @author Jagoda Wieczorek
+ */
+final class ImprovementHistory {
+	/**
+	 * Pairs of generation and the best fitness found in it
+	 */
+	private int[] values;
+
+	private int size;
+
+	/**
+	 * @param initialFitness
+	 *                           the best fitness of the initial population
+	 */
+	ImprovementHistory(final int initialFitness) {
+		this.values = new int[16];
+		add(0, initialFitness);
+	}
+
+	private ImprovementHistory(final int[] values) {
+		this.values = values;
+		this.size = values.length / 2;
+	}
+
+	/**
+	 * @param values
+	 *                   pairs of generation and the best fitness, see
+	 *                   {@link #toArray()}
+	 * @return history
+	 */
+	static ImprovementHistory of(final int[] values) {
+		if (values.length < 2 || values.length % 2 != 0) {
+			throw new IllegalArgumentException("Improvement history has to contain pairs of generation and fitness");
+		}
+
+		return new ImprovementHistory(values.clone());
+	}
+
+	/**
+	 * @param generation
+	 *                       generation of the improvement
+	 * @param fitness
+	 *                       new best fitness
+	 */
+	void add(final int generation, final int fitness) {
+		if (2 * this.size == this.values.length) {
+			this.values = Arrays.copyOf(this.values, 2 * this.values.length);
+		}
+		this.values[2 * this.size] = generation;
+		this.values[2 * this.size + 1] = fitness;
+		this.size++;
+	}
+
+	/**
+	 * @return number of improvements, the initial population included
+	 */
+	int size() {
+		return this.size;
+	}
+
+	/**
+	 * @param index
+	 *                  index of the improvement
+	 * @return generation of the improvement
+	 */
+	int getGeneration(final int index) {
+		return this.values[2 * index];
+	}
+
+	/**
+	 * @param index
+	 *                  index of the improvement
+	 * @return the best fitness after the improvement
+	 */
+	int getFitness(final int index) {
+		return this.values[2 * index + 1];
+	}
+
+	/**
+	 * @return copy of the pairs of generation and the best fitness
+	 */
+	int[] toArray() {
+		return Arrays.copyOf(this.values, 2 * this.size);
+	}
+}
@@ -0,0 +1,201 @@
+package ga;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Publishes every new best tour of a run of the genetic algorithm.
+ *
+ * The run starts when the subscriber subscribes. Signals are delivered on the
+ * delivery executor, so a slow subscriber does not slow down the run - tours
+ * found while it has no demand or is still handling the previous tour are
+ * conflated, the subscriber gets only the latest one. The last tour is the best tour of the
+ * run, delivered before completion. Cancelling the subscription stops the
+ * run. Only one subscriber is allowed, a run cannot be shared.
+ *
+ * @author Jagoda Wieczorek
+ */
+public class IncumbentPublisher implements Flow.Publisher<Individual> {
+	private final GeneticAlgorithm algorithm;
+
+	private final Executor executor;
+
+	private final Executor deliveryExecutor;
+
+	private final AtomicBoolean subscribed = new AtomicBoolean();
+
+	/**
+	 * Signals are delivered by the common pool or, when it has a single
+	 * thread, by a new thread for every batch of signals, as
+	 * {@link java.util.concurrent.SubmissionPublisher} does
+	 *
+	 * @param algorithm
+	 *                      configured algorithm, maxtime limits the run
+	 * @param executor
+	 *                      executor running the algorithm
+	 */
+	public IncumbentPublisher(final GeneticAlgorithm algorithm, final Executor executor) {
+		this(algorithm, executor, ForkJoinPool.getCommonPoolParallelism() > 1 ? ForkJoinPool.commonPool() : task -> new Thread(task).start());
+	}
+
+	/**
+	 * @param algorithm
+	 *                             configured algorithm, maxtime limits the run
+	 * @param executor
+	 *                             executor running the algorithm
+	 * @param deliveryExecutor
+	 *                             executor delivering signals to the subscriber
+	 */
+	public IncumbentPublisher(final GeneticAlgorithm algorithm, final Executor executor, final Executor deliveryExecutor) {
+		this.algorithm = algorithm;
+		this.executor = executor;
+		this.deliveryExecutor = deliveryExecutor;
+	}
+
+	@Override
+	public void subscribe(final Flow.Subscriber<? super Individual> subscriber) {
+		Objects.requireNonNull(subscriber);
+		if (!this.subscribed.compareAndSet(false, true)) {
+			subscriber.onSubscribe(new Flow.Subscription() {
+				@Override
+				public void request(final long n) {
+				}
+
+				@Override
+				public void cancel() {
+				}
+			});
+			subscriber.onError(new IllegalStateException("Publisher allows only one subscriber"));
+			return;
+		}
+
+		final IncumbentSubscription subscription = new IncumbentSubscription(subscriber, this.algorithm.deadline(), this.deliveryExecutor);
+		subscriber.onSubscribe(subscription);
+		this.executor.execute(() -> {
+			if (subscription.deadline.isCancelled()) {
+				return;
+			}
+
+			final Consumer<Individual> listener = subscription::publish;
+			this.algorithm.addIncumbentListener(listener);
+			try {
+				this.algorithm.run(subscription.deadline);
+				subscription.complete(null);
+			} catch (final RuntimeException | Error e) {
+				subscription.complete(e);
+			} finally {
+				this.algorithm.removeIncumbentListener(listener);
+			}
+		});
+	}
+
+	/**
+	 * Conflating subscription, signals are serialized by the drain loop
+	 * running on the delivery executor
+	 */
+	private static final class IncumbentSubscription implements Flow.Subscription {
+		private final Flow.Subscriber<? super Individual> subscriber;
+
+		private final Deadline deadline;
+
+		private final Executor deliveryExecutor;
+
+		private final AtomicReference<Individual> latest = new AtomicReference<>();
+
+		private final AtomicLong demand = new AtomicLong();
+
+		private final AtomicInteger drains = new AtomicInteger();
+
+		private volatile boolean done;
+
+		private volatile Throwable error;
+
+		private volatile boolean terminated;
+
+		private IncumbentSubscription(final Flow.Subscriber<? super Individual> subscriber, final Deadline deadline,
+				final Executor deliveryExecutor) {
+			this.subscriber = subscriber;
+			this.deadline = deadline;
+			this.deliveryExecutor = deliveryExecutor;
+		}
+
+		@Override
+		public void request(final long n) {
+			if (n <= 0) {
+				this.deadline.cancel();
+				this.error = new IllegalArgumentException(String.format("Number of requested tours has to be positive, got %s", n));
+				this.latest.set(null);
+				this.done = true;
+			} else {
+				this.demand.accumulateAndGet(n, (current, requested) -> current + requested < 0 ? Long.MAX_VALUE : current + requested);
+			}
+			signal();
+		}
+
+		@Override
+		public void cancel() {
+			this.terminated = true;
+			this.deadline.cancel();
+			this.latest.set(null);
+		}
+
+		private void publish(final Individual incumbent) {
+			this.latest.set(incumbent);
+			signal();
+		}
+
+		private void complete(final Throwable error) {
+			if (this.error == null) {
+				this.error = error;
+			}
+			this.done = true;
+			signal();
+		}
+
+		/**
+		 * Schedule the drain loop unless it is already running, it picks up
+		 * the signal before it stops
+		 */
+		private void signal() {
+			if (this.drains.getAndIncrement() == 0) {
+				this.deliveryExecutor.execute(this::drain);
+			}
+		}
+
+		private void drain() {
+			int missed = 1;
+			do {
+				while (!this.terminated) {
+					// read before the latest tour, so the last tour is not lost
+					final boolean finished = this.done;
+					if (this.demand.get() > 0) {
+						final Individual incumbent = this.latest.getAndSet(null);
+						if (incumbent != null) {
+							this.demand.decrementAndGet();
+							this.subscriber.onNext(incumbent);
+							continue;
+						}
+					}
+
+					if (finished && (this.latest.get() == null || this.error != null)) {
+						this.terminated = true;
+						if (this.error != null) {
+							this.subscriber.onError(this.error);
+						} else {
+							this.subscriber.onComplete();
+						}
+					}
+					break;
+				}
+				missed = this.drains.addAndGet(-missed);
+			} while (missed != 0);
+		}
+	}
+}
@@ -1,10 +1,9 @@
 package ga;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Random;
+import java.util.List;
+import java.util.SplittableRandom;
 import java.util.TreeMap;
-import java.util.stream.IntStream;
 
 import tsp.Place;
 
@@ -14,7 +13,7 @@ import tsp.Place;
  * @author Jagoda Wieczorek
  */
 public class Individual implements Comparable<Individual> {
-	private ArrayList<Integer> genome;
+	private int[] genome;
 
 	private int fitness;
 
@@ -22,6 +21,11 @@ public class Individual implements Comparable<Individual> {
 
 	private int maxGen;
 
+	/**
+	 * Genome changed since the fitness was calculated
+	 */
+	private boolean dirty;
+
 	public Individual() {
 	}
 
@@ -41,8 +45,34 @@ public class Individual implements Comparable<Individual> {
 	 * @param genome
 	 *                   individual's genome
 	 */
-	public Individual(final ArrayList<Integer> genome) {
+	public Individual(final int[] genome) {
 		this.genome = genome;
+		this.dirty = true;
+	}
+
+	/**
+	 * Constructor for Individual with defined genome and already known fitness
+	 *
+	 * @param genome
+	 *                    individual's genome
+	 * @param fitness
+	 *                    individual's fitness (the lower the better)
+	 */
+	public Individual(final int[] genome, final int fitness) {
+		this.genome = genome;
+		this.fitness = fitness;
+	}
+
+	/**
+	 * Constructor for Individual with defined genome
+	 *
+	 * @param genome
+	 *                   individual's genome
+	 * @deprecated use {@link #Individual(int[])} instead
+	 */
+	@Deprecated
+	public Individual(final List<Integer> genome) {
+		this(toArray(genome));
 	}
 
 	/**
@@ -53,11 +83,42 @@ public class Individual implements Comparable<Individual> {
 	 * @param places
 	 *                   all available places
 	 */
-	public Individual(final ArrayList<Integer> genome, final TreeMap<Integer, Place> places) {
+	public Individual(final int[] genome, final TreeMap<Integer, Place> places) {
 		this.genome = genome;
 		this.fitness = this.calculateFitness(places);
 	}
 
+	/**
+	 * Constructor for Individual with initial genome holding indices of the
+	 * distance matrix
+	 *
+	 * @param distanceProvider
+	 *                                   distances between places
+	 * @param initialGenomeAlgorithm
+	 *                                   InitialGenomeAlgorithm implementation
+	 */
+	public Individual(final DistanceProvider distanceProvider, final InitialGenomeAlgorithm initialGenomeAlgorithm) {
+		this(distanceProvider, initialGenomeAlgorithm, new SplittableRandom());
+	}
+
+	/**
+	 * Constructor for Individual with reproducible initial genome holding
+	 * indices of the distance matrix
+	 *
+	 * @param distanceProvider
+	 *                                   distances between places
+	 * @param initialGenomeAlgorithm
+	 *                                   InitialGenomeAlgorithm implementation
+	 * @param random
+	 *                                   random generator of the genome
+	 */
+	public Individual(final DistanceProvider distanceProvider, final InitialGenomeAlgorithm initialGenomeAlgorithm, final SplittableRandom random) {
+		this.minGen = 0;
+		this.maxGen = distanceProvider.size() - 1;
+		this.genome = initialGenomeAlgorithm.initialize(distanceProvider, random);
+		this.fitness = this.calculateFitness(distanceProvider);
+	}
+
 	/**
 	 * Constructor for Individual with initial random genome based on provided
 	 * places
@@ -107,7 +168,6 @@ public class Individual implements Comparable<Individual> {
 	 */
 	public Individual(final TreeMap<Integer, Place> places, final InitialGenomeAlgorithm initialGenomeAlgorithm) throws IllegalArgumentException {
 		this(places.firstKey(), places.lastKey(), initialGenomeAlgorithm, places);
-		this.genome = this.initializeGenome(this.minGen, this.maxGen, initialGenomeAlgorithm, places);
 		this.fitness = this.calculateFitness(places);
 	}
 
@@ -141,12 +201,9 @@ public class Individual implements Comparable<Individual> {
 	 * @return random genome
 	 * @deprecated use initializeGenome instead
 	 */
-	public ArrayList<Integer> randomGenome(final int minGen, final int maxGen) {
-		final ArrayList<Integer> genome = new ArrayList<>();
-		IntStream.rangeClosed(minGen, maxGen).forEach(genome::add);
-		Collections.shuffle(genome);
-
-		return genome;
+	@Deprecated
+	public int[] randomGenome(final int minGen, final int maxGen) {
+		return new RandomAlgorithm().initialize(minGen, maxGen, null);
 	}
 
 	/**
@@ -160,41 +217,122 @@ public class Individual implements Comparable<Individual> {
 	 *                                   places
 	 * @return genome
 	 */
-	public ArrayList<Integer> initializeGenome(final int minGen, final int maxGen, final InitialGenomeAlgorithm initialGenomeAlgorithm,
+	@SuppressWarnings("deprecation")
+	public int[] initializeGenome(final int minGen, final int maxGen, final InitialGenomeAlgorithm initialGenomeAlgorithm,
 			final TreeMap<Integer, Place> places) {
 		return initialGenomeAlgorithm.initialize(minGen, maxGen, places);
 	}
 
 	/**
+	 * @param distanceProvider
+	 *                             distances between places
 	 * @return fitness (the lower the better)
 	 */
+	public int calculateFitness(final DistanceProvider distanceProvider) {
+		return distanceProvider.cost(this.genome);
+	}
+
+	/**
+	 * @return fitness (the lower the better)
+	 * @deprecated use {@link #calculateFitness(DistanceProvider)} instead
+	 */
+	@Deprecated
 	public int calculateFitness(final TreeMap<Integer, Place> places) {
+		final int[] genome = this.genome;
 		int cost = 0;
-		Integer currentGen = this.genome.get(0);
-		for (int i = 1; i < this.genome.size(); i++) {
-			cost += places.get(currentGen).getDistanceTo(this.genome.get(i));
-			currentGen = this.genome.get(i);
+		Place current = places.get(genome[0]);
+		for (int i = 1; i < genome.length; i++) {
+			cost += current.getDistanceTo(genome[i]);
+			current = places.get(genome[i]);
 		}
-		cost += places.get(currentGen).getDistanceTo(this.genome.get(0));
+		cost += current.getDistanceTo(genome[0]);
 		return cost;
 	}
 
 	public void mutate() {
-		final Random random = new Random();
-		final ArrayList<Integer> newGenome = this.genome;
+		final SplittableRandom random = new SplittableRandom();
+		final int first = random.nextInt(this.genome.length - 1) + 1;
+		final int second = random.nextInt(this.genome.length - 1) + 1;
 
-		Collections.swap(newGenome, random.nextInt(this.genome.size() - 1) + 1, random.nextInt(this.genome.size() - 1) + 1);
+		final int gen = this.genome[first];
+		this.genome[first] = this.genome[second];
+		this.genome[second] = gen;
+	}
 
-		this.genome = newGenome;
+	/**
+	 * Mutate genome in place and update fitness by the cost delta reported by
+	 * the mutation, a dirty individual stays dirty
+	 *
+	 * @param mutation
+	 *                             mutation
+	 * @param distanceProvider
+	 *                             distances between places
+	 * @param random
+	 *                             random generator
+	 */
+	public void mutate(final Mutation mutation, final DistanceProvider distanceProvider, final SplittableRandom random) {
+		final int delta = mutation.perform(this.genome, distanceProvider, random);
+		if (!this.dirty) {
+			this.fitness += delta;
+		}
 	}
 
 	/**
-	 * @return Individual genome
+	 * Improve genome in place by local search and update fitness by the cost
+	 * delta reported by it, a dirty individual stays dirty
+	 *
+	 * @param localSearch
+	 *                             local search
+	 * @param distanceProvider
+	 *                             distances between places
+	 */
+	public void improve(final LocalSearch localSearch, final DistanceProvider distanceProvider) {
+		final int delta = localSearch.improve(this.genome, distanceProvider);
+		if (!this.dirty) {
+			this.fitness += delta;
+		}
+	}
+
+	/**
+	 * @return copy of the individual with its own genome
+	 */
+	public Individual copy() {
+		final Individual individual = new Individual(this.genome.clone(), this.fitness);
+		individual.minGen = this.minGen;
+		individual.maxGen = this.maxGen;
+		individual.dirty = this.dirty;
+
+		return individual;
+	}
+
+	/**
+	 * Compatibility view of the genome, prefer {@link #getGenes()} on hot paths
+	 *
+	 * @return copy of the individual genome as a list
 	 */
 	public ArrayList<Integer> getGenome() {
+		final ArrayList<Integer> genome = new ArrayList<>(this.genome.length);
+		for (final int gen: this.genome) {
+			genome.add(gen);
+		}
+
+		return genome;
+	}
+
+	/**
+	 * @return Individual genome (not a copy)
+	 */
+	public int[] getGenes() {
 		return this.genome;
 	}
 
+	/**
+	 * @return number of genes in the genome
+	 */
+	public int size() {
+		return this.genome.length;
+	}
+
 	/**
 	 * @return fitness
 	 */
@@ -216,18 +354,77 @@ public class Individual implements Comparable<Individual> {
 		return this.maxGen;
 	}
 
+	/**
+	 * Set fitness based on genome and distance matrix
+	 *
+	 * @param distanceProvider
+	 *                             distances between places
+	 */
+	public void setFitness(final DistanceProvider distanceProvider) {
+		this.fitness = calculateFitness(distanceProvider);
+		this.dirty = false;
+	}
+
+	/**
+	 * @param fitness
+	 *                    already known fitness of the genome
+	 */
+	void setFitness(final int fitness) {
+		this.fitness = fitness;
+		this.dirty = false;
+	}
+
+	/**
+	 * Calculate fitness only if the genome changed since the last calculation
+	 *
+	 * @param distanceProvider
+	 *                             distances between places
+	 */
+	public void evaluate(final DistanceProvider distanceProvider) {
+		if (this.dirty) {
+			setFitness(distanceProvider);
+		}
+	}
+
+	/**
+	 * Mark the genome as changed by an operator which does not update fitness
+	 * (e.g. crossover writing into the genome)
+	 */
+	void markDirty() {
+		this.dirty = true;
+	}
+
+	/**
+	 * @return true if the fitness is not calculated for the current genome
+	 */
+	public boolean isDirty() {
+		return this.dirty;
+	}
+
 	/**
 	 * Set fitness based on genome and places
 	 *
 	 * @param places
 	 *                   all available places
+	 * @deprecated use {@link #setFitness(DistanceProvider)} instead
 	 */
+	@Deprecated
 	public void setFitness(final TreeMap<Integer, Place> places) {
 		this.fitness = calculateFitness(places);
+		this.dirty = false;
 	}
 
 	@Override
 	public int compareTo(final Individual individual) {
 		return this.getFitness() >= individual.getFitness() ? this.getFitness() > individual.getFitness() ? -1 : 0 : 1;
 	}
+
+	private static int[] toArray(final List<Integer> genome) {
+		final int[] genes = new int[genome.size()];
+		for (int i = 0; i < genes.length; i++) {
+			genes[i] = genome.get(i);
+		}
+
+		return genes;
+	}
 }
@@ -1,10 +1,46 @@
 package ga;
 
-import java.util.ArrayList;
+import java.util.SplittableRandom;
 import java.util.TreeMap;
 
 import tsp.Place;
 
 public interface InitialGenomeAlgorithm {
-	ArrayList<Integer> initialize(int minGen, int maxGen, TreeMap<Integer, Place> places);
+	/**
+	 * @param distanceProvider
+	 *                             distances between places
+	 * @return genome holding place indices of the distance matrix
+	 */
+	default int[] initialize(final DistanceProvider distanceProvider) {
+		return initialize(distanceProvider, new SplittableRandom());
+	}
+
+	/**
+	 * Implementations have to take all randomness from the generator, so the
+	 * same seed gives the same genome
+	 *
+	 * @param distanceProvider
+	 *                             distances between places
+	 * @param random
+	 *                             random generator of the calling thread
+	 * @return genome holding place indices of the distance matrix
+	 */
+	int[] initialize(DistanceProvider distanceProvider, SplittableRandom random);
+
+	/**
+	 * @param minGen
+	 *                   minimum gen value (first possible key)
+	 * @param maxGen
+	 *                   maximum gen value (last possible key)
+	 * @param places
+	 *                   places
+	 * @return genome holding place ids
+	 * @deprecated use {@link #initialize(DistanceProvider)} instead
+	 */
+	@Deprecated
+	default int[] initialize(final int minGen, final int maxGen, final TreeMap<Integer, Place> places) {
+		final DistanceProvider distanceProvider = DistanceMatrix.cachedOf(places);
+
+		return distanceProvider.toIds(initialize(distanceProvider));
+	}
 }
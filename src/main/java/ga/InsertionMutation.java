@@ -0,0 +1,67 @@
+package ga;
+
+import java.util.SplittableRandom;
+
+/**
+ * Insertion mutation - moves a random gene to another random position
+ *
+ * @author Jagoda Wieczorek
+ */
+public class InsertionMutation implements Mutation {
+
+	@Override
+	public int perform(final int[] genome, final DistanceProvider distanceProvider, final SplittableRandom random) {
+		return perform(genome, 0, genome.length, distanceProvider, random);
+	}
+
+	@Override
+	public int perform(final int[] genomes, final int offset, final int length, final DistanceProvider distanceProvider, final SplittableRandom random) {
+		if (length < 3) {
+			return 0;
+		}
+
+		final int from = random.nextInt(length - 1) + 1;
+		final int to = random.nextInt(length - 1) + 1;
+
+		return perform(genomes, offset, length, distanceProvider, from, to);
+	}
+
+	/**
+	 * @param genome
+	 *                             slab of genomes, the genome is mutated in place
+	 * @param offset
+	 *                             position of the first gen of the genome
+	 * @param length
+	 *                             number of genes of the genome
+	 * @param distanceProvider
+	 *                             distances between places
+	 * @param from
+	 *                             current position of the gen (from >= 1)
+	 * @param to
+	 *                             new position of the gen (to >= 1)
+	 * @return cost delta
+	 */
+	int perform(final int[] genome, final int offset, final int length, final DistanceProvider distanceProvider, final int from, final int to) {
+		if (from == to) {
+			return 0;
+		}
+
+		final int gen = genome[offset + from];
+		final int previous = genome[offset + from - 1];
+		final int next = genome[offset + (from + 1) % length];
+		int delta = distanceProvider.getDistance(previous, next) - distanceProvider.getDistance(previous, gen) - distanceProvider.getDistance(gen, next);
+
+		if (from < to) {
+			System.arraycopy(genome, offset + from + 1, genome, offset + from, to - from);
+		} else {
+			System.arraycopy(genome, offset + to, genome, offset + to + 1, from - to);
+		}
+		genome[offset + to] = gen;
+
+		final int newPrevious = genome[offset + to - 1];
+		final int newNext = genome[offset + (to + 1) % length];
+		delta += distanceProvider.getDistance(newPrevious, gen) + distanceProvider.getDistance(gen, newNext) - distanceProvider.getDistance(newPrevious, newNext);
+
+		return delta;
+	}
+}
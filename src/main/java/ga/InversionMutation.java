@@ -0,0 +1,62 @@
+package ga;
+
+import java.util.SplittableRandom;
+
+/**
+ * Inversion mutation - reverses a random segment of the genome (2-opt move)
+ *
+ * @author Jagoda Wieczorek
+ */
+public class InversionMutation implements Mutation {
+
+	@Override
+	public int perform(final int[] genome, final DistanceProvider distanceProvider, final SplittableRandom random) {
+		return perform(genome, 0, genome.length, distanceProvider, random);
+	}
+
+	@Override
+	public int perform(final int[] genomes, final int offset, final int length, final DistanceProvider distanceProvider, final SplittableRandom random) {
+		if (length < 3) {
+			return 0;
+		}
+
+		final int first = random.nextInt(length - 1) + 1;
+		final int second = random.nextInt(length - 1) + 1;
+
+		return perform(genomes, offset, length, distanceProvider, Math.min(first, second), Math.max(first, second));
+	}
+
+	/**
+	 * @param genome
+	 *                             slab of genomes, the genome is mutated in place
+	 * @param offset
+	 *                             position of the first gen of the genome
+	 * @param length
+	 *                             number of genes of the genome
+	 * @param distanceProvider
+	 *                             symmetric distances between places
+	 * @param i
+	 *                             first position of the segment (1 <= i <= j)
+	 * @param j
+	 *                             last position of the segment (j < length)
+	 * @return cost delta
+	 */
+	int perform(final int[] genome, final int offset, final int length, final DistanceProvider distanceProvider, final int i, final int j) {
+		if (i == j) {
+			return 0;
+		}
+
+		final int previous = genome[offset + i - 1];
+		final int next = genome[offset + (j + 1) % length];
+		final int delta = distanceProvider.getDistance(previous, genome[offset + j]) + distanceProvider.getDistance(genome[offset + i], next)
+				- distanceProvider.getDistance(previous, genome[offset + i]) - distanceProvider.getDistance(genome[offset + j], next);
+
+		for (int left = offset + i, right = offset + j; left < right; left++, right--) {
+			final int gen = genome[left];
+			genome[left] = genome[right];
+			genome[right] = gen;
+		}
+
+		return delta;
+	}
+}
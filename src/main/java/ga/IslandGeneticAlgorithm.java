@@ -0,0 +1,257 @@
+package ga;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Island model of the genetic algorithm. Independent populations evolve
+ * concurrently, one per thread, and every {@code migrationInterval}
+ * generations they exchange their best individuals along the migration
+ * topology. Every island breeds into a spare population like
+ * {@link GeneticAlgorithm} and keeps its best individual so far, the run
+ * honours maxtime, the deadline, termination criteria and listeners of the
+ * configured algorithm.
+ *
+ * @author Jagoda Wieczorek
+ */
+public class IslandGeneticAlgorithm {
+	private final GeneticAlgorithm algorithm;
+
+	private final int islands;
+
+	private final int migrationInterval;
+
+	private final int migrants;
+
+	private final MigrationTopology topology;
+
+	/**
+	 * @param algorithm
+	 *                              configuration of every island (population
+	 *                              size, number of generations, operators,
+	 *                              seed, TSP)
+	 * @param islands
+	 *                              number of islands
+	 * @param migrationInterval
+	 *                              number of generations between migrations
+	 * @param migrants
+	 *                              number of best individuals sent by an island
+	 * @param topology
+	 *                              migration topology
+	 */
+	public IslandGeneticAlgorithm(final GeneticAlgorithm algorithm, final int islands, final int migrationInterval, final int migrants,
+			final MigrationTopology topology) {
+		if (islands <= 0) {
+			throw new IllegalArgumentException("Number of islands cannot be less or equal 0");
+		}
+
+		if (migrationInterval <= 0) {
+			throw new IllegalArgumentException("Migration interval cannot be less or equal 0");
+		}
+
+		if (migrants < 0) {
+			throw new IllegalArgumentException("Number of migrants cannot be less than 0");
+		}
+
+		this.algorithm = algorithm;
+		this.islands = islands;
+		this.migrationInterval = migrationInterval;
+		this.migrants = migrants;
+		this.topology = topology;
+	}
+
+	/**
+	 * Run the islands for the number of generations or, when created with
+	 * maxtime, until maxtime milliseconds pass
+	 *
+	 * @return the best individual found on all islands, its genome holds place
+	 *         ids
+	 */
+	public Individual run() {
+		return run(this.algorithm.deadline());
+	}
+
+	/**
+	 * Anytime run - evolve the islands until the deadline is reached, the run
+	 * is cancelled through the deadline or a termination criterion is met.
+	 * Termination criteria see the best fitness of all islands and are checked
+	 * after every epoch, generation listeners get the generations of every
+	 * island after every epoch, island after island.
+	 *
+	 * @param deadline
+	 *                     deadline of the run, may be cancelled from another
+	 *                     thread
+	 * @return the best individual found on all islands, its genome holds place
+	 *         ids
+	 */
+	public Individual run(final Deadline deadline) {
+		final DistanceProvider distanceProvider = this.algorithm.getDistanceProvider();
+		final int generationLimit = this.algorithm.generationLimit();
+		final boolean listened = this.algorithm.isListened();
+		final SplittableRandom random = new SplittableRandom(Seeds.derive(this.algorithm.getSeed(), this.islands));
+		final Population[] populations = new Population[this.islands];
+		final Population[] spares = new Population[this.islands];
+		// breeding keeps no elite, the best individual of every island is
+		// tracked after every generation
+		final Individual[] bestIndividuals = new Individual[this.islands];
+		final int[][] bestFitnesses = new int[this.islands][this.migrationInterval];
+		final int[] evolved = new int[this.islands];
+		final List<List<GenerationStatistics>> statistics = new ArrayList<>(this.islands);
+		final ExecutorService executor = Executors.newFixedThreadPool(this.islands);
+
+		try {
+			final List<Callable<Void>> initialization = new ArrayList<>(this.islands);
+			for (int island = 0; island < this.islands; island++) {
+				final int index = island;
+				final long islandSeed = Seeds.derive(this.algorithm.getSeed(), index);
+				statistics.add(new ArrayList<>());
+				initialization.add(() -> {
+					populations[index] = this.algorithm.initialPopulation(distanceProvider, islandSeed);
+					spares[index] = new Population(populations[index].getIndividuals().size(), distanceProvider.size());
+					populations[index].setTimed(listened);
+					spares[index].setTimed(listened);
+					bestIndividuals[index] = populations[index].getBestIndividual().copy();
+					return null;
+				});
+			}
+			invokeAll(executor, initialization);
+			this.algorithm.resetTerminationCriteria();
+			Individual bestIndividual = best(bestIndividuals);
+			this.algorithm.notifyIncumbent(bestIndividual, distanceProvider);
+
+			int currentGeneration = 0;
+			boolean terminated = false;
+			while (!terminated && currentGeneration < generationLimit && !deadline.isReached()) {
+				final int firstGeneration = currentGeneration;
+				final int lastGeneration = currentGeneration + Math.min(this.migrationInterval, generationLimit - currentGeneration);
+				final List<Callable<Void>> epoch = new ArrayList<>(this.islands);
+
+				for (int island = 0; island < this.islands; island++) {
+					final int index = island;
+					final long islandSeed = Seeds.derive(this.algorithm.getSeed(), index);
+					epoch.add(() -> {
+						Population population = populations[index];
+						Population spare = spares[index];
+						Individual islandBest = bestIndividuals[index];
+						int generation = firstGeneration;
+						while (generation < lastGeneration) {
+							final long generationStart = listened ? System.nanoTime() : 0L;
+							this.algorithm.nextGeneration(spare, population, distanceProvider, null, Seeds.derive(islandSeed, generation), deadline);
+							if (!spare.isComplete()) {
+								break;
+							}
+
+							final Population previous = population;
+							population = spare;
+							spare = previous;
+							if (population.getBestIndividual().compareTo(islandBest) > 0) {
+								islandBest = population.getBestIndividual().copy();
+							}
+							bestFitnesses[index][generation - firstGeneration] = islandBest.getFitness();
+							generation++;
+							if (listened) {
+								statistics.get(index)
+										.add(new GenerationStatistics(generation, population, islandBest.getFitness(), System.nanoTime() - generationStart));
+							}
+						}
+						populations[index] = population;
+						spares[index] = spare;
+						bestIndividuals[index] = islandBest;
+						evolved[index] = generation - firstGeneration;
+						return null;
+					});
+				}
+				invokeAll(executor, epoch);
+
+				for (final List<GenerationStatistics> islandStatistics: statistics) {
+					islandStatistics.forEach(this.algorithm::notifyGeneration);
+					islandStatistics.clear();
+				}
+				if (best(bestIndividuals).compareTo(bestIndividual) > 0) {
+					bestIndividual = best(bestIndividuals);
+					this.algorithm.notifyIncumbent(bestIndividual, distanceProvider);
+				}
+
+				// generations evolved by all islands, the others were stopped by
+				// the deadline
+				final int completed = Arrays.stream(evolved).min().getAsInt();
+				for (int generation = 0; generation < completed && !terminated; generation++) {
+					int bestFitness = Integer.MAX_VALUE;
+					for (int island = 0; island < this.islands; island++) {
+						bestFitness = Math.min(bestFitness, bestFitnesses[island][generation]);
+					}
+					terminated = this.algorithm.isTerminated(firstGeneration + generation + 1, bestFitness);
+				}
+
+				currentGeneration = firstGeneration + completed;
+				if (completed < lastGeneration - firstGeneration) {
+					break;
+				}
+				if (!terminated && currentGeneration < generationLimit) {
+					migrate(populations, random);
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		return GeneticAlgorithm.toPlaceIds(best(bestIndividuals), distanceProvider);
+	}
+
+	private static Individual best(final Individual[] individuals) {
+		Individual bestIndividual = individuals[0];
+		for (final Individual individual: individuals) {
+			if (individual.compareTo(bestIndividual) > 0) {
+				bestIndividual = individual;
+			}
+		}
+
+		return bestIndividual;
+	}
+
+	/**
+	 * Send copies of the best individuals of every island to the islands given by
+	 * the topology, where they replace the worst individuals. Every island gets
+	 * its own copies, populations overwrite their individuals when breeding.
+	 */
+	void migrate(final Population[] populations, final SplittableRandom random) {
+		if (this.islands < 2 || this.migrants == 0) {
+			return;
+		}
+
+		final List<List<Individual>> emigrants = new ArrayList<>(this.islands);
+		for (final Population population: populations) {
+			emigrants.add(population.getTopIndividuals(this.migrants));
+		}
+
+		for (int island = 0; island < this.islands; island++) {
+			final List<Individual> immigrants = new ArrayList<>();
+			for (final int source: this.topology.sources(island, this.islands, random)) {
+				for (final Individual emigrant: emigrants.get(source)) {
+					immigrants.add(emigrant.copy());
+				}
+			}
+			populations[island].replaceWorst(immigrants);
+		}
+	}
+
+	private static void invokeAll(final ExecutorService executor, final List<Callable<Void>> tasks) {
+		try {
+			for (final Future<Void> future: executor.invokeAll(tasks)) {
+				future.get();
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Island model interrupted", e);
+		} catch (final ExecutionException e) {
+			throw new IllegalStateException("Island evolution failed", e.getCause());
+		}
+	}
+}
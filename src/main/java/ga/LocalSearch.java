@@ -0,0 +1,18 @@
+package ga;
+
+/**
+ * Local improvement of a tour applied to offspring (memetic algorithm)
+ *
+ * @author Jagoda Wieczorek
+ */
+public interface LocalSearch {
+	/**
+	 * @param genome
+	 *                             genome holding place indices, improved in place
+	 *                             with the first gen untouched
+	 * @param distanceProvider
+	 *                             symmetric distances between places
+	 * @return tour cost delta (new cost - old cost), never positive
+	 */
+	int improve(int[] genome, DistanceProvider distanceProvider);
+}
@@ -0,0 +1,60 @@
+package ga;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Topology along which islands send their best individuals
+ *
+ * @author Jagoda Wieczorek
+ */
+public enum MigrationTopology {
+	/**
+	 * Island i sends migrants to island i + 1, the last one to the first one
+	 */
+	RING {
+		@Override
+		List<Integer> sources(final int island, final int islands, final SplittableRandom random) {
+			return List.of((island + islands - 1) % islands);
+		}
+	},
+	/**
+	 * Every island sends migrants to all other islands
+	 */
+	FULLY_CONNECTED {
+		@Override
+		List<Integer> sources(final int island, final int islands, final SplittableRandom random) {
+			final List<Integer> sources = new ArrayList<>(islands - 1);
+			for (int source = 0; source < islands; source++) {
+				if (source != island) {
+					sources.add(source);
+				}
+			}
+
+			return sources;
+		}
+	},
+	/**
+	 * Every island receives migrants from one randomly chosen other island
+	 */
+	RANDOM {
+		@Override
+		List<Integer> sources(final int island, final int islands, final SplittableRandom random) {
+			final int source = random.nextInt(islands - 1);
+
+			return List.of(source >= island ? source + 1 : source);
+		}
+	};
+
+	/**
+	 * @param island
+	 *                    receiving island
+	 * @param islands
+	 *                    number of islands (at least 2)
+	 * @param random
+	 *                    random generator
+	 * @return islands sending migrants to the receiving island
+	 */
+	abstract List<Integer> sources(int island, int islands, SplittableRandom random);
+}
@@ -0,0 +1,49 @@
+package ga;
+
+import java.util.SplittableRandom;
+
+/**
+ * Mutation interface. Implementations change the genome in place and keep the
+ * first gen untouched.
+ *
+ * @author Jagoda Wieczorek
+ */
+public interface Mutation {
+	/**
+	 * @param genome
+	 *                             genome holding place indices, mutated in place
+	 * @param distanceProvider
+	 *                             symmetric distances between places
+	 * @param random
+	 *                             random generator
+	 * @return tour cost delta (new cost - old cost) computed from the touched
+	 *         edges only
+	 */
+	int perform(int[] genome, DistanceProvider distanceProvider, SplittableRandom random);
+
+	/**
+	 * Mutate a genome stored in a slab of genomes, see {@link PopulationArena}.
+	 * The default implementation mutates a copy, the mutations of this package
+	 * work in place.
+	 *
+	 * @param genomes
+	 *                             slab of genomes holding place indices
+	 * @param offset
+	 *                             position of the first gen of the genome
+	 * @param length
+	 *                             number of genes of the genome
+	 * @param distanceProvider
+	 *                             symmetric distances between places
+	 * @param random
+	 *                             random generator
+	 * @return tour cost delta (new cost - old cost)
+	 */
+	default int perform(final int[] genomes, final int offset, final int length, final DistanceProvider distanceProvider, final SplittableRandom random) {
+		final int[] genome = new int[length];
+		System.arraycopy(genomes, offset, genome, 0, length);
+		final int delta = perform(genome, distanceProvider, random);
+		System.arraycopy(genome, 0, genomes, offset, length);
+
+		return delta;
+	}
+}
@@ -0,0 +1,315 @@
+package ga;
+
+/**
+ * 2-opt and Or-opt restricted to candidate lists with don't-look bits.
+ *
+ * Only places whose surroundings changed are reconsidered, every move is
+ * evaluated from the touched edges only. The search stops at a local optimum
+ * or when the move or time budget of the individual runs out.
+ *
+ * @author Jagoda Wieczorek
+ */
+public class NeighborListLocalSearch implements LocalSearch {
+	private static final int MAX_SEGMENT_LENGTH = 3;
+
+	private static final int DEADLINE_CHECK_MASK = 15;
+
+	private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+	private final NeighborLists neighborLists;
+
+	private final int maxMoves;
+
+	private final long maxNanos;
+
+	/**
+	 * @param neighborLists
+	 *                          candidate lists of the instance
+	 * @param maxMoves
+	 *                          maximum number of improving moves per individual
+	 * @param maxNanos
+	 *                          time budget per individual in nanoseconds, 0 for
+	 *                          no limit
+	 */
+	public NeighborListLocalSearch(final NeighborLists neighborLists, final int maxMoves, final long maxNanos) {
+		if (maxMoves <= 0) {
+			throw new IllegalArgumentException("Number of moves cannot be less or equal 0");
+		}
+		if (maxNanos < 0) {
+			throw new IllegalArgumentException("Time budget cannot be less than 0");
+		}
+		this.neighborLists = neighborLists;
+		this.maxMoves = maxMoves;
+		this.maxNanos = maxNanos;
+	}
+
+	@Override
+	public int improve(final int[] genome, final DistanceProvider distanceProvider) {
+		if (distanceProvider.size() != this.neighborLists.size()) {
+			throw new IllegalArgumentException(String.format("Neighbor lists have to contain %s places", distanceProvider.size()));
+		}
+		if (genome.length < 5) {
+			return 0;
+		}
+
+		final Scratch scratch = SCRATCH.get().reset(genome);
+		final long end = System.nanoTime() + this.maxNanos;
+		int moves = 0;
+		int delta = 0;
+		int iteration = 0;
+
+		while (scratch.queued > 0 && moves < this.maxMoves) {
+			if (this.maxNanos != 0 && (++iteration & DEADLINE_CHECK_MASK) == 0 && System.nanoTime() - end >= 0) {
+				break;
+			}
+
+			final int place = scratch.poll();
+			int gain = this.twoOpt(place, genome, distanceProvider, scratch);
+			if (gain == 0) {
+				gain = this.orOpt(place, genome, distanceProvider, scratch);
+			}
+			if (gain > 0) {
+				delta -= gain;
+				moves++;
+			}
+		}
+
+		return delta;
+	}
+
+	/**
+	 * Try to replace an edge of the place with an edge to one of its neighbors
+	 *
+	 * @return gain of the applied move, 0 when no improving move was found
+	 */
+	private int twoOpt(final int place, final int[] genome, final DistanceProvider distanceProvider, final Scratch scratch) {
+		final int n = genome.length;
+		final int[] position = scratch.position;
+		final int index = position[place];
+
+		final int next = genome[(index + 1) % n];
+		int removed = distanceProvider.getDistance(place, next);
+		for (int rank = 0; rank < this.neighborLists.getNeighborCount(); rank++) {
+			final int candidate = this.neighborLists.getNeighbor(place, rank);
+			final int added = distanceProvider.getDistance(place, candidate);
+			if (added >= removed) {
+				break;
+			}
+
+			final int candidateIndex = position[candidate];
+			final int candidateNext = genome[(candidateIndex + 1) % n];
+			if (candidate == next || candidateNext == place) {
+				continue;
+			}
+
+			final int gain = removed + distanceProvider.getDistance(candidate, candidateNext) - added - distanceProvider.getDistance(next, candidateNext);
+			if (gain > 0) {
+				reverse(genome, index, candidateIndex, position);
+				scratch.push(place, next, candidate, candidateNext);
+				return gain;
+			}
+		}
+
+		final int previous = genome[(index - 1 + n) % n];
+		removed = distanceProvider.getDistance(previous, place);
+		for (int rank = 0; rank < this.neighborLists.getNeighborCount(); rank++) {
+			final int candidate = this.neighborLists.getNeighbor(place, rank);
+			final int added = distanceProvider.getDistance(place, candidate);
+			if (added >= removed) {
+				break;
+			}
+
+			final int candidateIndex = position[candidate];
+			final int candidatePrevious = genome[(candidateIndex - 1 + n) % n];
+			if (candidate == previous || candidatePrevious == place) {
+				continue;
+			}
+
+			final int gain = removed + distanceProvider.getDistance(candidatePrevious, candidate) - added - distanceProvider.getDistance(previous, candidatePrevious);
+			if (gain > 0) {
+				reverse(genome, (index - 1 + n) % n, (candidateIndex - 1 + n) % n, position);
+				scratch.push(place, previous, candidate, candidatePrevious);
+				return gain;
+			}
+		}
+
+		return 0;
+	}
+
+	/**
+	 * Try to move a segment of up to 3 places starting at the place next to one
+	 * of the neighbors of its ends
+	 *
+	 * @return gain of the applied move, 0 when no improving move was found
+	 */
+	private int orOpt(final int place, final int[] genome, final DistanceProvider distanceProvider, final Scratch scratch) {
+		final int n = genome.length;
+		final int[] position = scratch.position;
+		final int first = position[place];
+		if (first == 0) {
+			return 0;
+		}
+
+		for (int length = 1; length <= MAX_SEGMENT_LENGTH && n - length >= 3; length++) {
+			final int last = first + length - 1;
+			if (last >= n) {
+				break;
+			}
+
+			final int head = genome[first];
+			final int tail = genome[last];
+			final int previous = genome[first - 1];
+			final int next = genome[(last + 1) % n];
+			final int removed = distanceProvider.getDistance(previous, head) + distanceProvider.getDistance(tail, next) - distanceProvider.getDistance(previous, next);
+			if (removed <= 0) {
+				continue;
+			}
+
+			for (int end = 0; end < 2; end++) {
+				final int segmentEnd = end == 0 ? head : tail;
+				for (int rank = 0; rank < this.neighborLists.getNeighborCount(); rank++) {
+					final int candidate = this.neighborLists.getNeighbor(segmentEnd, rank);
+					if (distanceProvider.getDistance(segmentEnd, candidate) >= removed) {
+						break;
+					}
+
+					final int candidateIndex = position[candidate];
+					if (candidateIndex >= first && candidateIndex <= last) {
+						continue;
+					}
+
+					for (int side = 0; side < 2; side++) {
+						final int edge = side == 0 ? candidateIndex : (candidateIndex - 1 + n) % n;
+						if (edge >= first - 1 && edge <= last) {
+							continue;
+						}
+
+						final int from = genome[edge];
+						final int to = genome[(edge + 1) % n];
+						final int base = distanceProvider.getDistance(from, to);
+						final int forward = distanceProvider.getDistance(from, head) + distanceProvider.getDistance(tail, to) - base;
+						final int backward = distanceProvider.getDistance(from, tail) + distanceProvider.getDistance(head, to) - base;
+						final boolean reversed = backward < forward;
+						final int gain = removed - (reversed ? backward : forward);
+						if (gain > 0) {
+							move(genome, first, length, edge, reversed, scratch);
+							scratch.push(previous, next, head, tail);
+							scratch.push(from);
+							scratch.push(to);
+							return gain;
+						}
+					}
+				}
+			}
+		}
+
+		return 0;
+	}
+
+	/**
+	 * Replace edges (i, i + 1) and (j, j + 1) with (i, j) and (i + 1, j + 1) by
+	 * reversing the genes between them, the first gen is never reversed
+	 */
+	private static void reverse(final int[] genome, final int i, final int j, final int[] position) {
+		int left = Math.min(i, j) + 1;
+		int right = Math.max(i, j);
+		while (left < right) {
+			final int gen = genome[left];
+			genome[left] = genome[right];
+			genome[right] = gen;
+			position[genome[left]] = left++;
+			position[genome[right]] = right--;
+		}
+		if (left == right) {
+			position[genome[left]] = left;
+		}
+	}
+
+	/**
+	 * Move the segment [first, first + length) between genes at edge and edge + 1
+	 */
+	private static void move(final int[] genome, final int first, final int length, final int edge, final boolean reversed, final Scratch scratch) {
+		final int[] segment = scratch.segment;
+		for (int i = 0; i < length; i++) {
+			segment[reversed ? length - 1 - i : i] = genome[first + i];
+		}
+
+		final int from;
+		final int to;
+		final int destination;
+		if (edge > first) {
+			System.arraycopy(genome, first + length, genome, first, edge - first - length + 1);
+			destination = edge - length + 1;
+			from = first;
+			to = edge;
+		} else {
+			System.arraycopy(genome, edge + 1, genome, edge + 1 + length, first - edge - 1);
+			destination = edge + 1;
+			from = edge + 1;
+			to = first + length - 1;
+		}
+		System.arraycopy(segment, 0, genome, destination, length);
+
+		for (int i = from; i <= to; i++) {
+			scratch.position[genome[i]] = i;
+		}
+	}
+
+	/**
+	 * Per-thread buffers: positions of places, don't-look bits and the queue of
+	 * places to look at
+	 */
+	private static final class Scratch {
+		private int[] position = new int[0];
+
+		private boolean[] dontLook = new boolean[0];
+
+		private int[] queue = new int[0];
+
+		private final int[] segment = new int[MAX_SEGMENT_LENGTH];
+
+		private int head;
+
+		private int queued;
+
+		private Scratch reset(final int[] genome) {
+			final int n = genome.length;
+			if (this.queue.length != n) {
+				this.position = new int[n];
+				this.dontLook = new boolean[n];
+				this.queue = new int[n];
+			}
+			for (int i = 0; i < n; i++) {
+				this.position[genome[i]] = i;
+				this.dontLook[genome[i]] = false;
+				this.queue[i] = genome[i];
+			}
+			this.head = 0;
+			this.queued = n;
+			return this;
+		}
+
+		private int poll() {
+			final int place = this.queue[this.head];
+			this.head = (this.head + 1) % this.queue.length;
+			this.queued--;
+			this.dontLook[place] = true;
+			return place;
+		}
+
+		private void push(final int a, final int b, final int c, final int d) {
+			this.push(a);
+			this.push(b);
+			this.push(c);
+			this.push(d);
+		}
+
+		private void push(final int place) {
+			if (this.dontLook[place]) {
+				this.dontLook[place] = false;
+				this.queue[(this.head + this.queued) % this.queue.length] = place;
+				this.queued++;
+			}
+		}
+	}
+}
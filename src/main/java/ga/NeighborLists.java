@@ -0,0 +1,294 @@
+package ga;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Candidate lists - the k nearest places of every place, sorted by distance
+ *
+ * @author Jagoda Wieczorek
+ */
+public final class NeighborLists {
+	private final int size;
+
+	private final int neighborCount;
+
+	private final int[] neighbors;
+
+	private NeighborLists(final int size, final int neighborCount, final int[] neighbors) {
+		this.size = size;
+		this.neighborCount = neighborCount;
+		this.neighbors = neighbors;
+	}
+
+	/**
+	 * Build candidate lists, rows are computed in parallel on the common pool,
+	 * see {@link #of(DistanceProvider, int, ForkJoinPool)}
+	 *
+	 * @param distanceProvider
+	 *                             distances between places
+	 * @param neighborCount
+	 *                             number of nearest places kept for every place
+	 * @return candidate lists
+	 */
+	public static NeighborLists of(final DistanceProvider distanceProvider, final int neighborCount) {
+		return of(distanceProvider, neighborCount, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Build candidate lists, rows are computed in parallel on the pool. Lists of a
+	 * {@link TspInstance}, also wrapped by {@link CachedDistanceProvider} or
+	 * {@link FitnessCache}, are found by a k-d tree of the node coordinates
+	 * and the distances are computed by the instance, so big instances do not
+	 * compute all pairs and do not churn the caches. Lists of other providers
+	 * scan all pairs.
+	 *
+	 * @param distanceProvider
+	 *                             distances between places
+	 * @param neighborCount
+	 *                             number of nearest places kept for every place
+	 * @param pool
+	 *                             pool computing the rows, null to compute them
+	 *                             on the calling thread
+	 * @return candidate lists
+	 */
+	public static NeighborLists of(final DistanceProvider distanceProvider, final int neighborCount, final ForkJoinPool pool) {
+		if (neighborCount <= 0) {
+			throw new IllegalArgumentException("Number of neighbors cannot be less or equal 0");
+		}
+
+		final int size = distanceProvider.size();
+		final int count = Math.min(neighborCount, size - 1);
+		final int[] neighbors = new int[size * count];
+
+		final TspInstance instance = instanceOf(distanceProvider);
+		if (instance != null) {
+			final KdTree tree = new KdTree(instance.points());
+			Parallel.forEach(pool, size, place -> tree.nearest(instance, place, count, neighbors));
+		} else {
+			Parallel.forEach(pool, size, place -> nearest(distanceProvider, place, count, neighbors));
+		}
+
+		return new NeighborLists(size, count, neighbors);
+	}
+
+	/**
+	 * @return instance computing the distances, unwrapped from the caches,
+	 *         null when the distances are not given by coordinates
+	 */
+	private static TspInstance instanceOf(final DistanceProvider distanceProvider) {
+		DistanceProvider source = distanceProvider;
+		while (source instanceof CachedDistanceProvider || source instanceof FitnessCache) {
+			source = source instanceof CachedDistanceProvider ? ((CachedDistanceProvider) source).getSource() : ((FitnessCache) source).getSource();
+		}
+
+		return source instanceof TspInstance ? (TspInstance) source : null;
+	}
+
+	/**
+	 * Insert every other place into the sorted row of the k nearest ones
+	 */
+	private static void nearest(final DistanceProvider distanceProvider, final int place, final int count, final int[] neighbors) {
+		final int offset = place * count;
+		final int[] distances = new int[count];
+		int found = 0;
+
+		for (int other = 0; other < distanceProvider.size(); other++) {
+			if (other == place) {
+				continue;
+			}
+
+			final int distance = distanceProvider.getDistance(place, other);
+			if (found == count && distance >= distances[count - 1]) {
+				continue;
+			}
+
+			int position = found < count ? found++ : count - 1;
+			while (position > 0 && distances[position - 1] > distance) {
+				neighbors[offset + position] = neighbors[offset + position - 1];
+				distances[position] = distances[position - 1];
+				position--;
+			}
+			neighbors[offset + position] = other;
+			distances[position] = distance;
+		}
+	}
+
+	/**
+	 * @param place
+	 *                  place index
+	 * @param rank
+	 *                  0-based rank of the neighbor, the nearest first
+	 * @return index of the neighbor
+	 */
+	public int getNeighbor(final int place, final int rank) {
+		return this.neighbors[place * this.neighborCount + rank];
+	}
+
+	/**
+	 * @return number of neighbors of every place
+	 */
+	public int getNeighborCount() {
+		return this.neighborCount;
+	}
+
+	/**
+	 * @return number of places
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Implicit k-d tree of the points of places - the place in the middle of a
+	 * range of {@link #order} splits the range by the coordinate of its depth
+	 */
+	private static final class KdTree {
+		private static final int DIMENSIONS = 3;
+
+		private final double[] points;
+
+		private final int[] order;
+
+		private KdTree(final double[] points) {
+			this.points = points;
+			this.order = IntStream.range(0, points.length / DIMENSIONS).toArray();
+			build(0, this.order.length, 0);
+		}
+
+		private void build(final int from, final int to, final int depth) {
+			if (to - from <= 1) {
+				return;
+			}
+
+			final int middle = (from + to) >>> 1;
+			select(from, to - 1, middle, depth % DIMENSIONS);
+			build(from, middle, depth + 1);
+			build(middle + 1, to, depth + 1);
+		}
+
+		/**
+		 * Quickselect - put the place of the given rank by the axis into its
+		 * position, smaller ones before and bigger ones after it
+		 */
+		private void select(final int from, final int to, final int rank, final int axis) {
+			int left = from;
+			int right = to;
+			while (right > left) {
+				final double pivot = coordinate(this.order[(left + right) >>> 1], axis);
+				int i = left;
+				int j = right;
+				while (i <= j) {
+					while (coordinate(this.order[i], axis) < pivot) {
+						i++;
+					}
+					while (coordinate(this.order[j], axis) > pivot) {
+						j--;
+					}
+					if (i <= j) {
+						final int place = this.order[i];
+						this.order[i++] = this.order[j];
+						this.order[j--] = place;
+					}
+				}
+
+				if (rank <= j) {
+					right = j;
+				} else if (rank >= i) {
+					left = i;
+				} else {
+					return;
+				}
+			}
+		}
+
+		private double coordinate(final int place, final int axis) {
+			return this.points[place * DIMENSIONS + axis];
+		}
+
+		/**
+		 * Find the k nearest points and sort them by the distances of the
+		 * instance, nearer places with lower indices first as the scan does
+		 */
+		private void nearest(final TspInstance instance, final int place, final int count, final int[] neighbors) {
+			final int[] found = new int[count];
+			final double[] squares = new double[count];
+			final int[] size = new int[1];
+			search(0, this.order.length, 0, place, count, found, squares, size);
+
+			final int offset = place * count;
+			final int[] distances = new int[count];
+			for (int i = 0; i < count; i++) {
+				final int distance = instance.getDistance(place, found[i]);
+				int position = i;
+				while (position > 0 && (distances[position - 1] > distance
+						|| distances[position - 1] == distance && neighbors[offset + position - 1] > found[i])) {
+					neighbors[offset + position] = neighbors[offset + position - 1];
+					distances[position] = distances[position - 1];
+					position--;
+				}
+				neighbors[offset + position] = found[i];
+				distances[position] = distance;
+			}
+		}
+
+		private void search(final int from, final int to, final int depth, final int place, final int count, final int[] found,
+				final double[] squares, final int[] size) {
+			if (from >= to) {
+				return;
+			}
+
+			final int middle = (from + to) >>> 1;
+			final int node = this.order[middle];
+			if (node != place) {
+				offer(node, squaredDistance(place, node), count, found, squares, size);
+			}
+
+			final int axis = depth % DIMENSIONS;
+			final double difference = coordinate(place, axis) - coordinate(node, axis);
+			if (difference < 0) {
+				search(from, middle, depth + 1, place, count, found, squares, size);
+			} else {
+				search(middle + 1, to, depth + 1, place, count, found, squares, size);
+			}
+			// the other side is nearer than the splitting plane
+			if (size[0] < count || difference * difference <= squares[count - 1]) {
+				if (difference < 0) {
+					search(middle + 1, to, depth + 1, place, count, found, squares, size);
+				} else {
+					search(from, middle, depth + 1, place, count, found, squares, size);
+				}
+			}
+		}
+
+		/**
+		 * Insert the place into the sorted candidates unless k nearer ones are
+		 * already found
+		 */
+		private static void offer(final int place, final double square, final int count, final int[] found, final double[] squares,
+				final int[] size) {
+			if (size[0] == count && square >= squares[count - 1]) {
+				return;
+			}
+
+			int position = size[0] < count ? size[0]++ : count - 1;
+			while (position > 0 && squares[position - 1] > square) {
+				found[position] = found[position - 1];
+				squares[position] = squares[position - 1];
+				position--;
+			}
+			found[position] = place;
+			squares[position] = square;
+		}
+
+		private double squaredDistance(final int from, final int to) {
+			double square = 0.0;
+			for (int axis = 0; axis < DIMENSIONS; axis++) {
+				final double difference = coordinate(from, axis) - coordinate(to, axis);
+				square += difference * difference;
+			}
+
+			return square;
+		}
+	}
+}
@@ -0,0 +1,37 @@
+package ga;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Data parallel loops run on the pool given by the solver, so they do not
+ * compete with other jobs on the common pool
+ *
+ * @author Jagoda Wieczorek
+ */
+final class Parallel {
+	private Parallel() {
+	}
+
+	/**
+	 * @param pool
+	 *                   pool running the loop, null to run it on the calling
+	 *                   thread
+	 * @param size
+	 *                   number of iterations
+	 * @param action
+	 *                   action of one iteration, iterations run in any order
+	 */
+	static void forEach(final ForkJoinPool pool, final int size, final IntConsumer action) {
+		if (pool == null) {
+			for (int i = 0; i < size; i++) {
+				action.accept(i);
+			}
+			return;
+		}
+
+		// a parallel stream started by a task forks on the pool of the task
+		pool.submit(() -> IntStream.range(0, size).parallel().forEach(action)).join();
+	}
+}
@@ -1,9 +1,6 @@
 package ga;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * PMX - Partially Mapped Crossover
@@ -11,29 +8,72 @@ import java.util.Random;
  * @author Jagoda Wieczorek
  */
 public class PartiallyMappedCrossover implements Crossover {
+	/**
+	 * Inverse of the child genome (gen value -> position), reused by every
+	 * crossover performed on the thread
+	 */
+	private static final ThreadLocal<int[]> POSITIONS = ThreadLocal.withInitial(() -> new int[0]);
 
 	@Override
 	public Individual perform(final Individual parent1, final Individual parent2) {
-		final Random random = new Random();
-		final int breakpoint = random.nextInt(parent1.getGenome().size() - 1);
-
-		return perform(parent1, parent2, breakpoint);
+		return perform(parent1, parent2, new SplittableRandom());
 	}
 
 	@Override
 	public Individual perform(final Individual parent1, final Individual parent2, final int breakpoint) {
-		final List<Integer> genome1 = new ArrayList<>(parent1.getGenome());
-		final List<Integer> genome2 = new ArrayList<>(parent2.getGenome());
+		return new Individual(perform(parent1.getGenes(), parent2.getGenes(), breakpoint));
+	}
 
-		if (breakpoint > (genome1.size() - 1)) {
-			throw new IllegalArgumentException(String.format("Crossover breakpoint cannot be bigger than %s", genome1.size() - 1));
+	@Override
+	public void perform(final int[] genome1, final int[] genome2, final int breakpoint, final int[] child) {
+		if (child.length != genome1.length) {
+			throw new IllegalArgumentException(String.format("Child genome has to contain %s genes", genome1.length));
 		}
 
+		perform(genome1, 0, genome2, 0, genome1.length, breakpoint, child, 0);
+	}
+
+	@Override
+	public void perform(final int[] genomes1, final int offset1, final int[] genomes2, final int offset2, final int length, final int breakpoint,
+			final int[] children, final int childOffset) {
+		if (breakpoint > (length - 1)) {
+			throw new IllegalArgumentException(String.format("Crossover breakpoint cannot be bigger than %s", length - 1));
+		}
+
+		System.arraycopy(genomes1, offset1, children, childOffset, length);
+		final int[] positions = positions(children, childOffset, length);
+
 		for (int i = 0; i < breakpoint; i++) {
-			final int valueToSwap = genome2.get(i);
-			Collections.swap(genome1, genome1.indexOf(valueToSwap), i);
+			final int valueToSwap = genomes2[offset2 + i];
+			final int index = positions[valueToSwap];
+			final int replacedValue = children[childOffset + i];
+
+			children[childOffset + index] = replacedValue;
+			positions[replacedValue] = index;
+			children[childOffset + i] = valueToSwap;
+			positions[valueToSwap] = i;
+		}
+	}
+
+	/**
+	 * @return position of every gen of the genome, indexed by gen value
+	 */
+	private static int[] positions(final int[] genomes, final int offset, final int length) {
+		int maxGen = 0;
+		for (int i = offset; i < offset + length; i++) {
+			maxGen = Math.max(maxGen, genomes[i]);
+		}
+
+		int[] positions = POSITIONS.get();
+		if (positions.length <= maxGen) {
+			positions = new int[maxGen + 1];
+			POSITIONS.set(positions);
+		}
+
+		for (int i = 0; i < length; i++) {
+			positions[genomes[offset + i]] = i;
 		}
 
-		return new Individual(new ArrayList<>(genome1));
+		return positions;
 	}
 }
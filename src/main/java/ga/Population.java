@@ -1,6 +1,8 @@
 package ga;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -15,9 +17,26 @@ import tsp.TSP;
 public class Population {
 	private static final Logger LOGGER = Logger.getLogger(TSP.class.getName());
 
+	/**
+	 * Deadline is checked once per this many bred individuals (mask + 1)
+	 */
+	private static final int DEADLINE_CHECK_MASK = 31;
+
 	private ArrayList<Individual> individuals;
 
-	private List<Individual> bestIndividuals;
+	private ArrayList<Individual> bestIndividuals;
+
+	private int[] bestIndividualsFitness;
+
+	/**
+	 * Fitness of the individuals in population order
+	 */
+	private int[] fitness;
+
+	/**
+	 * Scratch copy of the fitness reordered by quickselect
+	 */
+	private int[] selectionBuffer;
 
 	private Individual bestIndividual;
 
@@ -25,33 +44,496 @@ public class Population {
 
 	private int avgFitness;
 
+	private boolean complete = true;
+
+	/**
+	 * Full evaluations of offspring per breeding slice
+	 */
+	private int[] sliceEvaluations;
+
+	/**
+	 * Slices bred to the end, reused by every generation
+	 */
+	private boolean[] completedSlices;
+
+	/**
+	 * Tasks of the slices bred on the pool, reused by every generation
+	 */
+	private ForkJoinTask<?>[] sliceTasks;
+
+	/**
+	 * Nanoseconds spent in the breeding phases per slice, null when breeding is
+	 * not timed
+	 */
+	private long[][] phaseNanos;
+
+	private long sortingNanos;
+
 	public Population() {
 	}
 
+	/**
+	 * Breed a new generation from the previous one
+	 *
+	 * @param population
+	 *                                 previous generation
+	 * @param places
+	 *                                 map of places
+	 * @param mutationProbability
+	 *                                 probability that mutation occurs
+	 * @param crossoverProbability
+	 *                                 probability that crossover occurs
+	 * @param selector
+	 *                                 selector
+	 * @param crossover
+	 *                                 crossover
+	 * @deprecated use the constructor with {@link DistanceMatrix}, genomes of
+	 *             both generations hold place ids and are remapped to indices
+	 *             for breeding
+	 */
+	@Deprecated
 	public Population(final Population population, final TreeMap<Integer, Place> places, final float mutationProbability, final float crossoverProbability,
 			final Selector selector, final Crossover crossover) {
-		this.individuals = new ArrayList<>();
-		final Random random = new Random();
-		final int populationSize = population.getIndividuals().size();
+		this(toIndices(population, DistanceMatrix.cachedOf(places)), DistanceMatrix.cachedOf(places), mutationProbability, crossoverProbability,
+				selector, crossover);
+		toIds(DistanceMatrix.cachedOf(places));
+	}
+
+	/**
+	 * Breed a new generation from the previous one
+	 *
+	 * @param population
+	 *                                 previous generation
+	 * @param distanceProvider
+	 *                                 distances between places
+	 * @param mutationProbability
+	 *                                 probability that mutation occurs
+	 * @param crossoverProbability
+	 *                                 probability that crossover occurs
+	 * @param selector
+	 *                                 selector
+	 * @param crossover
+	 *                                 crossover
+	 */
+	public Population(final Population population, final DistanceProvider distanceProvider, final float mutationProbability,
+			final float crossoverProbability, final Selector selector, final Crossover crossover) {
+		this(population, distanceProvider, mutationProbability, crossoverProbability, selector, crossover, new SwapMutation());
+	}
+
+	/**
+	 * Breed a new generation from the previous one
+	 *
+	 * @param population
+	 *                                 previous generation
+	 * @param distanceProvider
+	 *                                 distances between places
+	 * @param mutationProbability
+	 *                                 probability that mutation occurs
+	 * @param crossoverProbability
+	 *                                 probability that crossover occurs
+	 * @param selector
+	 *                                 selector
+	 * @param crossover
+	 *                                 crossover
+	 * @param mutation
+	 *                                 mutation
+	 */
+	public Population(final Population population, final DistanceProvider distanceProvider, final float mutationProbability,
+			final float crossoverProbability, final Selector selector, final Crossover crossover, final Mutation mutation) {
+		this(population, distanceProvider, mutationProbability, crossoverProbability, selector, crossover, mutation, null, 1,
+				new SplittableRandom().nextLong());
+	}
+
+	/**
+	 * Breed a new generation from the previous one. The new generation is split
+	 * into {@code workers} disjoint slices, each bred with its own random
+	 * generator derived from the seed, so the result depends only on the seed
+	 * and the number of workers, not on the pool.
+	 *
+	 * @param population
+	 *                                 previous generation
+	 * @param distanceProvider
+	 *                                 distances between places
+	 * @param mutationProbability
+	 *                                 probability that mutation occurs
+	 * @param crossoverProbability
+	 *                                 probability that crossover occurs
+	 * @param selector
+	 *                                 selector
+	 * @param crossover
+	 *                                 crossover
+	 * @param mutation
+	 *                                 mutation
+	 * @param pool
+	 *                                 pool breeding the slices, null to breed
+	 *                                 them one by one on the calling thread
+	 * @param workers
+	 *                                 number of slices
+	 * @param seed
+	 *                                 seed of the generation
+	 */
+	public Population(final Population population, final DistanceProvider distanceProvider, final float mutationProbability,
+			final float crossoverProbability, final Selector selector, final Crossover crossover, final Mutation mutation, final ForkJoinPool pool,
+			final int workers, final long seed) {
+		this(population, distanceProvider, mutationProbability, crossoverProbability, selector, crossover, mutation, pool, workers, seed, Deadline.none());
+	}
+
+	/**
+	 * Breed a new generation from the previous one, see
+	 * {@link #Population(Population, DistanceProvider, float, float, Selector, Crossover, Mutation, ForkJoinPool, int, long)}.
+	 * Breeding stops early when the deadline is reached, such a population is
+	 * not complete and should be discarded.
+	 *
+	 * @param population
+	 *                                 previous generation
+	 * @param distanceProvider
+	 *                                 distances between places
+	 * @param mutationProbability
+	 *                                 probability that mutation occurs
+	 * @param crossoverProbability
+	 *                                 probability that crossover occurs
+	 * @param selector
+	 *                                 selector
+	 * @param crossover
+	 *                                 crossover
+	 * @param mutation
+	 *                                 mutation
+	 * @param pool
+	 *                                 pool breeding the slices, null to breed
+	 *                                 them one by one on the calling thread
+	 * @param workers
+	 *                                 number of slices
+	 * @param seed
+	 *                                 seed of the generation
+	 * @param deadline
+	 *                                 deadline of the run
+	 */
+	public Population(final Population population, final DistanceProvider distanceProvider, final float mutationProbability,
+			final float crossoverProbability, final Selector selector, final Crossover crossover, final Mutation mutation, final ForkJoinPool pool,
+			final int workers, final long seed, final Deadline deadline) {
+		this(population.getIndividuals().size(), population.getIndividuals().get(0).size());
+		breed(population, distanceProvider, mutationProbability, crossoverProbability, selector, crossover, mutation, pool, workers, seed, deadline);
+	}
+
+	/**
+	 * Buffer for a generation - individuals with preallocated genomes, filled
+	 * by {@link #breed}
+	 *
+	 * @param size
+	 *                         population size
+	 * @param genomeLength
+	 *                         number of genes of every individual
+	 */
+	Population(final int size, final int genomeLength) {
+		if (size <= 0) {
+			throw new IllegalArgumentException("Population size cannot be less or equal 0");
+		}
+
+		this.individuals = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			this.individuals.add(new Individual(new int[genomeLength], 0));
+		}
+		this.complete = false;
+	}
+
+	/**
+	 * Breed a new generation from the previous one into this population,
+	 * overwriting genomes of its individuals. Two populations swapped every
+	 * generation (double buffering) breed without allocating new individuals
+	 * or genomes, the bookkeeping of the slices is reused too. Every
+	 * generation still allocates a random generator per slice, as
+	 * SplittableRandom cannot be reseeded, and a pool task per slice. Results
+	 * are the same as of the breeding constructor.
+	 *
+	 * @param population
+	 *                                 previous generation, of the same size and
+	 *                                 not sharing individuals with this one
+	 * @param distanceProvider
+	 *                                 distances between places
+	 * @param mutationProbability
+	 *                                 probability that mutation occurs
+	 * @param crossoverProbability
+	 *                                 probability that crossover occurs
+	 * @param selector
+	 *                                 selector
+	 * @param crossover
+	 *                                 crossover
+	 * @param mutation
+	 *                                 mutation
+	 * @param pool
+	 *                                 pool breeding the slices, null to breed
+	 *                                 them one by one on the calling thread
+	 * @param workers
+	 *                                 number of slices
+	 * @param seed
+	 *                                 seed of the generation
+	 * @param deadline
+	 *                                 deadline of the run
+	 */
+	public void breed(final Population population, final DistanceProvider distanceProvider, final float mutationProbability,
+			final float crossoverProbability, final Selector selector, final Crossover crossover, final Mutation mutation, final ForkJoinPool pool,
+			final int workers, final long seed, final Deadline deadline) {
+		breed(population, distanceProvider, mutationProbability, crossoverProbability, selector, crossover, mutation, null, pool, workers, seed,
+				deadline);
+	}
+
+	/**
+	 * Breed a new generation into this population, see
+	 * {@link #breed(Population, DistanceProvider, float, float, Selector, Crossover, Mutation, ForkJoinPool, int, long, Deadline)}.
+	 * Offspring changed by crossover or mutation are improved by the local
+	 * search (memetic algorithm), copied parents are left as they are.
+	 *
+	 * @param population
+	 *                                 previous generation, of the same size and
+	 *                                 not sharing individuals with this one
+	 * @param distanceProvider
+	 *                                 distances between places
+	 * @param mutationProbability
+	 *                                 probability that mutation occurs
+	 * @param crossoverProbability
+	 *                                 probability that crossover occurs
+	 * @param selector
+	 *                                 selector
+	 * @param crossover
+	 *                                 crossover
+	 * @param mutation
+	 *                                 mutation
+	 * @param localSearch
+	 *                                 local search, null to skip improvement
+	 * @param pool
+	 *                                 pool breeding the slices, null to breed
+	 *                                 them one by one on the calling thread
+	 * @param workers
+	 *                                 number of slices
+	 * @param seed
+	 *                                 seed of the generation
+	 * @param deadline
+	 *                                 deadline of the run
+	 */
+	public void breed(final Population population, final DistanceProvider distanceProvider, final float mutationProbability,
+			final float crossoverProbability, final Selector selector, final Crossover crossover, final Mutation mutation,
+			final LocalSearch localSearch, final ForkJoinPool pool, final int workers, final long seed, final Deadline deadline) {
+		if (workers <= 0) {
+			throw new IllegalArgumentException("Number of workers cannot be less or equal 0");
+		}
 
-		while (this.individuals.size() < populationSize) {
-			Individual individual = selector.select(population.getBestIndividuals());
+		if (population.getIndividuals().size() != this.individuals.size()) {
+			throw new IllegalArgumentException(String.format("Population of %s individuals cannot be bred from population of %s individuals",
+					this.individuals.size(), population.getIndividuals().size()));
+		}
 
-			if (crossoverProbability > random.nextFloat()) {
-				final Individual parent2 = selector.select(population.getBestIndividuals());
-				individual = crossover.perform(individual, parent2);
+		if (this.sliceEvaluations == null || this.sliceEvaluations.length != workers) {
+			this.sliceEvaluations = new int[workers];
+			this.completedSlices = new boolean[workers];
+			this.sliceTasks = new ForkJoinTask<?>[workers];
+			if (this.phaseNanos != null) {
+				this.phaseNanos = new long[workers][GenerationStatistics.Phase.values().length];
+			}
+		}
+		Arrays.fill(this.sliceEvaluations, 0);
+		if (this.phaseNanos != null) {
+			for (final long[] nanos: this.phaseNanos) {
+				Arrays.fill(nanos, 0L);
 			}
+		}
+
+		final boolean[] completedSlices = this.completedSlices;
 
-			if (mutationProbability > random.nextFloat()) {
-				individual.mutate();
+		if (pool == null) {
+			for (int worker = 0; worker < workers; worker++) {
+				completedSlices[worker] = breed(population, worker, workers, seed, distanceProvider, mutationProbability, crossoverProbability, selector,
+						crossover, mutation, localSearch, deadline);
+			}
+		} else {
+			for (int worker = 0; worker < workers; worker++) {
+				final int slice = worker;
+				this.sliceTasks[worker] = pool.submit(() -> {
+					completedSlices[slice] = breed(population, slice, workers, seed, distanceProvider, mutationProbability, crossoverProbability,
+							selector, crossover, mutation, localSearch, deadline);
+				});
 			}
 
-			individual.setFitness(places);
+			for (int worker = 0; worker < workers; worker++) {
+				this.sliceTasks[worker].join();
+				// do not keep the previous generation reachable
+				this.sliceTasks[worker] = null;
+			}
+		}
 
-			this.individuals.add(individual);
+		this.complete = true;
+		for (final boolean completedSlice: completedSlices) {
+			this.complete &= completedSlice;
 		}
 
-		evaluate();
+		if (this.complete) {
+			final long start = this.phaseNanos != null ? System.nanoTime() : 0L;
+			evaluate();
+			this.sortingNanos = this.phaseNanos != null ? System.nanoTime() - start : 0L;
+		}
+	}
+
+	/**
+	 * Breed one slice of the new generation. Slices share only read-only data
+	 * and write to disjoint individuals of this population.
+	 *
+	 * @return false if the deadline was reached before the slice was filled
+	 */
+	private boolean breed(final Population population, final int worker, final int workers, final long seed, final DistanceProvider distanceProvider,
+			final float mutationProbability, final float crossoverProbability, final Selector selector, final Crossover crossover,
+			final Mutation mutation, final LocalSearch localSearch, final Deadline deadline) {
+		final int from = (int) ((long) worker * this.individuals.size() / workers);
+		final int to = (int) ((long) (worker + 1) * this.individuals.size() / workers);
+		// not shared and not atomic, one small allocation per slice
+		final SplittableRandom random = new SplittableRandom(Seeds.derive(seed, worker));
+		// read only, selection works on the fitness array
+		final List<Individual> bestIndividuals = population.getBestIndividuals();
+		final int[] bestIndividualsFitness = population.getBestIndividualsFitness();
+		// timing costs a few System.nanoTime calls per individual, done only
+		// when somebody listens
+		final long[] nanos = this.phaseNanos != null ? this.phaseNanos[worker] : null;
+		long time = nanos != null ? System.nanoTime() : 0L;
+		int evaluations = 0;
+
+		for (int i = from; i < to; i++) {
+			if (((i - from) & DEADLINE_CHECK_MASK) == 0 && deadline.isReached()) {
+				return false;
+			}
+
+			final Individual individual = this.individuals.get(i);
+			final int[] genome = individual.getGenes();
+			final Individual parent1 = bestIndividuals.get(selector.select(bestIndividualsFitness, random));
+
+			boolean changed = false;
+			if (crossoverProbability > random.nextDouble()) {
+				changed = true;
+				final Individual parent2 = bestIndividuals.get(selector.select(bestIndividualsFitness, random));
+				time = lap(nanos, GenerationStatistics.Phase.SELECTION, time);
+				crossover.perform(parent1.getGenes(), parent2.getGenes(), random, genome);
+				individual.markDirty();
+			} else {
+				time = lap(nanos, GenerationStatistics.Phase.SELECTION, time);
+				System.arraycopy(parent1.getGenes(), 0, genome, 0, genome.length);
+				individual.setFitness(parent1.getFitness());
+			}
+			time = lap(nanos, GenerationStatistics.Phase.CROSSOVER, time);
+
+			if (mutationProbability > random.nextDouble()) {
+				changed = true;
+				individual.mutate(mutation, distanceProvider, random);
+			}
+			time = lap(nanos, GenerationStatistics.Phase.MUTATION, time);
+
+			if (localSearch != null && changed) {
+				individual.improve(localSearch, distanceProvider);
+			}
+			time = lap(nanos, GenerationStatistics.Phase.LOCAL_SEARCH, time);
+
+			// the only full evaluation - after crossover, the other operators
+			// report cost deltas
+			if (individual.isDirty()) {
+				evaluations++;
+				individual.evaluate(distanceProvider);
+			}
+			time = lap(nanos, GenerationStatistics.Phase.EVALUATION, time);
+		}
+
+		this.sliceEvaluations[worker] = evaluations;
+
+		return true;
+	}
+
+	/**
+	 * Add the time since {@code start} to the phase
+	 *
+	 * @return current time, the start of the next phase
+	 */
+	private static long lap(final long[] nanos, final GenerationStatistics.Phase phase, final long start) {
+		if (nanos == null) {
+			return start;
+		}
+
+		final long now = System.nanoTime();
+		nanos[phase.ordinal()] += now - start;
+
+		return now;
+	}
+
+	/**
+	 * Measure breeding phases of the next generations bred into this
+	 * population
+	 *
+	 * @param timed
+	 *                  true to measure phases
+	 */
+	void setTimed(final boolean timed) {
+		if (!timed) {
+			this.phaseNanos = null;
+		} else if (this.phaseNanos == null) {
+			this.phaseNanos = new long[this.sliceEvaluations != null ? this.sliceEvaluations.length : 1][GenerationStatistics.Phase.values().length];
+		}
+	}
+
+	/**
+	 * @param phase
+	 *                  phase of breeding
+	 * @return nanoseconds spent in the phase while breeding this population,
+	 *         summed over slices, 0 when breeding was not timed
+	 */
+	long getPhaseNanos(final GenerationStatistics.Phase phase) {
+		if (phase == GenerationStatistics.Phase.SORTING) {
+			return this.sortingNanos;
+		}
+		if (this.phaseNanos == null) {
+			return 0L;
+		}
+
+		long nanos = 0L;
+		for (final long[] sliceNanos: this.phaseNanos) {
+			nanos += sliceNanos[phase.ordinal()];
+		}
+
+		return nanos;
+	}
+
+	/**
+	 * @return number of full evaluations of offspring while breeding this
+	 *         population
+	 */
+	int getEvaluations() {
+		if (this.sliceEvaluations == null) {
+			return 0;
+		}
+
+		int evaluations = 0;
+		for (final int sliceEvaluation: this.sliceEvaluations) {
+			evaluations += sliceEvaluation;
+		}
+
+		return evaluations;
+	}
+
+	/**
+	 * Diversity of the population - share of distinct tours, rotations and
+	 * reversals of a tour are the same tour
+	 *
+	 * @return number of distinct tours divided by the population size, from
+	 *         1 / size (converged) to 1 (all tours differ)
+	 */
+	public float getDiversity() {
+		final long[] hashes = new long[this.individuals.size()];
+		for (int i = 0; i < hashes.length; i++) {
+			hashes[i] = FitnessCache.hash(this.individuals.get(i).getGenes());
+		}
+		Arrays.sort(hashes);
+
+		int distinct = hashes.length > 0 ? 1 : 0;
+		for (int i = 1; i < hashes.length; i++) {
+			if (hashes[i] != hashes[i - 1]) {
+				distinct++;
+			}
+		}
+
+		return hashes.length > 0 ? (float) distinct / hashes.length : 0f;
 	}
 
 	/**
@@ -80,15 +562,118 @@ public class Population {
 	 *                                   InitialGenomeAlgorithm implementation
 	 * @throws IllegalArgumentException
 	 *                                      exception
+	 * @deprecated use the constructor with {@link DistanceMatrix}, genomes
+	 *             hold place ids
 	 */
+	@Deprecated
 	public Population(final int size, final TreeMap<Integer, Place> places, final InitialGenomeAlgorithm initialGenomeAlgorithm)
 			throws IllegalArgumentException {
 		if (size <= 0) {
 			throw new IllegalArgumentException("Population size cannot be less or equal 0");
 		}
 
+		final DistanceMatrix distanceMatrix = DistanceMatrix.cachedOf(places);
+		this.individuals = new ArrayList<>();
+		initialize(size, distanceMatrix, initialGenomeAlgorithm, new SplittableRandom().nextLong(), ForkJoinPool.commonPool());
+		toIds(distanceMatrix);
+		evaluate();
+	}
+
+	/**
+	 * @return copy of the population with genomes holding indices of the matrix
+	 *         instead of place ids
+	 */
+	private static Population toIndices(final Population population, final DistanceMatrix distanceMatrix) {
+		final Population indices = new Population(population.individuals.size(), distanceMatrix.size());
+		for (int i = 0; i < population.individuals.size(); i++) {
+			final Individual individual = population.individuals.get(i);
+			final int[] genome = indices.individuals.get(i).getGenes();
+			for (int j = 0; j < genome.length; j++) {
+				genome[j] = distanceMatrix.getIndex(individual.getGenes()[j]);
+			}
+			indices.individuals.get(i).setFitness(individual.getFitness());
+		}
+		indices.restore();
+
+		return indices;
+	}
+
+	/**
+	 * Remap genomes holding indices of the matrix to place ids in place, fitness
+	 * does not change
+	 */
+	private void toIds(final DistanceMatrix distanceMatrix) {
+		for (final Individual individual: this.individuals) {
+			final int[] genome = individual.getGenes();
+			for (int i = 0; i < genome.length; i++) {
+				genome[i] = distanceMatrix.getId(genome[i]);
+			}
+		}
+	}
+
+	/**
+	 *
+	 * @param size
+	 *                                   population size
+	 * @param distanceProvider
+	 *                                   distances between places
+	 * @param initialGenomeAlgorithm
+	 *                                   InitialGenomeAlgorithm implementation
+	 * @throws IllegalArgumentException
+	 *                                      exception
+	 */
+	public Population(final int size, final DistanceProvider distanceProvider, final InitialGenomeAlgorithm initialGenomeAlgorithm)
+			throws IllegalArgumentException {
+		this(size, distanceProvider, initialGenomeAlgorithm, new SplittableRandom().nextLong());
+	}
+
+	/**
+	 * Constructor for reproducible population created by provided
+	 * InitialGenomeAlgorithm, every individual gets its own random stream so
+	 * the population does not depend on the number of threads
+	 *
+	 * @param size
+	 *                                   population size
+	 * @param distanceProvider
+	 *                                   distances between places
+	 * @param initialGenomeAlgorithm
+	 *                                   InitialGenomeAlgorithm implementation
+	 * @param seed
+	 *                                   seed of the population
+	 * @throws IllegalArgumentException
+	 *                                      exception
+	 */
+	public Population(final int size, final DistanceProvider distanceProvider, final InitialGenomeAlgorithm initialGenomeAlgorithm, final long seed)
+			throws IllegalArgumentException {
+		this(size, distanceProvider, initialGenomeAlgorithm, seed, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Constructor for reproducible population created by provided
+	 * InitialGenomeAlgorithm on the pool
+	 *
+	 * @param size
+	 *                                   population size
+	 * @param distanceProvider
+	 *                                   distances between places
+	 * @param initialGenomeAlgorithm
+	 *                                   InitialGenomeAlgorithm implementation
+	 * @param seed
+	 *                                   seed of the population
+	 * @param pool
+	 *                                   pool creating the individuals, null to
+	 *                                   create them on the calling thread
+	 * @throws IllegalArgumentException
+	 *                                      exception
+	 */
+	Population(final int size, final DistanceProvider distanceProvider, final InitialGenomeAlgorithm initialGenomeAlgorithm, final long seed,
+			final ForkJoinPool pool) throws IllegalArgumentException {
+		if (size <= 0) {
+			throw new IllegalArgumentException("Population size cannot be less or equal 0");
+		}
+
 		this.individuals = new ArrayList<>();
-		initialize(size, places, initialGenomeAlgorithm);
+		initialize(size, distanceProvider, initialGenomeAlgorithm, seed, pool);
 		evaluate();
 	}
 
@@ -101,6 +686,7 @@ public class Population {
 	 *                   places on the map
 	 * @deprecated use initialize method instead
 	 */
+	@Deprecated
 	private void initializeRandom(final int size, final TreeMap<Integer, Place> places) {
 		for (int i = 0; i < size; i++) {
 			this.individuals.add(new Individual(places));
@@ -110,44 +696,137 @@ public class Population {
 	/**
 	 * @param size
 	 *                                   size of population
-	 * @param places
-	 *                                   places on the map
+	 * @param distanceProvider
+	 *                                   distances between places
 	 * @param initialGenomeAlgorithm
 	 *                                   InitialGenomeAlgorithm implementation
+	 * @param seed
+	 *                                   seed of the population
+	 * @param pool
+	 *                                   pool creating the individuals, null to
+	 *                                   create them on the calling thread
 	 */
-	private void initialize(final int size, final TreeMap<Integer, Place> places, final InitialGenomeAlgorithm initialGenomeAlgorithm) {
+	private void initialize(final int size, final DistanceProvider distanceProvider, final InitialGenomeAlgorithm initialGenomeAlgorithm,
+			final long seed, final ForkJoinPool pool) {
+		final Individual[] individuals = new Individual[size];
+		Parallel.forEach(pool, size,
+				i -> individuals[i] = new Individual(distanceProvider, initialGenomeAlgorithm, new SplittableRandom(Seeds.derive(seed, i))));
+		this.individuals.addAll(Arrays.asList(individuals));
+	}
+
+	/**
+	 * Partial restart - replace the worst individuals with new ones created by
+	 * the initial genome algorithm, the best individual always survives
+	 *
+	 * @param part
+	 *                                   part of the population to replace
+	 * @param distanceProvider
+	 *                                   distances between places
+	 * @param initialGenomeAlgorithm
+	 *                                   algorithm creating the new genomes
+	 * @param seed
+	 *                                   seed of the new genomes
+	 * @param pool
+	 *                                   pool creating the genomes, null to
+	 *                                   create them on the calling thread
+	 */
+	void reseed(final float part, final DistanceProvider distanceProvider, final InitialGenomeAlgorithm initialGenomeAlgorithm, final long seed,
+			final ForkJoinPool pool) {
+		final int size = this.individuals.size();
+		final int count = Math.min((int) (part * size), size - 1);
+		if (count <= 0) {
+			return;
+		}
+
+		// quickselect the fitness threshold of the worst individuals, ties
+		// are replaced in population order
+		if (this.selectionBuffer == null || this.selectionBuffer.length != size) {
+			this.selectionBuffer = new int[size];
+		}
 		for (int i = 0; i < size; i++) {
-			this.individuals.add(new Individual(places, initialGenomeAlgorithm));
+			this.selectionBuffer[i] = this.individuals.get(i).getFitness();
 		}
+		final int threshold = select(this.selectionBuffer, size - count);
+		int equalToThreshold = count;
+		for (final Individual individual: this.individuals) {
+			if (individual.getFitness() > threshold) {
+				equalToThreshold--;
+			}
+		}
+
+		final int[] worst = new int[count];
+		for (int i = 0, selected = 0; i < size && selected < count; i++) {
+			final int individualFitness = this.individuals.get(i).getFitness();
+			if (individualFitness > threshold || (individualFitness == threshold && equalToThreshold-- > 0)) {
+				worst[selected++] = i;
+			}
+		}
+		Parallel.forEach(pool, worst.length, position -> {
+			final int i = worst[position];
+			final Individual individual = this.individuals.get(i);
+			final int[] genome = initialGenomeAlgorithm.initialize(distanceProvider, new SplittableRandom(Seeds.derive(seed, i)));
+			System.arraycopy(genome, 0, individual.getGenes(), 0, genome.length);
+			individual.markDirty();
+			individual.evaluate(distanceProvider);
+		});
+		evaluate();
+	}
+
+	/**
+	 * Mark the population filled with individuals of known fitness (e.g.
+	 * restored from a checkpoint) as complete and evaluate it
+	 */
+	void restore() {
+		this.complete = true;
+		evaluate();
 	}
 
+	/**
+	 * Find the best, the worst and the average fitness in one pass which also
+	 * collects fitness for the selection of the best individuals
+	 */
 	private void evaluate() {
-		int sum = 0;
+		final int size = this.individuals.size();
+		final int[] fitness = this.fitness != null && this.fitness.length == size ? this.fitness : new int[size];
+		this.fitness = fitness;
+		long sum = 0;
 		Individual bestIndividual = null;
 		Individual worstIndividual = null;
 
-		for (final Individual individual: this.individuals) {
-			if (bestIndividual == null || individual.compareTo(bestIndividual) > 0) {
+		for (int i = 0; i < size; i++) {
+			final Individual individual = this.individuals.get(i);
+			final int individualFitness = individual.getFitness();
+
+			if (bestIndividual == null || individualFitness < bestIndividual.getFitness()) {
 				bestIndividual = individual;
 			}
 
-			if (worstIndividual == null || individual.compareTo(worstIndividual) < 0) {
+			if (worstIndividual == null || individualFitness > worstIndividual.getFitness()) {
 				worstIndividual = individual;
 			}
 
-			sum += individual.getFitness();
+			fitness[i] = individualFitness;
+			sum += individualFitness;
 		}
 
 		try {
 			this.bestIndividual = bestIndividual;
 			this.worstIndividual = worstIndividual;
-			this.avgFitness = sum / this.individuals.size();
-			this.setBestIndividuals(0.1f);
-		} catch (final NullPointerException e) {
+			this.avgFitness = (int) (sum / size);
+			this.setBestIndividuals(0.1f, fitness);
+		} catch (final NullPointerException | ArithmeticException e) {
 			LOGGER.log(Level.FINE, e.toString());
 		}
 	}
 
+	/**
+	 * @return false if breeding was stopped by the deadline before the
+	 *         population was filled
+	 */
+	public boolean isComplete() {
+		return this.complete;
+	}
+
 	/**
 	 * @return individuals in population
 	 */
@@ -155,12 +834,111 @@ public class Population {
 		return this.individuals;
 	}
 
+	/**
+	 * Select the best individuals without sorting the population
+	 *
+	 * @param part
+	 *                 part of the population left out (the worst individuals)
+	 */
 	public void setBestIndividuals(final float part) {
-		final ArrayList<Individual> sortedIndividuals = this.individuals;
-		Collections.sort(sortedIndividuals);
-		final int lastIndividualIndex = (int) (part * sortedIndividuals.size());
+		final int[] fitness = new int[this.individuals.size()];
+		for (int i = 0; i < fitness.length; i++) {
+			fitness[i] = this.individuals.get(i).getFitness();
+		}
+
+		setBestIndividuals(part, fitness);
+	}
+
+	/**
+	 * Quickselect the fitness threshold of the best individuals and collect them
+	 * in O(n), keeping the population order
+	 *
+	 * @param part
+	 *                    part of the population left out (the worst individuals)
+	 * @param fitness
+	 *                    fitness of the individuals, in population order
+	 */
+	private void setBestIndividuals(final float part, final int[] fitness) {
+		final int size = fitness.length;
+		final int count = size - (int) (part * size);
+		// buffers are reused when the population is bred again (double buffering)
+		final ArrayList<Individual> bestIndividuals = this.bestIndividuals != null ? this.bestIndividuals : new ArrayList<>(count);
+		final int[] bestIndividualsFitness = this.bestIndividualsFitness != null && this.bestIndividualsFitness.length == count
+				? this.bestIndividualsFitness
+				: new int[count];
+		bestIndividuals.clear();
+
+		if (count > 0) {
+			if (this.selectionBuffer == null || this.selectionBuffer.length != size) {
+				this.selectionBuffer = new int[size];
+			}
+			System.arraycopy(fitness, 0, this.selectionBuffer, 0, size);
+			final int threshold = select(this.selectionBuffer, count - 1);
+			int equalToThreshold = count;
+			for (final int individualFitness: fitness) {
+				if (individualFitness < threshold) {
+					equalToThreshold--;
+				}
+			}
+
+			for (int i = 0; i < size && bestIndividuals.size() < count; i++) {
+				final int individualFitness = fitness[i];
+				if (individualFitness < threshold || (individualFitness == threshold && equalToThreshold-- > 0)) {
+					bestIndividualsFitness[bestIndividuals.size()] = individualFitness;
+					bestIndividuals.add(this.individuals.get(i));
+				}
+			}
+		}
+
+		this.bestIndividuals = bestIndividuals;
+		this.bestIndividualsFitness = bestIndividualsFitness;
+	}
+
+	/**
+	 * Quickselect with median of three pivot
+	 *
+	 * @param values
+	 *                   values, reordered in place
+	 * @param k
+	 *                   0-based rank
+	 * @return k-th smallest value
+	 */
+	static int select(final int[] values, final int k) {
+		int left = 0;
+		int right = values.length - 1;
+
+		while (left < right) {
+			final int middle = (left + right) >>> 1;
+			final int pivot = Math.max(Math.min(values[left], values[middle]), Math.min(Math.max(values[left], values[middle]), values[right]));
+			int i = left;
+			int j = right;
+
+			while (i <= j) {
+				while (values[i] < pivot) {
+					i++;
+				}
+				while (values[j] > pivot) {
+					j--;
+				}
+				if (i <= j) {
+					final int value = values[i];
+					values[i] = values[j];
+					values[j] = value;
+					i++;
+					j--;
+				}
+			}
 
-		this.bestIndividuals = sortedIndividuals.subList(lastIndividualIndex, this.individuals.size());
+			if (k <= j) {
+				right = j;
+			} else if (k >= i) {
+				left = i;
+			} else {
+				return values[k];
+			}
+		}
+
+		return values[k];
 	}
 
 	/**
@@ -202,6 +980,49 @@ public class Population {
 		return this.bestIndividuals;
 	}
 
+	/**
+	 * @return fitness of the best individuals, in the order of
+	 *         {@link #getBestIndividuals()}
+	 */
+	public int[] getBestIndividualsFitness() {
+		return this.bestIndividualsFitness;
+	}
+
+	/**
+	 * @param count
+	 *                  number of individuals
+	 * @return copies of the best individuals, the best one first
+	 */
+	public List<Individual> getTopIndividuals(final int count) {
+		final ArrayList<Individual> sortedIndividuals = new ArrayList<>(this.individuals);
+		sortedIndividuals.sort(Collections.reverseOrder());
+
+		final List<Individual> topIndividuals = new ArrayList<>(count);
+		for (final Individual individual: sortedIndividuals.subList(0, Math.min(count, sortedIndividuals.size()))) {
+			topIndividuals.add(individual.copy());
+		}
+
+		return topIndividuals;
+	}
+
+	/**
+	 * Replace the worst individuals with the provided ones (e.g. migrants from
+	 * another population)
+	 *
+	 * @param newcomers
+	 *                      individuals joining the population
+	 */
+	public void replaceWorst(final List<Individual> newcomers) {
+		final int count = Math.min(newcomers.size(), this.individuals.size());
+		Collections.sort(this.individuals);
+
+		for (int i = 0; i < count; i++) {
+			this.individuals.set(i, newcomers.get(i));
+		}
+
+		evaluate();
+	}
+
 	/**
 	 * Random sublist generator using Fisher-Yates-Durstenfeld shuffle algorithm
 	 *
@@ -212,14 +1033,27 @@ public class Population {
 	 * @return sublist with random individuals
 	 */
 	public static List<Individual> getRandomSublist(final List<Individual> individuals, final int count) {
+		return getRandomSublist(individuals, count, new SplittableRandom());
+	}
+
+	/**
+	 * Random sublist generator using Fisher-Yates-Durstenfeld shuffle algorithm
+	 *
+	 * @param individuals
+	 *                        initial list with individuals (reordered in place)
+	 * @param count
+	 *                        size of a sublist on output
+	 * @param random
+	 *                        random generator
+	 * @return sublist with random individuals
+	 */
+	public static List<Individual> getRandomSublist(final List<Individual> individuals, final int count, final SplittableRandom random) {
 		final int size = individuals.size();
 
 		if (size < count) {
 			throw new IllegalArgumentException(String.format("The size of the population (%s) is to small to pick %s individuals", individuals.size(), count));
 		}
 
-		final Random random = new Random();
-
 		for (int i = size - 1; i >= size - count; --i) {
 			Collections.swap(individuals, i, random.nextInt(i + 1));
 		}
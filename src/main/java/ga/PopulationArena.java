@@ -0,0 +1,564 @@
+package ga;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Population stored as structure of arrays - genomes of all individuals packed
+ * one after another into a single {@code int[]} slab and their fitness in a
+ * parallel {@code int[]}. Individual {@code i} occupies genes
+ * {@code offset(i)} to {@code offset(i) + genomeLength - 1} of the slab.
+ *
+ * Compared to {@link Population} there is no object per individual, so the
+ * memory footprint is known up front (see {@link #footprint(int, int)}) and a
+ * generation of millions of individuals adds no work for the garbage
+ * collector. Breeding gives the same results as breeding a {@link Population}
+ * with the same seed and number of workers.
+ *
+ * @author Jagoda Wieczorek
+ */
+public final class PopulationArena {
+	/**
+	 * Deadline is checked once per this many bred individuals (mask + 1)
+	 */
+	private static final int DEADLINE_CHECK_MASK = 31;
+
+	/**
+	 * Part of the population left out of the selection (the worst individuals)
+	 */
+	private static final float SELECTION_PART = 0.1f;
+
+	/**
+	 * Maximum length of an array, some virtual machines reserve header words
+	 */
+	private static final int MAX_SLAB_SIZE = Integer.MAX_VALUE - 8;
+
+	private final int size;
+
+	private final int genomeLength;
+
+	private final int[] genomes;
+
+	private final int[] fitness;
+
+	/**
+	 * Indices of the individuals taking part in the selection, in population
+	 * order
+	 */
+	private final int[] bestIndices;
+
+	private final int[] bestIndicesFitness;
+
+	/**
+	 * Scratch copy of the fitness reordered by quickselect
+	 */
+	private final int[] selectionBuffer;
+
+	private int bestIndex;
+
+	private int worstIndex;
+
+	private int avgFitness;
+
+	private boolean complete;
+
+	private int[] sliceEvaluations;
+
+	/**
+	 * Slices bred to the end, reused by every generation
+	 */
+	private boolean[] completedSlices;
+
+	/**
+	 * Tasks of the slices bred on the pool, reused by every generation
+	 */
+	private ForkJoinTask<?>[] sliceTasks;
+
+	/**
+	 * Empty arena, filled by {@link #initialize} or {@link #breed}
+	 *
+	 * @param size
+	 *                         population size
+	 * @param genomeLength
+	 *                         number of genes of every individual
+	 */
+	public PopulationArena(final int size, final int genomeLength) {
+		if (size <= 0) {
+			throw new IllegalArgumentException("Population size cannot be less or equal 0");
+		}
+
+		if (genomeLength <= 0) {
+			throw new IllegalArgumentException("Genome length cannot be less or equal 0");
+		}
+
+		if ((long) size * genomeLength > MAX_SLAB_SIZE) {
+			throw new IllegalArgumentException(String.format("Population of %s individuals of %s genes cannot be bigger than %s genes", size,
+					genomeLength, MAX_SLAB_SIZE));
+		}
+
+		this.size = size;
+		this.genomeLength = genomeLength;
+		this.genomes = new int[size * genomeLength];
+		this.fitness = new int[size];
+		this.bestIndices = new int[size - (int) (SELECTION_PART * size)];
+		this.bestIndicesFitness = new int[this.bestIndices.length];
+		this.selectionBuffer = new int[size];
+	}
+
+	/**
+	 * Estimate of the heap taken by an arena, two arenas are needed for a run
+	 * (double buffering)
+	 *
+	 * @param size
+	 *                         population size
+	 * @param genomeLength
+	 *                         number of genes of every individual
+	 * @return number of bytes taken by the arrays of the arena
+	 */
+	public static long footprint(final int size, final int genomeLength) {
+		final long selected = size - (int) (SELECTION_PART * size);
+
+		// genomes, fitness and selection buffer, selected indices and fitness
+		return Integer.BYTES * ((long) size * genomeLength + 2L * size + 2L * selected);
+	}
+
+	/**
+	 * Fill the arena with genomes created by the initial genome algorithm,
+	 * every individual gets its own random stream so the arena does not depend
+	 * on the number of threads. Genomes are the same as of
+	 * {@link Population#Population(int, DistanceProvider, InitialGenomeAlgorithm, long)}
+	 * with the same seed.
+	 *
+	 * @param distanceProvider
+	 *                                   distances between places
+	 * @param initialGenomeAlgorithm
+	 *                                   algorithm creating the genomes
+	 * @param seed
+	 *                                   seed of the population
+	 */
+	public void initialize(final DistanceProvider distanceProvider, final InitialGenomeAlgorithm initialGenomeAlgorithm, final long seed) {
+		initialize(distanceProvider, initialGenomeAlgorithm, seed, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Fill the arena with genomes created by the initial genome algorithm on
+	 * the pool, see
+	 * {@link #initialize(DistanceProvider, InitialGenomeAlgorithm, long)}
+	 *
+	 * @param distanceProvider
+	 *                                   distances between places
+	 * @param initialGenomeAlgorithm
+	 *                                   algorithm creating the genomes
+	 * @param seed
+	 *                                   seed of the population
+	 * @param pool
+	 *                                   pool creating the genomes, null to
+	 *                                   create them on the calling thread
+	 */
+	public void initialize(final DistanceProvider distanceProvider, final InitialGenomeAlgorithm initialGenomeAlgorithm, final long seed,
+			final ForkJoinPool pool) {
+		checkGenomeLength(distanceProvider);
+
+		Parallel.forEach(pool, this.size, i -> {
+			final int[] genome = initialGenomeAlgorithm.initialize(distanceProvider, new SplittableRandom(Seeds.derive(seed, i)));
+			System.arraycopy(genome, 0, this.genomes, offset(i), this.genomeLength);
+			this.fitness[i] = distanceProvider.cost(this.genomes, offset(i), this.genomeLength);
+		});
+		this.complete = true;
+		evaluate();
+	}
+
+	/**
+	 * Breed a new generation from the previous one into this arena, overwriting
+	 * its genomes. The new generation is split into {@code workers} disjoint
+	 * slices, each bred with its own random generator derived from the seed.
+	 * Breeding stops early when the deadline is reached, such an arena is not
+	 * complete and should be discarded.
+	 *
+	 * @param arena
+	 *                                 previous generation, of the same size and
+	 *                                 genome length, distinct from this one
+	 * @param distanceProvider
+	 *                                 distances between places
+	 * @param mutationProbability
+	 *                                 probability that mutation occurs
+	 * @param crossoverProbability
+	 *                                 probability that crossover occurs
+	 * @param selector
+	 *                                 selector
+	 * @param crossover
+	 *                                 crossover
+	 * @param mutation
+	 *                                 mutation
+	 * @param localSearch
+	 *                                 local search, null to skip improvement
+	 * @param pool
+	 *                                 pool breeding the slices, null to breed
+	 *                                 them one by one on the calling thread
+	 * @param workers
+	 *                                 number of slices
+	 * @param seed
+	 *                                 seed of the generation
+	 * @param deadline
+	 *                                 deadline of the run
+	 */
+	public void breed(final PopulationArena arena, final DistanceProvider distanceProvider, final float mutationProbability,
+			final float crossoverProbability, final Selector selector, final Crossover crossover, final Mutation mutation,
+			final LocalSearch localSearch, final ForkJoinPool pool, final int workers, final long seed, final Deadline deadline) {
+		if (workers <= 0) {
+			throw new IllegalArgumentException("Number of workers cannot be less or equal 0");
+		}
+
+		if (arena == this) {
+			throw new IllegalArgumentException("Population cannot be bred into itself");
+		}
+
+		if (arena.size != this.size || arena.genomeLength != this.genomeLength) {
+			throw new IllegalArgumentException(
+					String.format("Population of %s individuals of %s genes cannot be bred from population of %s individuals of %s genes", this.size,
+							this.genomeLength, arena.size, arena.genomeLength));
+		}
+
+		if (this.sliceEvaluations == null || this.sliceEvaluations.length != workers) {
+			this.sliceEvaluations = new int[workers];
+			this.completedSlices = new boolean[workers];
+			this.sliceTasks = new ForkJoinTask<?>[workers];
+		}
+		Arrays.fill(this.sliceEvaluations, 0);
+
+		final boolean[] completedSlices = this.completedSlices;
+
+		if (pool == null) {
+			for (int worker = 0; worker < workers; worker++) {
+				completedSlices[worker] = breed(arena, worker, workers, seed, distanceProvider, mutationProbability, crossoverProbability, selector,
+						crossover, mutation, localSearch, deadline);
+			}
+		} else {
+			for (int worker = 0; worker < workers; worker++) {
+				final int slice = worker;
+				this.sliceTasks[worker] = pool.submit(() -> {
+					completedSlices[slice] = breed(arena, slice, workers, seed, distanceProvider, mutationProbability, crossoverProbability, selector,
+							crossover, mutation, localSearch, deadline);
+				});
+			}
+
+			for (int worker = 0; worker < workers; worker++) {
+				this.sliceTasks[worker].join();
+				// do not keep the previous generation reachable
+				this.sliceTasks[worker] = null;
+			}
+		}
+
+		this.complete = true;
+		for (final boolean completedSlice: completedSlices) {
+			this.complete &= completedSlice;
+		}
+
+		if (this.complete) {
+			evaluate();
+		}
+	}
+
+	/**
+	 * Breed one slice of the new generation. Slices share only read-only data
+	 * and write to disjoint ranges of the slab.
+	 *
+	 * @return false if the deadline was reached before the slice was filled
+	 */
+	private boolean breed(final PopulationArena arena, final int worker, final int workers, final long seed, final DistanceProvider distanceProvider,
+			final float mutationProbability, final float crossoverProbability, final Selector selector, final Crossover crossover,
+			final Mutation mutation, final LocalSearch localSearch, final Deadline deadline) {
+		final int from = (int) ((long) worker * this.size / workers);
+		final int to = (int) ((long) (worker + 1) * this.size / workers);
+		final int length = this.genomeLength;
+		final SplittableRandom random = new SplittableRandom(Seeds.derive(seed, worker));
+		final int[] parents = arena.genomes;
+		final int[] parentsFitness = arena.fitness;
+		final int[] bestIndices = arena.bestIndices;
+		final int[] bestIndicesFitness = arena.bestIndicesFitness;
+		// local search works on whole genomes, one copy per slice
+		final int[] genome = localSearch != null ? new int[length] : null;
+		int evaluations = 0;
+
+		for (int i = from; i < to; i++) {
+			if (((i - from) & DEADLINE_CHECK_MASK) == 0 && deadline.isReached()) {
+				return false;
+			}
+
+			final int offset = offset(i);
+			final int parent1 = bestIndices[selector.select(bestIndicesFitness, random)];
+
+			boolean dirty = false;
+			if (crossoverProbability > random.nextDouble()) {
+				dirty = true;
+				final int parent2 = bestIndices[selector.select(bestIndicesFitness, random)];
+				crossover.perform(parents, offset(parent1), parents, offset(parent2), length, random, this.genomes, offset);
+			} else {
+				System.arraycopy(parents, offset(parent1), this.genomes, offset, length);
+				this.fitness[i] = parentsFitness[parent1];
+			}
+
+			boolean changed = dirty;
+			if (mutationProbability > random.nextDouble()) {
+				changed = true;
+				final int delta = mutation.perform(this.genomes, offset, length, distanceProvider, random);
+				if (!dirty) {
+					this.fitness[i] += delta;
+				}
+			}
+
+			if (localSearch != null && changed) {
+				System.arraycopy(this.genomes, offset, genome, 0, length);
+				final int delta = localSearch.improve(genome, distanceProvider);
+				System.arraycopy(genome, 0, this.genomes, offset, length);
+				if (!dirty) {
+					this.fitness[i] += delta;
+				}
+			}
+
+			// the only full evaluation - after crossover, the other operators
+			// report cost deltas
+			if (dirty) {
+				evaluations++;
+				this.fitness[i] = distanceProvider.cost(this.genomes, offset, length);
+			}
+		}
+
+		this.sliceEvaluations[worker] = evaluations;
+
+		return true;
+	}
+
+	/**
+	 * Find the best, the worst and the average fitness and select the
+	 * individuals taking part in the selection
+	 */
+	private void evaluate() {
+		final int[] fitness = this.fitness;
+		long sum = 0;
+		int bestIndex = 0;
+		int worstIndex = 0;
+
+		for (int i = 0; i < this.size; i++) {
+			final int individualFitness = fitness[i];
+			if (individualFitness < fitness[bestIndex]) {
+				bestIndex = i;
+			}
+
+			if (individualFitness > fitness[worstIndex]) {
+				worstIndex = i;
+			}
+
+			sum += individualFitness;
+		}
+
+		this.bestIndex = bestIndex;
+		this.worstIndex = worstIndex;
+		this.avgFitness = (int) (sum / this.size);
+
+		// quickselect the fitness threshold, keeping the population order
+		final int count = this.bestIndices.length;
+		if (count > 0) {
+			System.arraycopy(fitness, 0, this.selectionBuffer, 0, this.size);
+			final int threshold = Population.select(this.selectionBuffer, count - 1);
+			int equalToThreshold = count;
+			for (final int individualFitness: fitness) {
+				if (individualFitness < threshold) {
+					equalToThreshold--;
+				}
+			}
+
+			int selected = 0;
+			for (int i = 0; i < this.size && selected < count; i++) {
+				final int individualFitness = fitness[i];
+				if (individualFitness < threshold || (individualFitness == threshold && equalToThreshold-- > 0)) {
+					this.bestIndicesFitness[selected] = individualFitness;
+					this.bestIndices[selected++] = i;
+				}
+			}
+		}
+	}
+
+	private void checkGenomeLength(final DistanceProvider distanceProvider) {
+		if (distanceProvider.size() != this.genomeLength) {
+			throw new IllegalArgumentException(
+					String.format("Population of genomes of %s genes cannot hold tours of %s places", this.genomeLength, distanceProvider.size()));
+		}
+	}
+
+	/**
+	 * @param index
+	 *                  index of the individual
+	 * @return position of the first gen of the individual in the slab
+	 */
+	public int offset(final int index) {
+		return index * this.genomeLength;
+	}
+
+	/**
+	 * @return slab of all genomes, individual {@code i} starts at
+	 *         {@link #offset(int)}
+	 */
+	public int[] getGenomes() {
+		return this.genomes;
+	}
+
+	/**
+	 * @param index
+	 *                     index of the individual
+	 * @param position
+	 *                     position of the gen in the genome
+	 * @return place index at the position of the genome
+	 */
+	public int getGene(final int index, final int position) {
+		return this.genomes[offset(index) + position];
+	}
+
+	/**
+	 * @param index
+	 *                  index of the individual
+	 * @return copy of the genome of the individual
+	 */
+	public int[] getGenome(final int index) {
+		final int offset = offset(index);
+
+		return Arrays.copyOfRange(this.genomes, offset, offset + this.genomeLength);
+	}
+
+	/**
+	 * Overwrite the genome of an individual and evaluate it
+	 *
+	 * @param index
+	 *                             index of the individual
+	 * @param genome
+	 *                             genome holding place indices
+	 * @param distanceProvider
+	 *                             distances between places
+	 */
+	public void setGenome(final int index, final int[] genome, final DistanceProvider distanceProvider) {
+		if (genome.length != this.genomeLength) {
+			throw new IllegalArgumentException(String.format("Genome has to contain %s genes", this.genomeLength));
+		}
+
+		System.arraycopy(genome, 0, this.genomes, offset(index), this.genomeLength);
+		this.fitness[index] = distanceProvider.cost(this.genomes, offset(index), this.genomeLength);
+		evaluate();
+	}
+
+	/**
+	 * @param index
+	 *                  index of the individual
+	 * @return fitness of the individual
+	 */
+	public int getFitness(final int index) {
+		return this.fitness[index];
+	}
+
+	/**
+	 * @return fitness of all individuals, in population order
+	 */
+	public int[] getFitness() {
+		return this.fitness;
+	}
+
+	/**
+	 * @param index
+	 *                  index of the individual
+	 * @return individual with a copy of the genome
+	 */
+	public Individual toIndividual(final int index) {
+		return new Individual(getGenome(index), this.fitness[index]);
+	}
+
+	/**
+	 * @return population size
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * @return number of genes of every individual
+	 */
+	public int getGenomeLength() {
+		return this.genomeLength;
+	}
+
+	/**
+	 * @return index of the best individual
+	 */
+	public int getBestIndex() {
+		return this.bestIndex;
+	}
+
+	/**
+	 * @return index of the worst individual
+	 */
+	public int getWorstIndex() {
+		return this.worstIndex;
+	}
+
+	/**
+	 * @return copy of the best individual
+	 */
+	public Individual getBestIndividual() {
+		return toIndividual(this.bestIndex);
+	}
+
+	/**
+	 * @return average fitness
+	 */
+	public int getAvgFitness() {
+		return this.avgFitness;
+	}
+
+	/**
+	 * @return false if breeding was stopped by the deadline before the arena
+	 *         was filled
+	 */
+	public boolean isComplete() {
+		return this.complete;
+	}
+
+	/**
+	 * @return number of full evaluations of offspring while breeding this
+	 *         arena
+	 */
+	int getEvaluations() {
+		if (this.sliceEvaluations == null) {
+			return 0;
+		}
+
+		int evaluations = 0;
+		for (final int sliceEvaluation: this.sliceEvaluations) {
+			evaluations += sliceEvaluation;
+		}
+
+		return evaluations;
+	}
+
+	/**
+	 * Diversity of the population - share of distinct tours, see
+	 * {@link Population#getDiversity()}
+	 *
+	 * @return number of distinct tours divided by the population size
+	 */
+	public float getDiversity() {
+		final long[] hashes = new long[this.size];
+		for (int i = 0; i < this.size; i++) {
+			hashes[i] = FitnessCache.hash(this.genomes, offset(i), this.genomeLength);
+		}
+		Arrays.sort(hashes);
+
+		int distinct = 1;
+		for (int i = 1; i < hashes.length; i++) {
+			if (hashes[i] != hashes[i - 1]) {
+				distinct++;
+			}
+		}
+
+		return (float) distinct / hashes.length;
+	}
+}
@@ -0,0 +1,156 @@
+package ga;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Races several configurations of the genetic algorithm on one instance by
+ * successive halving.
+ *
+ * The time budget is split into rounds. In every round the remaining
+ * configurations continue evolving their populations concurrently, after the
+ * round the worse half is dropped and its threads are given to the leaders.
+ * When there are more configurations than threads, a round is split into
+ * waves of at most as many configurations as threads, so every configuration
+ * gets the same share of the round.
+ * The last round is evolved by the best configuration alone. Every round
+ * continues the run of a configuration with its own number of generations and
+ * termination criteria. All configurations share the read-only distances of
+ * the instance.
+ *
+ * @author Jagoda Wieczorek
+ */
+public class PortfolioSolver {
+	private static final Logger LOGGER = Logger.getLogger(PortfolioSolver.class.getName());
+
+	private final List<SolverConfig> configs;
+
+	private final int parallelism;
+
+	/**
+	 * @param configs
+	 *                        configurations to race
+	 * @param parallelism
+	 *                        number of threads shared by the configurations
+	 */
+	public PortfolioSolver(final List<SolverConfig> configs, final int parallelism) {
+		if (configs.isEmpty()) {
+			throw new IllegalArgumentException("Portfolio cannot be empty");
+		}
+		if (parallelism <= 0) {
+			throw new IllegalArgumentException("Parallelism cannot be less or equal 0");
+		}
+
+		this.configs = new ArrayList<>(configs);
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * @param instance
+	 *                     instance to solve
+	 * @param budget
+	 *                     total time budget in milliseconds
+	 * @return the best tour found by any configuration, its genome holds place
+	 *         ids
+	 */
+	public Individual solve(final TspInstance instance, final long budget) {
+		final Deadline deadline = Deadline.after(budget);
+		final ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+
+		try {
+			final DistanceProvider distanceProvider = BatchSolver.distancesOf(instance, pool);
+			List<Racer> racers = new ArrayList<>(this.configs.size());
+			for (int i = 0; i < this.configs.size(); i++) {
+				racers.add(new Racer(i, this.configs.get(i).create(instance, distanceProvider, pool)));
+			}
+
+			// halving K configurations takes ceil(log2 K) rounds, plus the
+			// round of the winner
+			final int rounds = 33 - Integer.numberOfLeadingZeros(racers.size() - 1);
+			for (int round = 0; round < rounds && !deadline.isReached(); round++) {
+				final Deadline roundDeadline = Deadline.after(deadline.remainingMillis() / (rounds - round));
+				// more configurations than threads race in waves, every wave gets
+				// an equal slice of the round
+				final int waves = (racers.size() + this.parallelism - 1) / this.parallelism;
+				final int waveSize = (racers.size() + waves - 1) / waves;
+				final int workers = Math.max(1, this.parallelism / waveSize);
+				for (int wave = 0; wave < waves; wave++) {
+					final Deadline waveDeadline = Deadline.after(roundDeadline.remainingMillis() / (waves - wave));
+					final List<Racer> waveRacers = racers.subList(wave * waveSize, Math.min(racers.size(), (wave + 1) * waveSize));
+					final List<ForkJoinTask<?>> tasks = new ArrayList<>(waveRacers.size());
+					for (final Racer racer: waveRacers) {
+						final ForkJoinPool breedingPool = workers > 1 ? pool : null;
+						racer.algorithm.setParallelism(breedingPool, workers);
+						tasks.add(pool.submit(() -> racer.race(waveDeadline)));
+					}
+					for (final ForkJoinTask<?> task: tasks) {
+						task.join();
+					}
+				}
+
+				racers.sort(Comparator.comparingInt(Racer::getBestFitness));
+				LOGGER.log(Level.FINE, "Round {0}: configuration {1} leads with {2}",
+						new Object[] { round, racers.get(0).index, racers.get(0).getBestFitness() });
+				racers = new ArrayList<>(racers.subList(0, (racers.size() + 1) / 2));
+			}
+
+			final Racer winner = racers.get(0);
+			if (winner.getBestIndividual() == null) {
+				throw new IllegalStateException(String.format("Time budget of %s ms is too short to create the first generation", budget));
+			}
+
+			return GeneticAlgorithm.toPlaceIds(winner.getBestIndividual(), distanceProvider);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * State of one configuration kept between the rounds
+	 */
+	private static final class Racer {
+		private final int index;
+
+		private final GeneticAlgorithm algorithm;
+
+		private GeneticAlgorithm.Evolution evolution;
+
+		private Racer(final int index, final GeneticAlgorithm algorithm) {
+			this.index = index;
+			this.algorithm = algorithm;
+		}
+
+		/**
+		 * Evolve generations until the end of the round, the number of
+		 * generations or a termination criterion of the configuration. The
+		 * first generation is created only when the round has time left.
+		 */
+		private void race(final Deadline deadline) {
+			if (this.evolution == null) {
+				if (deadline.isReached()) {
+					return;
+				}
+				this.evolution = this.algorithm.start(this.algorithm.getDistanceProvider());
+			}
+
+			this.evolution.evolve(deadline, null);
+		}
+
+		/**
+		 * @return the best individual found so far, its genome holds place
+		 *         indices, null before the first generation
+		 */
+		private Individual getBestIndividual() {
+			return this.evolution != null ? this.evolution.getBestIndividual() : null;
+		}
+
+		private int getBestFitness() {
+			return this.evolution != null ? this.evolution.getBestIndividual().getFitness() : Integer.MAX_VALUE;
+		}
+	}
+}
@@ -1,18 +1,34 @@
 package ga;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.SplittableRandom;
 import java.util.TreeMap;
-import java.util.stream.IntStream;
 
 import tsp.Place;
 
 public class RandomAlgorithm implements InitialGenomeAlgorithm {
 	@Override
-	public ArrayList<Integer> initialize(final int minGen, final int maxGen, final TreeMap<Integer, Place> places) {
-		final ArrayList<Integer> genome = new ArrayList<>();
-		IntStream.rangeClosed(minGen, maxGen).forEach(genome::add);
-		Collections.shuffle(genome);
+	public int[] initialize(final DistanceProvider distanceProvider, final SplittableRandom random) {
+		return shuffledRange(0, distanceProvider.size() - 1, random);
+	}
+
+	@Override
+	@Deprecated
+	public int[] initialize(final int minGen, final int maxGen, final TreeMap<Integer, Place> places) {
+		return shuffledRange(minGen, maxGen, new SplittableRandom());
+	}
+
+	private static int[] shuffledRange(final int minGen, final int maxGen, final SplittableRandom random) {
+		final int[] genome = new int[maxGen - minGen + 1];
+		for (int i = 0; i < genome.length; i++) {
+			genome[i] = minGen + i;
+		}
+
+		for (int i = genome.length - 1; i > 0; i--) {
+			final int j = random.nextInt(i + 1);
+			final int gen = genome[i];
+			genome[i] = genome[j];
+			genome[j] = gen;
+		}
 
 		return genome;
 	}
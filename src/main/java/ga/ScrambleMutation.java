@@ -0,0 +1,70 @@
+package ga;
+
+import java.util.SplittableRandom;
+
+/**
+ * Scramble mutation - shuffles a random segment of bounded length
+ *
+ * @author Jagoda Wieczorek
+ */
+public class ScrambleMutation implements Mutation {
+	private static final int DEFAULT_MAX_LENGTH = 5;
+
+	private final int maxLength;
+
+	public ScrambleMutation() {
+		this(DEFAULT_MAX_LENGTH);
+	}
+
+	/**
+	 * @param maxLength
+	 *                      maximum length of the scrambled segment, keeps the
+	 *                      cost delta evaluation constant
+	 */
+	public ScrambleMutation(final int maxLength) {
+		if (maxLength < 2) {
+			throw new IllegalArgumentException("Scrambled segment has to contain at least 2 genes");
+		}
+		this.maxLength = maxLength;
+	}
+
+	@Override
+	public int perform(final int[] genome, final DistanceProvider distanceProvider, final SplittableRandom random) {
+		return perform(genome, 0, genome.length, distanceProvider, random);
+	}
+
+	@Override
+	public int perform(final int[] genomes, final int offset, final int length, final DistanceProvider distanceProvider, final SplittableRandom random) {
+		if (length < 3) {
+			return 0;
+		}
+
+		final int segmentLength = Math.min(this.maxLength, length - 1);
+		final int from = offset + random.nextInt(length - segmentLength) + 1;
+		final int to = from + segmentLength - 1;
+
+		final int before = segmentCost(genomes, offset, length, distanceProvider, from, to);
+		for (int i = to; i > from; i--) {
+			final int j = from + random.nextInt(i - from + 1);
+			final int gen = genomes[i];
+			genomes[i] = genomes[j];
+			genomes[j] = gen;
+		}
+
+		return segmentCost(genomes, offset, length, distanceProvider, from, to) - before;
+	}
+
+	/**
+	 * @return cost of the edges from the gen before the segment to the gen after
+	 *         the segment
+	 */
+	private static int segmentCost(final int[] genomes, final int offset, final int length, final DistanceProvider distanceProvider, final int from,
+			final int to) {
+		int cost = 0;
+		for (int i = from - 1; i <= to; i++) {
+			cost += distanceProvider.getDistance(genomes[i], genomes[offset + (i + 1 - offset) % length]);
+		}
+
+		return cost;
+	}
+}
@@ -0,0 +1,30 @@
+package ga;
+
+/**
+ * Derivation of independent seeds from one master seed, so every generation
+ * and every worker gets its own reproducible random stream
+ *
+ * @author Jagoda Wieczorek
+ */
+final class Seeds {
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+	private Seeds() {
+	}
+
+	/**
+	 * @param seed
+	 *                   master seed
+	 * @param stream
+	 *                   stream number (e.g. generation or worker index)
+	 * @return seed of the stream
+	 */
+	static long derive(final long seed, final long stream) {
+		// SplitMix64 finalizer
+		long z = seed + (stream + 1) * GOLDEN_GAMMA;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+
+		return z ^ (z >>> 31);
+	}
+}
@@ -1,6 +1,7 @@
 package ga;
 
 import java.util.List;
+import java.util.SplittableRandom;
 
 /**
  * Selector interface
@@ -24,6 +25,28 @@ interface Selector {
 	 */
 	Individual select(List<Individual> individuals);
 
+	/**
+	 * @param individuals
+	 *                        List of individuals, may be reordered by the
+	 *                        selector
+	 * @param random
+	 *                        random generator
+	 * @return winner individual
+	 */
+	Individual select(List<Individual> individuals, SplittableRandom random);
+
+	/**
+	 * Select a winner without allocating and without modifying any shared state,
+	 * so it can be called concurrently
+	 *
+	 * @param fitness
+	 *                    fitness of the individuals (the lower the better)
+	 * @param random
+	 *                    random generator of the calling worker
+	 * @return index of the winner
+	 */
+	int select(int[] fitness, SplittableRandom random);
+
 	/**
 	 * Get all params
 	 *
@@ -0,0 +1,612 @@
+package ga;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Long-lived solve service on the JDK HTTP server. Jobs run on a
+ * {@link BatchSolver}, a job submitted while its queue is full is rejected
+ * with 503.
+ *
+ * <ul>
+ * <li>{@code POST /jobs} - body is a TSPLIB file or lines of {@code x y}
+ * coordinates (EUC_2D), query parameters {@code populationSize},
+ * {@code generations}, {@code mutationProbability},
+ * {@code crossoverProbability}, {@code maxtime} (ms, 0 for no time limit),
+ * {@code rclSize} (GRASP, 0 for random tours), {@code workers} and
+ * {@code seed} configure the algorithm. Responds 202 with the job, 400 for
+ * parameters or a TSPLIB {@code DIMENSION} out of range and 413 for a body
+ * bigger than 16 MiB.</li>
+ * <li>{@code GET /jobs/{id}} - status, progress and the tour when done. With
+ * {@code wait} (ms) the request waits for the end of the job or, with
+ * {@code after}, for a generation after the given one (long polling).</li>
+ * <li>{@code DELETE /jobs/{id}} - cancel the job, the best tour so far is
+ * kept.</li>
+ * </ul>
+ *
+ * Parsed instances are cached by the hash of the request body, so repeated
+ * instances skip parsing and share their distances and GRASP neighbor lists.
+ *
+ * @author Jagoda Wieczorek
+ */
+public class SolveServer implements AutoCloseable {
+	private static final Logger LOGGER = Logger.getLogger(SolveServer.class.getName());
+
+	private static final long MAX_WAIT = 30_000L;
+
+	private static final int MAX_FINISHED_JOBS = 1024;
+
+	private static final int HTTP_THREADS = 8;
+
+	/**
+	 * Limits of a job, a single request cannot exhaust the memory or the
+	 * solver
+	 */
+	private static final int MAX_BODY_SIZE = 16 << 20;
+
+	private static final int MAX_POPULATION_SIZE = 100_000;
+
+	private static final int MAX_GENERATIONS = 10_000_000;
+
+	private static final int MAX_WORKERS = 256;
+
+	private static final int MAX_RCL_SIZE = 64;
+
+	private static final long MAX_MAXTIME = 3_600_000L;
+
+	/**
+	 * Maximum number of genes of a population (population size times number of
+	 * places)
+	 */
+	private static final long MAX_GENES = 1L << 26;
+
+	/**
+	 * Maximum number of places, a population of one individual still fits
+	 * into the genes
+	 */
+	private static final int MAX_PLACES = (int) MAX_GENES;
+
+	private final HttpServer server;
+
+	private final ExecutorService executor;
+
+	private final BatchSolver solver;
+
+	private final Map<String, CachedInstance> instances;
+
+	private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+	private final ArrayDeque<String> finishedJobs = new ArrayDeque<>();
+
+	private final AtomicLong sequence = new AtomicLong();
+
+	/**
+	 * @param port
+	 *                          port to listen on, 0 for any free port
+	 * @param parallelism
+	 *                          number of threads solving the jobs
+	 * @param queueCapacity
+	 *                          maximum number of queued and running jobs
+	 * @param maxInstances
+	 *                          number of cached instances
+	 * @throws IOException
+	 *                         when the port cannot be bound
+	 */
+	public SolveServer(final int port, final int parallelism, final int queueCapacity, final int maxInstances) throws IOException {
+		this.solver = new BatchSolver(parallelism, queueCapacity, maxInstances);
+		this.instances = new LinkedHashMap<String, CachedInstance>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<String, CachedInstance> eldest) {
+				return size() > maxInstances;
+			}
+		};
+		this.executor = Executors.newFixedThreadPool(HTTP_THREADS);
+		this.server = HttpServer.create(new InetSocketAddress(port), 0);
+		this.server.setExecutor(this.executor);
+		this.server.createContext("/jobs", this::handle);
+	}
+
+	/**
+	 * Start accepting requests
+	 */
+	public void start() {
+		this.server.start();
+		LOGGER.log(Level.INFO, "Listening on port {0}", String.valueOf(getPort()));
+	}
+
+	/**
+	 * @return port the server listens on
+	 */
+	public int getPort() {
+		return this.server.getAddress().getPort();
+	}
+
+	/**
+	 * Stop the server and cancel running jobs
+	 */
+	@Override
+	public void close() {
+		this.server.stop(0);
+		this.executor.shutdownNow();
+		for (final Job job: this.jobs.values()) {
+			job.deadline.cancel();
+		}
+		this.solver.close();
+	}
+
+	private void handle(final HttpExchange exchange) throws IOException {
+		// long polls are answered later by the thread of the job
+		boolean waiting = false;
+		try {
+			final String path = exchange.getRequestURI().getPath();
+			final Map<String, String> parameters = parameters(exchange.getRequestURI().getRawQuery());
+			final String method = exchange.getRequestMethod();
+
+			if (path.equals("/jobs") || path.equals("/jobs/")) {
+				if (!method.equals("POST")) {
+					respond(exchange, 405, error("Method " + method + " not allowed"));
+					return;
+				}
+				submit(exchange, parameters);
+				return;
+			}
+
+			final Job job = this.jobs.get(path.substring("/jobs/".length()));
+			if (job == null) {
+				respond(exchange, 404, error("Unknown job " + path.substring("/jobs/".length())));
+			} else if (method.equals("GET")) {
+				final long wait = Math.min(longParameter(parameters, "wait", 0L), MAX_WAIT);
+				if (wait > 0) {
+					job.progress(intParameter(parameters, "after", Integer.MAX_VALUE)).completeOnTimeout(null, wait, TimeUnit.MILLISECONDS)
+							.whenCompleteAsync((progress, exception) -> respondLater(exchange, job), this.executor);
+					waiting = true;
+				} else {
+					respond(exchange, 200, job.toJson());
+				}
+			} else if (method.equals("DELETE")) {
+				job.deadline.cancel();
+				respond(exchange, 200, job.toJson());
+			} else {
+				respond(exchange, 405, error("Method " + method + " not allowed"));
+			}
+		} catch (final IllegalArgumentException e) {
+			respond(exchange, 400, error(e.getMessage()));
+		} catch (final RuntimeException e) {
+			LOGGER.log(Level.WARNING, "Request failed", e);
+			respond(exchange, 500, error(e.toString()));
+		} finally {
+			if (!waiting) {
+				exchange.close();
+			}
+		}
+	}
+
+	/**
+	 * Answer a long poll, the HTTP thread does not wait for the job
+	 */
+	private static void respondLater(final HttpExchange exchange, final Job job) {
+		try {
+			respond(exchange, 200, job.toJson());
+		} catch (final IOException e) {
+			LOGGER.log(Level.FINE, "Long poll not answered", e);
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private void submit(final HttpExchange exchange, final Map<String, String> parameters) throws IOException {
+		final int populationSize = intParameter(parameters, "populationSize", 100, 1, MAX_POPULATION_SIZE);
+		final SolverConfig config = new SolverConfig(populationSize, intParameter(parameters, "generations", 1000, 1, MAX_GENERATIONS),
+				floatParameter(parameters, "mutationProbability", 0.2f), floatParameter(parameters, "crossoverProbability", 0.5f));
+		config.setMutation(new InversionMutation());
+		config.setWorkers(intParameter(parameters, "workers", 1, 1, MAX_WORKERS));
+		final int rclSize = intParameter(parameters, "rclSize", 2, 0, MAX_RCL_SIZE);
+		if (parameters.containsKey("seed")) {
+			config.setSeed(longParameter(parameters, "seed", 0L));
+		}
+		final long maxtime = longParameter(parameters, "maxtime", 10_000L, 0L, MAX_MAXTIME);
+
+		final byte[] body = readBody(exchange, MAX_BODY_SIZE);
+		if (body == null) {
+			respond(exchange, 413, error(String.format("Request body cannot be bigger than %s bytes", MAX_BODY_SIZE)));
+			return;
+		}
+		final CachedInstance cachedInstance = instance(body);
+		final TspInstance instance = cachedInstance.instance;
+		if ((long) populationSize * instance.size() > MAX_GENES) {
+			throw new IllegalArgumentException(
+					String.format("Population of %s individuals of %s places cannot be bigger than %s genes", populationSize, instance.size(), MAX_GENES));
+		}
+		if (rclSize > 0) {
+			// neighbor lists of GRASP are built once per instance
+			config.setInitialGenomeAlgorithm(cachedInstance.graspAlgorithms.computeIfAbsent(rclSize, GraspAlgorithm::new));
+		}
+
+		// like in SolverConfig 0 is no time limit, the generations still limit the
+		// job
+		final Job job = new Job(Long.toString(this.sequence.incrementAndGet()), instance, maxtime != 0 ? Deadline.after(maxtime) : Deadline.none());
+		try {
+			job.result = this.solver.trySolve(instance, config, job.deadline, job::onGeneration);
+		} catch (final RejectedExecutionException e) {
+			exchange.getResponseHeaders().set("Retry-After", "1");
+			respond(exchange, 503, error(e.getMessage()));
+			return;
+		}
+
+		this.jobs.put(job.id, job);
+		job.result.whenComplete((individual, exception) -> finish(job));
+		exchange.getResponseHeaders().set("Location", "/jobs/" + job.id);
+		respond(exchange, 202, job.toJson());
+	}
+
+	/**
+	 * Keep the most recent finished jobs only
+	 */
+	private void finish(final Job job) {
+		job.onFinish();
+		synchronized (this.finishedJobs) {
+			this.finishedJobs.add(job.id);
+			while (this.finishedJobs.size() > MAX_FINISHED_JOBS) {
+				this.jobs.remove(this.finishedJobs.poll());
+			}
+		}
+	}
+
+	/**
+	 * @return cached instance of the request body, parsed on the first request
+	 */
+	private CachedInstance instance(final byte[] body) {
+		final String key = sha256(body);
+		synchronized (this.instances) {
+			final CachedInstance cached = this.instances.get(key);
+			if (cached != null) {
+				return cached;
+			}
+		}
+
+		final CachedInstance instance = new CachedInstance(isTsplib(body) ? TsplibParser.parse(body, MAX_PLACES) : coordinates(body));
+		synchronized (this.instances) {
+			// the first parsed instance wins, its distances are already shared
+			final CachedInstance cached = this.instances.putIfAbsent(key, instance);
+			return cached != null ? cached : instance;
+		}
+	}
+
+	private static boolean isTsplib(final byte[] body) {
+		for (final byte character: body) {
+			if (character > ' ') {
+				return Character.isLetter(character);
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * @return instance of lines of {@code x y} coordinates
+	 */
+	private static TspInstance coordinates(final byte[] body) {
+		final String[] lines = new String(body, StandardCharsets.US_ASCII).trim().split("\\s*\\n\\s*");
+		final double[] x = new double[lines.length];
+		final double[] y = new double[lines.length];
+		for (int i = 0; i < lines.length; i++) {
+			final String[] coordinates = lines[i].split("[\\s,;]+");
+			if (coordinates.length != 2) {
+				throw new IllegalArgumentException(String.format("Line %s has to contain 2 coordinates", i + 1));
+			}
+			x[i] = Double.parseDouble(coordinates[0]);
+			y[i] = Double.parseDouble(coordinates[1]);
+		}
+
+		return TspInstance.of("coordinates", x, y);
+	}
+
+	/**
+	 * A body bigger than the limit is discarded, up to another limit of bytes,
+	 * so the client which is still sending it gets the response
+	 *
+	 * @return request body, null when it is bigger than the limit
+	 */
+	private static byte[] readBody(final HttpExchange exchange, final int limit) throws IOException {
+		final InputStream input = exchange.getRequestBody();
+		final byte[] buffer = new byte[8192];
+		final String contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+		if (contentLength != null && Long.parseLong(contentLength.trim()) > limit) {
+			discard(input, buffer, limit);
+			return null;
+		}
+
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		int read;
+		while ((read = input.read(buffer)) >= 0) {
+			if (output.size() + read > limit) {
+				discard(input, buffer, limit);
+				return null;
+			}
+			output.write(buffer, 0, read);
+		}
+
+		return output.toByteArray();
+	}
+
+	private static void discard(final InputStream input, final byte[] buffer, final long limit) throws IOException {
+		long discarded = 0;
+		int read;
+		while (discarded <= limit && (read = input.read(buffer)) >= 0) {
+			discarded += read;
+		}
+	}
+
+	private static String sha256(final byte[] body) {
+		try {
+			final byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+			final StringBuilder hex = new StringBuilder(digest.length * 2);
+			for (final byte value: digest) {
+				hex.append(Character.forDigit((value >> 4) & 0xF, 16)).append(Character.forDigit(value & 0xF, 16));
+			}
+			return hex.toString();
+		} catch (final NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static Map<String, String> parameters(final String query) {
+		final Map<String, String> parameters = new HashMap<>();
+		if (query == null || query.isEmpty()) {
+			return parameters;
+		}
+
+		for (final String parameter: query.split("&")) {
+			final int equals = parameter.indexOf('=');
+			final String name = URLDecoder.decode(equals < 0 ? parameter : parameter.substring(0, equals), StandardCharsets.UTF_8);
+			final String value = equals < 0 ? "" : URLDecoder.decode(parameter.substring(equals + 1), StandardCharsets.UTF_8);
+			parameters.put(name, value);
+		}
+
+		return parameters;
+	}
+
+	private static int intParameter(final Map<String, String> parameters, final String name, final int defaultValue) {
+		final String value = parameters.get(name);
+		try {
+			return value == null ? defaultValue : Integer.parseInt(value);
+		} catch (final NumberFormatException e) {
+			throw new IllegalArgumentException(String.format("Parameter %s has to be an integer", name));
+		}
+	}
+
+	/**
+	 * @return parameter value, checked to be in range [min,max]
+	 */
+	private static int intParameter(final Map<String, String> parameters, final String name, final int defaultValue, final int min, final int max) {
+		return (int) checkRange(name, intParameter(parameters, name, defaultValue), min, max);
+	}
+
+	/**
+	 * @return parameter value, checked to be in range [min,max]
+	 */
+	private static long longParameter(final Map<String, String> parameters, final String name, final long defaultValue, final long min,
+			final long max) {
+		return checkRange(name, longParameter(parameters, name, defaultValue), min, max);
+	}
+
+	private static long checkRange(final String name, final long value, final long min, final long max) {
+		if (value < min || value > max) {
+			throw new IllegalArgumentException(String.format("Parameter %s has to be in range [%s,%s]", name, min, max));
+		}
+
+		return value;
+	}
+
+	private static long longParameter(final Map<String, String> parameters, final String name, final long defaultValue) {
+		final String value = parameters.get(name);
+		try {
+			return value == null ? defaultValue : Long.parseLong(value);
+		} catch (final NumberFormatException e) {
+			throw new IllegalArgumentException(String.format("Parameter %s has to be an integer", name));
+		}
+	}
+
+	private static float floatParameter(final Map<String, String> parameters, final String name, final float defaultValue) {
+		final String value = parameters.get(name);
+		try {
+			return value == null ? defaultValue : Float.parseFloat(value);
+		} catch (final NumberFormatException e) {
+			throw new IllegalArgumentException(String.format("Parameter %s has to be a number", name));
+		}
+	}
+
+	private static void respond(final HttpExchange exchange, final int status, final String json) throws IOException {
+		final byte[] body = json.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, body.length);
+		try (OutputStream output = exchange.getResponseBody()) {
+			output.write(body);
+		}
+	}
+
+	private static String error(final String message) {
+		return "{\"error\":" + quote(message) + "}";
+	}
+
+	private static String quote(final String value) {
+		final StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+		for (int i = 0; i < value.length(); i++) {
+			final char character = value.charAt(i);
+			if (character == '"' || character == '\\') {
+				quoted.append('\\').append(character);
+			} else if (character < ' ') {
+				quoted.append(String.format("\\u%04x", (int) character));
+			} else {
+				quoted.append(character);
+			}
+		}
+
+		return quoted.append('"').toString();
+	}
+
+	/**
+	 * Parsed instance with the GRASP algorithms of its jobs, one per RCL size,
+	 * so the neighbor lists are built once per instance and evicted with it
+	 */
+	private static final class CachedInstance {
+		private final TspInstance instance;
+
+		private final Map<Integer, GraspAlgorithm> graspAlgorithms = new ConcurrentHashMap<>();
+
+		private CachedInstance(final TspInstance instance) {
+			this.instance = instance;
+		}
+	}
+
+	/**
+	 * Submitted job with its progress, updated by the solving thread
+	 */
+	private static final class Job {
+		private final String id;
+
+		private final TspInstance instance;
+
+		private final Deadline deadline;
+
+		private volatile CompletableFuture<Individual> result;
+
+		private volatile int generation;
+
+		private volatile int bestFitness = -1;
+
+		/**
+		 * Long polls waiting for a generation after the given one
+		 */
+		private final List<Waiter> waiters = new ArrayList<>();
+
+		private Job(final String id, final TspInstance instance, final Deadline deadline) {
+			this.id = id;
+			this.instance = instance;
+			this.deadline = deadline;
+		}
+
+		private void onGeneration(final GenerationStatistics statistics) {
+			final List<Waiter> progressed = new ArrayList<>();
+			synchronized (this) {
+				this.generation = statistics.getGeneration();
+				this.bestFitness = statistics.getBestFitnessSoFar();
+				for (final Iterator<Waiter> iterator = this.waiters.iterator(); iterator.hasNext();) {
+					final Waiter waiter = iterator.next();
+					if (waiter.after < this.generation || waiter.future.isDone()) {
+						progressed.add(waiter);
+						iterator.remove();
+					}
+				}
+			}
+			// responses are sent by the HTTP threads
+			for (final Waiter waiter: progressed) {
+				waiter.future.complete(null);
+			}
+		}
+
+		private void onFinish() {
+			final List<Waiter> waiters;
+			synchronized (this) {
+				waiters = new ArrayList<>(this.waiters);
+				this.waiters.clear();
+			}
+			for (final Waiter waiter: waiters) {
+				waiter.future.complete(null);
+			}
+		}
+
+		/**
+		 * @return future completed at the end of the job or when it reaches a
+		 *         generation after the given one
+		 */
+		private synchronized CompletableFuture<Void> progress(final int after) {
+			if (this.result.isDone() || this.generation > after) {
+				return CompletableFuture.completedFuture(null);
+			}
+
+			// drop long polls which timed out meanwhile
+			this.waiters.removeIf(waiter -> waiter.future.isDone());
+			final Waiter waiter = new Waiter(after);
+			this.waiters.add(waiter);
+
+			return waiter.future;
+		}
+
+		private String status() {
+			if (!this.result.isDone()) {
+				return this.generation == 0 ? "QUEUED" : "RUNNING";
+			}
+			if (this.result.isCompletedExceptionally()) {
+				return "FAILED";
+			}
+
+			return this.deadline.isCancelled() ? "CANCELLED" : "DONE";
+		}
+
+		private String toJson() {
+			final StringBuilder json = new StringBuilder().append("{\"id\":").append(quote(this.id)).append(",\"name\":")
+					.append(quote(String.valueOf(this.instance.getName()))).append(",\"status\":").append(quote(status())).append(",\"generation\":")
+					.append(this.generation);
+			if (this.bestFitness >= 0) {
+				json.append(",\"bestFitness\":").append(this.bestFitness);
+			}
+
+			if (this.result.isDone()) {
+				try {
+					final Individual individual = this.result.join();
+					json.append(",\"fitness\":").append(individual.getFitness()).append(",\"tour\":")
+							.append(Arrays.toString(individual.getGenes()).replace(" ", ""));
+				} catch (final CancellationException | CompletionException e) {
+					json.append(",\"error\":").append(quote(String.valueOf(e.getCause() != null ? e.getCause().getMessage() : e.getMessage())));
+				}
+			}
+
+			return json.append('}').toString();
+		}
+	}
+
+	/**
+	 * Long poll waiting for a generation after the given one
+	 */
+	private static final class Waiter {
+		private final int after;
+
+		private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+		private Waiter(final int after) {
+			this.after = after;
+		}
+	}
+}
@@ -0,0 +1,192 @@
+package ga;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Configuration of a genetic algorithm run by {@link BatchSolver}. One
+ * configuration may be shared by many jobs, the operators have to be
+ * thread-safe (all operators of this package are). Stateful parts - local
+ * search and termination criteria - are created per job.
+ *
+ * @author Jagoda Wieczorek
+ */
+public final class SolverConfig {
+	private final int populationSize;
+
+	private final int numberOfGenerations;
+
+	private final float mutationProbability;
+
+	private final float crossoverProbability;
+
+	private Selector selector = new Tournament(5);
+
+	private Crossover crossover = new PartiallyMappedCrossover();
+
+	private Mutation mutation = new SwapMutation();
+
+	private InitialGenomeAlgorithm initialGenomeAlgorithm = new RandomAlgorithm();
+
+	private Function<DistanceProvider, LocalSearch> localSearch;
+
+	private final List<Supplier<TerminationCriterion>> terminationCriteria = new ArrayList<>();
+
+	private long maxtime;
+
+	private int workers = 1;
+
+	private Long seed;
+
+	/**
+	 * @param populationSize
+	 *                                 Size of the population (number of Individuals
+	 *                                 in one generation)
+	 * @param numberOfGenerations
+	 *                                 Number of generations
+	 * @param mutationProbability
+	 *                                 Probability that mutation occurs
+	 * @param crossoverProbability
+	 *                                 Probability that crossover occurs
+	 */
+	public SolverConfig(final int populationSize, final int numberOfGenerations, final float mutationProbability, final float crossoverProbability) {
+		if (populationSize <= 0) {
+			throw new IllegalArgumentException("Population size cannot be less or equal 0");
+		}
+
+		if (numberOfGenerations <= 0) {
+			throw new IllegalArgumentException("Number of generations cannot be less or equal 0");
+		}
+
+		if (mutationProbability < 0 || mutationProbability > 1 || crossoverProbability < 0 || crossoverProbability > 1) {
+			throw new IllegalArgumentException("Probability has to be in range <0,1>");
+		}
+
+		this.populationSize = populationSize;
+		this.numberOfGenerations = numberOfGenerations;
+		this.mutationProbability = mutationProbability;
+		this.crossoverProbability = crossoverProbability;
+	}
+
+	/**
+	 * @param selector
+	 *                     e.g. Tournament selector
+	 */
+	public void setSelector(final Selector selector) {
+		this.selector = selector;
+	}
+
+	/**
+	 * @param crossover
+	 *                      Crossover
+	 */
+	public void setCrossover(final Crossover crossover) {
+		this.crossover = crossover;
+	}
+
+	/**
+	 * @param mutation
+	 *                     Mutation
+	 */
+	public void setMutation(final Mutation mutation) {
+		this.mutation = mutation;
+	}
+
+	/**
+	 * @param initialGenomeAlgorithm
+	 *                                   Initial genome algorithm
+	 */
+	public void setInitialGenomeAlgorithm(final InitialGenomeAlgorithm initialGenomeAlgorithm) {
+		this.initialGenomeAlgorithm = initialGenomeAlgorithm;
+	}
+
+	/**
+	 * @param localSearch
+	 *                        creates local search of the instance, e.g. with
+	 *                        its neighbor lists, null for no local search
+	 */
+	public void setLocalSearch(final Function<DistanceProvider, LocalSearch> localSearch) {
+		this.localSearch = localSearch;
+	}
+
+	/**
+	 * @param terminationCriterion
+	 *                                 creates a termination criterion for every
+	 *                                 job
+	 */
+	public void addTerminationCriterion(final Supplier<TerminationCriterion> terminationCriterion) {
+		this.terminationCriteria.add(terminationCriterion);
+	}
+
+	/**
+	 * @param maxtime
+	 *                    time budget of a job in milliseconds, counted from its
+	 *                    start, 0 for no limit
+	 */
+	public void setMaxtime(final long maxtime) {
+		if (maxtime < 0) {
+			throw new IllegalArgumentException("Time budget cannot be less than 0");
+		}
+
+		this.maxtime = maxtime;
+	}
+
+	/**
+	 * @param workers
+	 *                    number of slices of every generation bred on the pool
+	 *                    of the solver
+	 */
+	public void setWorkers(final int workers) {
+		if (workers <= 0) {
+			throw new IllegalArgumentException("Number of workers cannot be less or equal 0");
+		}
+
+		this.workers = workers;
+	}
+
+	/**
+	 * @param seed
+	 *                 seed of every job, random when not set
+	 */
+	public void setSeed(final long seed) {
+		this.seed = seed;
+	}
+
+	/**
+	 * @return time budget of a job in milliseconds, 0 for no limit
+	 */
+	public long getMaxtime() {
+		return this.maxtime;
+	}
+
+	/**
+	 * @param instance
+	 *                             instance to solve
+	 * @param distanceProvider
+	 *                             distances of the instance, shared between
+	 *                             jobs
+	 * @param pool
+	 *                             pool breeding the generations
+	 * @return algorithm configured for one job
+	 */
+	GeneticAlgorithm create(final TspInstance instance, final DistanceProvider distanceProvider, final ForkJoinPool pool) {
+		final GeneticAlgorithm algorithm = GeneticAlgorithm.create(this.populationSize, this.numberOfGenerations, this.mutationProbability,
+				this.crossoverProbability, instance, this.selector, this.crossover, this.mutation, this.initialGenomeAlgorithm);
+		algorithm.setDistanceProvider(distanceProvider);
+		algorithm.setParallelism(this.workers > 1 ? pool : null, this.workers);
+		if (this.localSearch != null) {
+			algorithm.setLocalSearch(this.localSearch.apply(distanceProvider));
+		}
+		for (final Supplier<TerminationCriterion> terminationCriterion: this.terminationCriteria) {
+			algorithm.addTerminationCriterion(terminationCriterion.get());
+		}
+		if (this.seed != null) {
+			algorithm.setSeed(this.seed);
+		}
+
+		return algorithm;
+	}
+}
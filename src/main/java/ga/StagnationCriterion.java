@@ -0,0 +1,43 @@
+package ga;
+
+/**
+ * Stop when the best fitness has not improved for a number of generations
+ *
+ * @author Jagoda Wieczorek
+ */
+public class StagnationCriterion implements TerminationCriterion {
+	private final int generations;
+
+	private int bestFitness;
+
+	private int improvementGeneration;
+
+	/**
+	 * @param generations
+	 *                        number of generations without improvement
+	 */
+	public StagnationCriterion(final int generations) {
+		if (generations <= 0) {
+			throw new IllegalArgumentException("Number of generations cannot be less or equal 0");
+		}
+		this.generations = generations;
+		this.reset();
+	}
+
+	@Override
+	public boolean isMet(final int generation, final int bestFitness) {
+		if (bestFitness < this.bestFitness) {
+			this.bestFitness = bestFitness;
+			this.improvementGeneration = generation;
+			return false;
+		}
+
+		return generation - this.improvementGeneration >= this.generations;
+	}
+
+	@Override
+	public void reset() {
+		this.bestFitness = Integer.MAX_VALUE;
+		this.improvementGeneration = 0;
+	}
+}
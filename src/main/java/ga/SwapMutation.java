@@ -0,0 +1,71 @@
+package ga;
+
+import java.util.SplittableRandom;
+
+/**
+ * Swap mutation - exchanges two random genes
+ *
+ * @author Jagoda Wieczorek
+ */
+public class SwapMutation implements Mutation {
+
+	@Override
+	public int perform(final int[] genome, final DistanceProvider distanceProvider, final SplittableRandom random) {
+		return perform(genome, 0, genome.length, distanceProvider, random);
+	}
+
+	@Override
+	public int perform(final int[] genomes, final int offset, final int length, final DistanceProvider distanceProvider, final SplittableRandom random) {
+		if (length < 3) {
+			return 0;
+		}
+
+		final int first = random.nextInt(length - 1) + 1;
+		final int second = random.nextInt(length - 1) + 1;
+
+		return perform(genomes, offset, length, distanceProvider, Math.min(first, second), Math.max(first, second));
+	}
+
+	/**
+	 * @param genome
+	 *                             slab of genomes, the genome is mutated in place
+	 * @param offset
+	 *                             position of the first gen of the genome
+	 * @param length
+	 *                             number of genes of the genome
+	 * @param distanceProvider
+	 *                             distances between places
+	 * @param i
+	 *                             first position (1 <= i <= j)
+	 * @param j
+	 *                             second position (j < genome length)
+	 * @return cost delta
+	 */
+	int perform(final int[] genome, final int offset, final int length, final DistanceProvider distanceProvider, final int i, final int j) {
+		if (i == j) {
+			return 0;
+		}
+
+		final int previous = genome[offset + i - 1];
+		final int next = genome[offset + (j + 1) % length];
+		final int a = genome[offset + i];
+		final int b = genome[offset + j];
+		final int delta;
+
+		if (j == i + 1) {
+			delta = distanceProvider.getDistance(previous, b) + distanceProvider.getDistance(b, a) + distanceProvider.getDistance(a, next)
+					- distanceProvider.getDistance(previous, a) - distanceProvider.getDistance(a, b) - distanceProvider.getDistance(b, next);
+		} else {
+			final int afterA = genome[offset + i + 1];
+			final int beforeB = genome[offset + j - 1];
+			delta = distanceProvider.getDistance(previous, b) + distanceProvider.getDistance(b, afterA) + distanceProvider.getDistance(beforeB, a)
+					+ distanceProvider.getDistance(a, next) - distanceProvider.getDistance(previous, a) - distanceProvider.getDistance(a, afterA)
+					- distanceProvider.getDistance(beforeB, b) - distanceProvider.getDistance(b, next);
+		}
+
+		genome[offset + i] = b;
+		genome[offset + j] = a;
+
+		return delta;
+	}
+}
@@ -0,0 +1,24 @@
+package ga;
+
+/**
+ * Stop when a tour at least as good as the target is found, e.g. the known
+ * optimum of the instance
+ *
+ * @author Jagoda Wieczorek
+ */
+public class TargetFitnessCriterion implements TerminationCriterion {
+	private final int targetFitness;
+
+	/**
+	 * @param targetFitness
+	 *                          tour cost to reach
+	 */
+	public TargetFitnessCriterion(final int targetFitness) {
+		this.targetFitness = targetFitness;
+	}
+
+	@Override
+	public boolean isMet(final int generation, final int bestFitness) {
+		return bestFitness <= this.targetFitness;
+	}
+}
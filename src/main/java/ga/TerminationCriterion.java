@@ -0,0 +1,29 @@
+package ga;
+
+/**
+ * Early termination of a run. Criteria are stateful, the algorithm resets
+ * them at the beginning of every run, so an instance cannot be shared by
+ * algorithms running at the same time. The state has to follow only from the
+ * generations and best fitness passed to {@link #isMet(int, int)}, a resumed
+ * run replays them from the checkpoint.
+ *
+ * @author Jagoda Wieczorek
+ */
+public interface TerminationCriterion {
+	/**
+	 * Called after every generation
+	 *
+	 * @param generation
+	 *                        number of evolved generations
+	 * @param bestFitness
+	 *                        the best fitness found so far
+	 * @return true to stop the run
+	 */
+	boolean isMet(int generation, int bestFitness);
+
+	/**
+	 * Forget generations of the previous run
+	 */
+	default void reset() {
+	}
+}
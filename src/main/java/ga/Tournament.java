@@ -2,6 +2,7 @@ package ga;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.SplittableRandom;
 
 /**
  * Tournament selector
@@ -34,6 +35,36 @@ public class Tournament implements Selector {
 		return this.select(individuals, getParams());
 	}
 
+	@Override
+	public Individual select(final List<Individual> individuals, final SplittableRandom random) {
+		final List<Individual> randomIndividuals = Population.getRandomSublist(individuals, this.params[0], random);
+
+		return Collections.max(randomIndividuals);
+	}
+
+	/**
+	 * Tournament on indices drawn with replacement, the individuals list is not
+	 * touched
+	 */
+	@Override
+	public int select(final int[] fitness, final SplittableRandom random) {
+		final int count = this.params[0];
+
+		if (fitness.length < count) {
+			throw new IllegalArgumentException(String.format("The size of the population (%s) is to small to pick %s individuals", fitness.length, count));
+		}
+
+		int winner = random.nextInt(fitness.length);
+		for (int i = 1; i < count; i++) {
+			final int competitor = random.nextInt(fitness.length);
+			if (fitness[competitor] < fitness[winner]) {
+				winner = competitor;
+			}
+		}
+
+		return winner;
+	}
+
 	@Override
 	public int[] getParams() {
 		return this.params;
@@ -0,0 +1,222 @@
+package ga;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * TSP instance held as primitive coordinate arrays, distances are computed
+ * on demand from coordinates. Wrap in {@link CachedDistanceProvider} or
+ * convert by {@link #toDistanceMatrix()} to avoid computing them repeatedly.
+ *
+ * @author Jagoda Wieczorek
+ */
+public final class TspInstance implements DistanceProvider {
+	private final String name;
+
+	private final EdgeWeightType edgeWeightType;
+
+	private final int[] ids;
+
+	private final double[] x;
+
+	private final double[] y;
+
+	/**
+	 * @param name
+	 *                           instance name
+	 * @param edgeWeightType
+	 *                           edge weight type
+	 * @param ids
+	 *                           node ids
+	 * @param x
+	 *                           first coordinates as given in the TSPLIB file
+	 * @param y
+	 *                           second coordinates as given in the TSPLIB file
+	 */
+	TspInstance(final String name, final EdgeWeightType edgeWeightType, final int[] ids, final double[] x, final double[] y) {
+		if (ids.length == 0) {
+			throw new IllegalArgumentException("TSP instance has to contain at least 1 node");
+		}
+		if (ids.length != x.length || ids.length != y.length) {
+			throw new IllegalArgumentException(String.format("Coordinates of %s nodes have to contain %s values", ids.length, ids.length));
+		}
+
+		final int[] order = ascending(ids);
+		this.name = name;
+		this.edgeWeightType = edgeWeightType;
+		this.ids = new int[ids.length];
+		this.x = new double[ids.length];
+		this.y = new double[ids.length];
+		for (int i = 0; i < order.length; i++) {
+			this.ids[i] = ids[order[i]];
+			this.x[i] = edgeWeightType.coordinate(x[order[i]]);
+			this.y[i] = edgeWeightType.coordinate(y[order[i]]);
+			if (i > 0 && this.ids[i] == this.ids[i - 1]) {
+				throw new IllegalArgumentException(String.format("Duplicate node id %s", this.ids[i]));
+			}
+		}
+	}
+
+	/**
+	 * Read a TSPLIB file with NODE_COORD_SECTION, the file is memory-mapped and
+	 * parsed without materializing its lines
+	 *
+	 * @param path
+	 *                 path to the .tsp file
+	 * @return instance
+	 */
+	public static TspInstance load(final String path) {
+		return load(Paths.get(path));
+	}
+
+	/**
+	 * @see #load(String)
+	 */
+	public static TspInstance load(final Path path) {
+		return TsplibParser.parse(path);
+	}
+
+	/**
+	 * Instance of points in the plane with EUC_2D distances, places get ids
+	 * from 1 in the order of the coordinates
+	 *
+	 * @param name
+	 *                 name of the instance
+	 * @param x
+	 *                 first coordinates
+	 * @param y
+	 *                 second coordinates
+	 * @return instance
+	 */
+	public static TspInstance of(final String name, final double[] x, final double[] y) {
+		if (x.length != y.length) {
+			throw new IllegalArgumentException(String.format("Got %s first and %s second coordinates", x.length, y.length));
+		}
+		if (x.length == 0) {
+			throw new IllegalArgumentException("Instance has to contain at least one place");
+		}
+
+		return new TspInstance(name, EdgeWeightType.EUC_2D, IntStream.rangeClosed(1, x.length).toArray(), x.clone(), y.clone());
+	}
+
+	/**
+	 * @return order of indices sorting ids ascending, identity for sorted ids
+	 */
+	private static int[] ascending(final int[] ids) {
+		boolean sorted = true;
+		for (int i = 1; i < ids.length && sorted; i++) {
+			sorted = ids[i - 1] <= ids[i];
+		}
+
+		if (sorted) {
+			return IntStream.range(0, ids.length).toArray();
+		}
+
+		return IntStream.range(0, ids.length).boxed().sorted(Comparator.comparingInt(i -> ids[i])).mapToInt(Integer::intValue).toArray();
+	}
+
+	/**
+	 * @return 3 coordinates of a point of every node, see
+	 *         {@link EdgeWeightType#point(double, double, double[], int)}
+	 */
+	double[] points() {
+		final double[] points = new double[3 * this.ids.length];
+		for (int i = 0; i < this.ids.length; i++) {
+			this.edgeWeightType.point(this.x[i], this.y[i], points, 3 * i);
+		}
+
+		return points;
+	}
+
+	/**
+	 * @param from
+	 *                 index of the first node
+	 * @param to
+	 *                 index of the second node
+	 * @return distance between nodes
+	 */
+	@Override
+	public int getDistance(final int from, final int to) {
+		if (from == to) {
+			return 0;
+		}
+
+		return this.edgeWeightType.distance(this.x[from], this.y[from], this.x[to], this.y[to]);
+	}
+
+	/**
+	 * Compute all distances, rows are computed in parallel on the common pool
+	 *
+	 * @return distance matrix indexed as this instance
+	 * @throws IllegalArgumentException
+	 *                                      when the instance has more than 46
+	 *                                      340 nodes, such instances should
+	 *                                      be wrapped by
+	 *                                      {@link CachedDistanceProvider}
+	 */
+	public DistanceMatrix toDistanceMatrix() {
+		return toDistanceMatrix(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Compute all distances, rows are computed in parallel on the pool
+	 *
+	 * @param pool
+	 *                 pool computing the rows, null to compute them on the
+	 *                 calling thread
+	 * @return distance matrix indexed as this instance
+	 * @throws IllegalArgumentException
+	 *                                      when the instance has more than 46
+	 *                                      340 nodes, such instances should
+	 *                                      be wrapped by
+	 *                                      {@link CachedDistanceProvider}
+	 */
+	public DistanceMatrix toDistanceMatrix(final ForkJoinPool pool) {
+		final int size = size();
+		final int[] distances = new int[DistanceMatrix.values(size)];
+		Parallel.forEach(pool, size, from -> {
+			final int row = from * size;
+			for (int to = 0; to < size; to++) {
+				distances[row + to] = getDistance(from, to);
+			}
+		});
+
+		return new DistanceMatrix(Arrays.copyOf(this.ids, size), distances);
+	}
+
+	/**
+	 * @param index
+	 *                  node index
+	 * @return node id
+	 */
+	@Override
+	public int getId(final int index) {
+		return this.ids[index];
+	}
+
+	/**
+	 * @return instance name
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * @return edge weight type
+	 */
+	public EdgeWeightType getEdgeWeightType() {
+		return this.edgeWeightType;
+	}
+
+	/**
+	 * @return number of nodes
+	 */
+	@Override
+	public int size() {
+		return this.ids.length;
+	}
+}
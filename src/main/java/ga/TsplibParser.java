@@ -0,0 +1,249 @@
+package ga;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Streaming parser of TSPLIB files with NODE_COORD_SECTION. Node lines are
+ * read straight from the memory-mapped file into primitive arrays.
+ *
+ * @author Jagoda Wieczorek
+ */
+final class TsplibParser {
+	private static final int DEFAULT_CAPACITY = 1024;
+
+	/**
+	 * Shortest node line, e.g. {@code "1 0 0\n"}
+	 */
+	private static final int MIN_NODE_BYTES = 6;
+
+	private final ByteBuffer buffer;
+
+	private final int maxDimension;
+
+	private TsplibParser(final ByteBuffer buffer, final int maxDimension) {
+		this.buffer = buffer;
+		this.maxDimension = maxDimension;
+	}
+
+	/**
+	 * @param path
+	 *                 path to the .tsp file
+	 * @return instance
+	 */
+	static TspInstance parse(final Path path) {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			final long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				throw new IllegalArgumentException(String.format("TSPLIB file %s is bigger than %s bytes", path, Integer.MAX_VALUE));
+			}
+
+			return new TsplibParser(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), Integer.MAX_VALUE).parse();
+		} catch (final IOException e) {
+			throw new UncheckedIOException(String.format("Cannot read TSPLIB file %s", path), e);
+		}
+	}
+
+	/**
+	 * For tests - parse file contents
+	 */
+	static TspInstance parse(final String contents) {
+		return parse(contents.getBytes(StandardCharsets.US_ASCII));
+	}
+
+	/**
+	 * @param contents
+	 *                     contents of the .tsp file
+	 * @return instance
+	 */
+	static TspInstance parse(final byte[] contents) {
+		return parse(contents, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * @param contents
+	 *                         contents of the .tsp file, e.g. sent by a client
+	 * @param maxDimension
+	 *                         maximum number of nodes
+	 * @return instance
+	 */
+	static TspInstance parse(final byte[] contents, final int maxDimension) {
+		return new TsplibParser(ByteBuffer.wrap(contents), maxDimension).parse();
+	}
+
+	private TspInstance parse() {
+		String name = null;
+		EdgeWeightType edgeWeightType = null;
+		int dimension = -1;
+
+		while (true) {
+			final String line = readLine();
+			if (line == null || line.equals("EOF")) {
+				throw new IllegalArgumentException("TSPLIB file has no NODE_COORD_SECTION");
+			}
+			if (line.startsWith("NODE_COORD_SECTION")) {
+				break;
+			}
+
+			final int colon = line.indexOf(':');
+			final String key = colon < 0 ? line : line.substring(0, colon).trim();
+			final String value = colon < 0 ? "" : line.substring(colon + 1).trim();
+			switch (key) {
+				case "NAME":
+					name = value;
+					break;
+				case "TYPE":
+					if (!value.equals("TSP")) {
+						throw new IllegalArgumentException(String.format("Unsupported problem type %s", value));
+					}
+					break;
+				case "DIMENSION":
+					dimension = Integer.parseInt(value);
+					if (dimension > this.maxDimension) {
+						throw new IllegalArgumentException(String.format("TSPLIB file cannot have more than %s nodes, got %s", this.maxDimension, dimension));
+					}
+					break;
+				case "EDGE_WEIGHT_TYPE":
+					edgeWeightType = EdgeWeightType.of(value);
+					break;
+				default:
+					break;
+			}
+		}
+
+		if (edgeWeightType == null) {
+			throw new IllegalArgumentException("TSPLIB file has no EDGE_WEIGHT_TYPE");
+		}
+
+		// the declared dimension is not trusted further than the nodes which
+		// fit into the rest of the file
+		int capacity = Math.max(1, Math.min(dimension > 0 ? dimension : DEFAULT_CAPACITY, this.buffer.remaining() / MIN_NODE_BYTES));
+		int[] ids = new int[capacity];
+		double[] x = new double[capacity];
+		double[] y = new double[capacity];
+		int count = 0;
+
+		while (skipWhitespace() && !isLetter(this.buffer.get(this.buffer.position()))) {
+			if (count == capacity) {
+				capacity *= 2;
+				ids = Arrays.copyOf(ids, capacity);
+				x = Arrays.copyOf(x, capacity);
+				y = Arrays.copyOf(y, capacity);
+			}
+			ids[count] = (int) readNumber();
+			x[count] = readNumber();
+			y[count] = readNumber();
+			count++;
+			if (count > this.maxDimension) {
+				throw new IllegalArgumentException(String.format("TSPLIB file cannot have more than %s nodes", this.maxDimension));
+			}
+		}
+
+		if (dimension >= 0 && count != dimension) {
+			throw new IllegalArgumentException(String.format("TSPLIB file declares %s nodes but contains %s", dimension, count));
+		}
+
+		return new TspInstance(name, edgeWeightType, Arrays.copyOf(ids, count), Arrays.copyOf(x, count), Arrays.copyOf(y, count));
+	}
+
+	/**
+	 * @return trimmed next header line, null at the end of the file
+	 */
+	private String readLine() {
+		if (!this.buffer.hasRemaining()) {
+			return null;
+		}
+
+		final StringBuilder line = new StringBuilder();
+		while (this.buffer.hasRemaining()) {
+			final char character = (char) (this.buffer.get() & 0xFF);
+			if (character == '\n') {
+				break;
+			}
+			line.append(character);
+		}
+
+		return line.toString().trim();
+	}
+
+	/**
+	 * @return false at the end of the file
+	 */
+	private boolean skipWhitespace() {
+		while (this.buffer.hasRemaining() && this.buffer.get(this.buffer.position()) <= ' ') {
+			this.buffer.get();
+		}
+
+		return this.buffer.hasRemaining();
+	}
+
+	/**
+	 * Read a decimal number with optional sign, fraction and exponent without
+	 * creating strings
+	 */
+	private double readNumber() {
+		if (!skipWhitespace()) {
+			throw new IllegalArgumentException("Unexpected end of NODE_COORD_SECTION");
+		}
+
+		final int start = this.buffer.position();
+		boolean negative = false;
+		byte current = this.buffer.get(this.buffer.position());
+		if (current == '-' || current == '+') {
+			negative = current == '-';
+			this.buffer.get();
+		}
+
+		long mantissa = 0;
+		int digits = 0;
+		boolean empty = true;
+		int scale = 0;
+		boolean fraction = false;
+		while (this.buffer.hasRemaining()) {
+			current = this.buffer.get(this.buffer.position());
+			if (current >= '0' && current <= '9') {
+				empty = false;
+				if (digits < 18) {
+					mantissa = mantissa * 10 + (current - '0');
+					digits += mantissa == 0 ? 0 : 1;
+					scale -= fraction ? 1 : 0;
+				} else {
+					scale += fraction ? 0 : 1;
+				}
+			} else if (current == '.' && !fraction) {
+				fraction = true;
+			} else {
+				break;
+			}
+			this.buffer.get();
+		}
+
+		if (empty) {
+			throw new IllegalArgumentException(String.format("Malformed number at byte %s of TSPLIB file", start));
+		}
+
+		if (this.buffer.hasRemaining() && (current == 'e' || current == 'E')) {
+			this.buffer.get();
+			scale += (int) readNumber();
+		}
+
+		double value = mantissa;
+		if (scale < 0) {
+			value = -scale <= 22 ? value / Math.pow(10, -scale) : value * Math.pow(10, scale);
+		} else if (scale > 0) {
+			value *= Math.pow(10, scale);
+		}
+
+		return negative ? -value : value;
+	}
+
+	private static boolean isLetter(final byte character) {
+		return (character >= 'A' && character <= 'Z') || (character >= 'a' && character <= 'z');
+	}
+}
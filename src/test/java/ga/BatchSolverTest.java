@@ -0,0 +1,56 @@
+package ga;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Jagoda Wieczorek
+ */
+class BatchSolverTest {
+	@Test
+	@DisplayName("Should solve all instances with more jobs than the queue capacity")
+	void shouldSolveAllInstances_withBackpressure() throws InterruptedException {
+		// given
+		final TspInstance gr96 = TspInstance.load("resources/tsp/gr96.tsp");
+		final TspInstance gr137 = TspInstance.load("resources/tsp/gr137.tsp");
+		final SolverConfig config = new SolverConfig(50, 30, 0.2f, 0.5f);
+		config.setMutation(new InversionMutation());
+		config.setWorkers(2);
+		// when
+		final Map<TspInstance, CompletableFuture<Individual>> results;
+		try (BatchSolver solver = new BatchSolver(2, 1, 4)) {
+			results = solver.solveAll(Arrays.asList(gr96, gr137), config);
+			CompletableFuture.allOf(results.values().toArray(new CompletableFuture<?>[0])).join();
+			assertThat(solver.getAvailableCapacity()).isEqualTo(1);
+		}
+		// then
+		final Individual gr96Tour = results.get(gr96).join();
+		final Individual gr137Tour = results.get(gr137).join();
+		assertThat(gr96Tour.getGenome()).containsExactlyInAnyOrderElementsOf(IntStream.rangeClosed(1, 96).boxed()::iterator);
+		assertThat(gr96Tour.getFitness()).isEqualTo(gr96.cost(gr96.toIndices(gr96Tour.getGenes())));
+		assertThat(gr137Tour.getFitness()).isEqualTo(gr137.cost(gr137.toIndices(gr137Tour.getGenes())));
+	}
+
+	@Test
+	@DisplayName("Should share distances of an instance between its jobs")
+	void shouldShareDistances_betweenJobsOfInstance() {
+		// given
+		final TspInstance instance = TspInstance.load("resources/tsp/gr96.tsp");
+		try (BatchSolver solver = new BatchSolver(1, 1, 1)) {
+			// when
+			final DistanceProvider first = solver.getDistanceProvider(instance);
+			final DistanceProvider second = solver.getDistanceProvider(instance);
+			// then
+			assertThat(first).isSameAs(second).isInstanceOf(DistanceMatrix.class);
+			assertThat(solver.getDistanceProvider(TspInstance.load("resources/tsp/gr137.tsp"))).isNotSameAs(first);
+			assertThat(solver.getDistanceProvider(instance)).isNotSameAs(first);
+		}
+	}
+}
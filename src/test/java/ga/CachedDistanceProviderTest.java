@@ -0,0 +1,100 @@
+package ga;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link CachedDistanceProvider}
+ *
+ * @author Jagoda Wieczorek
+ */
+class CachedDistanceProviderTest {
+	private final TspInstance instance = TspInstance.load("resources/tsp/gr96.tsp");
+
+	@Test
+	@DisplayName("Should return the same distances as the source provider")
+	void shouldReturnSourceDistances() {
+		// given
+		final CachedDistanceProvider cachedDistanceProvider = new CachedDistanceProvider(this.instance, 64);
+		final Random random = new Random();
+		// when, then
+		for (int i = 0; i < 10_000; i++) {
+			final int from = random.nextInt(96);
+			final int to = random.nextInt(96);
+			assertThat(cachedDistanceProvider.getDistance(from, to)).isEqualTo(this.instance.getDistance(from, to));
+		}
+		assertThat(cachedDistanceProvider.getHitCount() + cachedDistanceProvider.getMissCount()).isPositive().isLessThanOrEqualTo(10_000);
+	}
+
+	@Test
+	@DisplayName("Should count hits and misses of symmetric pairs")
+	void shouldCountHitsAndMisses() {
+		// given
+		final CachedDistanceProvider cachedDistanceProvider = new CachedDistanceProvider(this.instance, 1024);
+		// when
+		cachedDistanceProvider.getDistance(3, 7);
+		cachedDistanceProvider.getDistance(7, 3);
+		cachedDistanceProvider.getDistance(3, 7);
+		cachedDistanceProvider.getDistance(5, 5);
+		// then
+		assertThat(cachedDistanceProvider.getMissCount()).isEqualTo(1);
+		assertThat(cachedDistanceProvider.getHitCount()).isEqualTo(2);
+	}
+
+	@Test
+	@DisplayName("Should keep the frequently hit pair when the set is full")
+	void shouldEvictLessFrequentlyHitPair() {
+		// given
+		final CachedDistanceProvider cachedDistanceProvider = new CachedDistanceProvider(this.instance, 2);
+		cachedDistanceProvider.getDistance(0, 1);
+		cachedDistanceProvider.getDistance(0, 1);
+		cachedDistanceProvider.getDistance(0, 1);
+		cachedDistanceProvider.getDistance(0, 2);
+		// when
+		cachedDistanceProvider.getDistance(0, 3);
+		final long misses = cachedDistanceProvider.getMissCount();
+		cachedDistanceProvider.getDistance(0, 1);
+		// then
+		assertThat(cachedDistanceProvider.getCapacity()).isEqualTo(2);
+		assertThat(cachedDistanceProvider.getMissCount()).isEqualTo(misses);
+	}
+
+	@Test
+	@DisplayName("Should return source distances when read concurrently")
+	void shouldReturnSourceDistances_whenReadConcurrently() {
+		// given
+		final CachedDistanceProvider cachedDistanceProvider = new CachedDistanceProvider(this.instance, 256);
+		// when
+		final long wrong = IntStream.range(0, 200_000).parallel()
+				.filter(i -> cachedDistanceProvider.getDistance(i % 96, i / 96 % 96) != this.instance.getDistance(i % 96, i / 96 % 96)).count();
+		// then
+		assertThat(wrong).isZero();
+	}
+
+	@Test
+	@DisplayName("Should compute tour cost and place indices like distance matrix")
+	void shouldComputeCostLikeDistanceMatrix() {
+		// given
+		final DistanceMatrix distanceMatrix = this.instance.toDistanceMatrix();
+		final CachedDistanceProvider cachedDistanceProvider = new CachedDistanceProvider(this.instance, 128);
+		final int[] genome = new RandomAlgorithm().initialize(distanceMatrix);
+		// when, then
+		assertThat(cachedDistanceProvider.cost(genome)).isEqualTo(distanceMatrix.cost(genome));
+		assertThat(cachedDistanceProvider.getIndex(42)).isEqualTo(distanceMatrix.getIndex(42));
+		assertThat(cachedDistanceProvider.toIds(genome)).containsExactly(distanceMatrix.toIds(genome));
+	}
+
+	@Test
+	@DisplayName("Should throw exception when capacity is too small")
+	void shouldThrowException_whenCapacityIsTooSmall() {
+		// when, then
+		assertThatThrownBy(() -> new CachedDistanceProvider(this.instance, 1)).isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Cache capacity cannot be less than 2");
+	}
+}
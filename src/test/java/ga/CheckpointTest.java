@@ -0,0 +1,185 @@
+package ga;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link Checkpoint} and resuming {@link GeneticAlgorithm}
+ *
+ * @author Jagoda Wieczorek
+ */
+class CheckpointTest {
+	private final TspInstance instance = TspInstance.load("resources/tsp/gr96.tsp");
+
+	@TempDir
+	Path directory;
+
+	@Test
+	@DisplayName("Should read the population written to the checkpoint")
+	void shouldReadWrittenPopulation() {
+		// given
+		final DistanceMatrix distanceMatrix = this.instance.toDistanceMatrix();
+		final Population population = new Population(50, distanceMatrix, new RandomAlgorithm());
+		final Path path = this.directory.resolve("run.checkpoint");
+		// when
+		Checkpoint.of(42L, 7, 2, population, population.getBestIndividual(), new ImprovementHistory(population.getBestFitness())).write(path);
+		final Checkpoint checkpoint = Checkpoint.read(path);
+		final Population restored = checkpoint.toPopulation();
+		// then
+		assertThat(checkpoint.getSeed()).isEqualTo(42L);
+		assertThat(checkpoint.getGeneration()).isEqualTo(7);
+		assertThat(checkpoint.getWorkers()).isEqualTo(2);
+		assertThat(checkpoint.getBestFitness()).isEqualTo(population.getBestFitness());
+		assertThat(restored.isComplete()).isTrue();
+		assertThat(restored.getAvgFitness()).isEqualTo(population.getAvgFitness());
+		for (int i = 0; i < 50; i++) {
+			assertThat(restored.getIndividuals().get(i).getGenes()).containsExactly(population.getIndividuals().get(i).getGenes());
+			assertThat(restored.getIndividuals().get(i).getFitness()).isEqualTo(population.getIndividuals().get(i).getFitness());
+		}
+	}
+
+	@Test
+	@DisplayName("Should throw exception when the checkpoint is corrupted")
+	void shouldThrowException_whenCheckpointIsCorrupted() throws IOException {
+		// given
+		final DistanceMatrix distanceMatrix = this.instance.toDistanceMatrix();
+		final Population population = new Population(10, distanceMatrix, new RandomAlgorithm());
+		final Path path = this.directory.resolve("run.checkpoint");
+		Checkpoint.of(42L, 7, 1, population, population.getBestIndividual(), new ImprovementHistory(population.getBestFitness())).write(path);
+		final byte[] bytes = Files.readAllBytes(path);
+		bytes[100] ^= 1;
+		Files.write(path, bytes);
+		// when, then
+		assertThatThrownBy(() -> Checkpoint.read(path)).isInstanceOf(IllegalArgumentException.class)
+				.hasMessage(String.format("Checkpoint %s is corrupted", path));
+	}
+
+	@Test
+	@DisplayName("Should resume the run with the same result as a run which was not stopped")
+	void shouldResumeRun_withTheSameResult() {
+		// given
+		final Path path = this.directory.resolve("run.checkpoint");
+		final GeneticAlgorithm stopped = geneticAlgorithm(20);
+		stopped.setCheckpointing(path, 20);
+		stopped.run();
+		final GeneticAlgorithm resumed = geneticAlgorithm(40);
+		final GeneticAlgorithm uninterrupted = geneticAlgorithm(40);
+		// when
+		final Individual individual = resumed.resume(path);
+		final Individual expected = uninterrupted.run();
+		// then
+		assertThat(Checkpoint.read(path).getGeneration()).isEqualTo(20);
+		assertThat(individual.getFitness()).isEqualTo(expected.getFitness());
+		assertThat(individual.getGenes()).containsExactly(expected.getGenes());
+	}
+
+	@Test
+	@DisplayName("Should resume the run with restarts and termination criteria with the same result as a run which was not stopped")
+	void shouldResumeRunWithRestartsAndCriteria_withTheSameResult() {
+		// given
+		final Path path = this.directory.resolve("run.checkpoint");
+		final GeneticAlgorithm stopped = restartedGeneticAlgorithm(20);
+		stopped.setCheckpointing(path, 20);
+		stopped.run();
+		final GeneticAlgorithm resumed = restartedGeneticAlgorithm(60);
+		final GeneticAlgorithm uninterrupted = restartedGeneticAlgorithm(60);
+		final GenerationCounter resumedGenerations = new GenerationCounter();
+		final GenerationCounter uninterruptedGenerations = new GenerationCounter();
+		resumed.addGenerationListener(resumedGenerations);
+		uninterrupted.addGenerationListener(uninterruptedGenerations);
+		// when
+		final Individual individual = resumed.resume(path);
+		final Individual expected = uninterrupted.run();
+		// then
+		assertThat(resumedGenerations.last).isEqualTo(uninterruptedGenerations.last);
+		assertThat(individual.getFitness()).isEqualTo(expected.getFitness());
+		assertThat(individual.getGenes()).containsExactly(expected.getGenes());
+	}
+
+	@Test
+	@DisplayName("Should throw exception when the checkpoint was written for another instance")
+	void shouldThrowException_whenResumedForAnotherInstance() {
+		// given
+		final Path path = this.directory.resolve("run.checkpoint");
+		final GeneticAlgorithm geneticAlgorithm = GeneticAlgorithm.create(30, 5, 0.2f, 0.5f, TspInstance.load("resources/tsp/gr137.tsp"),
+				new Tournament(5), new PartiallyMappedCrossover(), new SwapMutation(), new RandomAlgorithm());
+		geneticAlgorithm.setCheckpointing(path, 5);
+		geneticAlgorithm.run();
+		// when, then
+		assertThatThrownBy(() -> geneticAlgorithm(40).resume(path)).isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Checkpoint of 137 places cannot be resumed for 96 places");
+	}
+
+	@Test
+	@DisplayName("Should report only the checkpoints written successfully")
+	void shouldReportWrittenCheckpoints() {
+		// given
+		final Population population = new Population(10, this.instance, new RandomAlgorithm(), 3L);
+		final Checkpoint checkpoint = Checkpoint.of(42L, 7, 1, population, population.getBestIndividual(),
+				new ImprovementHistory(population.getBestFitness()));
+		final AtomicInteger written = new AtomicInteger();
+		// when
+		try (CheckpointWriter writer = new CheckpointWriter(this.directory.resolve("missing").resolve("run.checkpoint"))) {
+			writer.write(checkpoint, written::incrementAndGet);
+		}
+		try (CheckpointWriter writer = new CheckpointWriter(this.directory.resolve("run.checkpoint"))) {
+			writer.write(checkpoint, written::incrementAndGet);
+		}
+		// then
+		assertThat(written).hasValue(1);
+	}
+
+	@Test
+	@DisplayName("Should write the last checkpoint again when writing it in the background failed")
+	void shouldRetryCheckpoint_whenBackgroundWriteFailed() {
+		// given
+		final Path path = this.directory.resolve("missing").resolve("run.checkpoint");
+		final GeneticAlgorithm geneticAlgorithm = geneticAlgorithm(20);
+		geneticAlgorithm.setCheckpointing(path, 20);
+		// when, then
+		assertThatThrownBy(geneticAlgorithm::run).isInstanceOf(UncheckedIOException.class).hasMessage("Cannot write checkpoint " + path);
+	}
+
+	/**
+	 * @return algorithm with deterministic initial population and fixed seed
+	 */
+	private GeneticAlgorithm geneticAlgorithm(final int numberOfGenerations) {
+		final GeneticAlgorithm geneticAlgorithm = GeneticAlgorithm.create(30, numberOfGenerations, 0.5f, 0.8f, this.instance, new Tournament(5),
+				new PartiallyMappedCrossover(), new InversionMutation(), new GraspAlgorithm(1));
+		geneticAlgorithm.setSeed(11L);
+
+		return geneticAlgorithm;
+	}
+
+	/**
+	 * @return algorithm with partial restarts and stateful termination
+	 *         criteria
+	 */
+	private GeneticAlgorithm restartedGeneticAlgorithm(final int numberOfGenerations) {
+		final GeneticAlgorithm geneticAlgorithm = geneticAlgorithm(numberOfGenerations);
+		geneticAlgorithm.setRestart(2, 0.5f);
+		geneticAlgorithm.addTerminationCriterion(new StagnationCriterion(15));
+		geneticAlgorithm.addTerminationCriterion(new ImprovementCriterion(0.001, 25));
+
+		return geneticAlgorithm;
+	}
+
+	private static class GenerationCounter implements GenerationListener {
+		private int last;
+
+		@Override
+		public void onGeneration(final GenerationStatistics statistics) {
+			this.last = statistics.getGeneration();
+		}
+	}
+}
@@ -0,0 +1,66 @@
+package ga;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import tsp.Place;
+import tsp.TSP;
+
+/**
+ * Distance matrix tests
+ *
+ * @author Jagoda Wieczorek
+ */
+class DistanceMatrixTest {
+
+	@Test
+	@DisplayName("Should calculate the same tour cost as places map")
+	void shouldCalculateTheSameCostAsPlacesMap() {
+		// given
+		final TreeMap<Integer, Place> places = places();
+		final DistanceMatrix distanceMatrix = DistanceMatrix.of(places);
+		final int[] genome = new int[] { 4, 1, 5, 3 };
+		// when
+		final int cost = distanceMatrix.cost(distanceMatrix.toIndices(genome));
+		// then
+		assertThat(cost).isEqualTo(new Individual(genome).calculateFitness(places));
+	}
+
+	@Test
+	@DisplayName("Should remap place ids to dense indices and back")
+	void shouldRemapIdsToIndicesAndBack() {
+		// given
+		final DistanceMatrix distanceMatrix = DistanceMatrix.of(places());
+		final int[] genome = new int[] { 4, 1, 5, 3 };
+		// when
+		final int[] indices = distanceMatrix.toIndices(genome);
+		// then
+		assertThat(indices).containsExactly(2, 0, 3, 1);
+		assertThat(distanceMatrix.toIds(indices)).containsExactly(genome);
+	}
+
+	@Test
+	@DisplayName("Should throw IllegalArgumentException for unknown place id")
+	void shouldThrowIllegalArgumentException_whenPlaceIdIsUnknown() {
+		// given
+		final DistanceMatrix distanceMatrix = DistanceMatrix.of(places());
+		// then
+		assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> distanceMatrix.getIndex(7)).withMessage("Unknown place id 7");
+	}
+
+	/**
+	 * @return places with ids 1, 3, 4, 5 (not continuous on purpose)
+	 */
+	private TreeMap<Integer, Place> places() {
+		final TreeMap<Integer, Place> places = new TreeMap<>(Map.of(1, new Place(1, 71.17f, -156.47f), 3, new Place(3, 64.51f, -147.43f), 4,
+				new Place(4, 61.13f, -149.53f), 5, new Place(5, 58.20f, -134.27f)));
+
+		return TSP.calculateDistances(places);
+	}
+}
@@ -0,0 +1,80 @@
+package ga;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link FitnessCache}
+ *
+ * @author Jagoda Wieczorek
+ */
+class FitnessCacheTest {
+	private final DistanceMatrix distanceMatrix = TspInstance.load("resources/tsp/gr96.tsp").toDistanceMatrix();
+
+	@Test
+	@DisplayName("Should hash rotations and reversals of a tour to the same value")
+	void shouldHashRotationsAndReversalsEqually() {
+		// given
+		final int[] genome = { 0, 1, 2, 3, 4, 5 };
+		final int[] rotated = { 3, 4, 5, 0, 1, 2 };
+		final int[] reversed = { 2, 1, 0, 5, 4, 3 };
+		final int[] other = { 0, 2, 1, 3, 4, 5 };
+		// when
+		final long hash = FitnessCache.hash(genome);
+		// then
+		assertThat(FitnessCache.hash(rotated)).isEqualTo(hash);
+		assertThat(FitnessCache.hash(reversed)).isEqualTo(hash);
+		assertThat(FitnessCache.hash(other)).isNotEqualTo(hash);
+		assertThat(FitnessCache.verifier(rotated, 0, 6)).isEqualTo(FitnessCache.verifier(genome, 0, 6));
+		assertThat(FitnessCache.verifier(reversed, 0, 6)).isEqualTo(FitnessCache.verifier(genome, 0, 6));
+		assertThat(FitnessCache.verifier(other, 0, 6)).isNotEqualTo(FitnessCache.verifier(genome, 0, 6));
+	}
+
+	@Test
+	@DisplayName("Should read cost of an already evaluated tour from the cache")
+	void shouldReadCostOfEvaluatedTour() {
+		// given
+		final FitnessCache fitnessCache = new FitnessCache(this.distanceMatrix, 16);
+		final int[] genome = new RandomAlgorithm().initialize(this.distanceMatrix);
+		final int[] rotated = new int[genome.length];
+		for (int i = 0; i < genome.length; i++) {
+			rotated[i] = genome[(i + 10) % genome.length];
+		}
+		// when
+		final int cost = fitnessCache.cost(genome);
+		final int rotatedCost = fitnessCache.cost(rotated);
+		// then
+		assertThat(cost).isEqualTo(this.distanceMatrix.cost(genome));
+		assertThat(rotatedCost).isEqualTo(cost);
+		assertThat(fitnessCache.getEvaluations()).isEqualTo(1);
+		assertThat(fitnessCache.getSavedEvaluations()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("Should evaluate tours replaced in the bounded cache again")
+	void shouldEvaluateReplacedTourAgain() {
+		// given
+		final FitnessCache fitnessCache = new FitnessCache(this.distanceMatrix, 1);
+		final int[] genome = new RandomAlgorithm().initialize(this.distanceMatrix);
+		final int[] other = new RandomAlgorithm().initialize(this.distanceMatrix);
+		// when
+		fitnessCache.cost(genome);
+		fitnessCache.cost(other);
+		final int cost = fitnessCache.cost(genome);
+		// then
+		assertThat(cost).isEqualTo(this.distanceMatrix.cost(genome));
+		assertThat(fitnessCache.getCapacity()).isEqualTo(1);
+		assertThat(fitnessCache.getEvaluations()).isEqualTo(3);
+	}
+
+	@Test
+	@DisplayName("Should throw exception when capacity is not positive")
+	void shouldThrowException_whenCapacityIsNotPositive() {
+		// when, then
+		assertThatThrownBy(() -> new FitnessCache(this.distanceMatrix, 0)).isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Cache capacity cannot be less or equal 0");
+	}
+}
@@ -1,10 +1,21 @@
 package ga;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import tsp.TSP;
+
 /**
  * Genetic Algorithm test
  *
@@ -53,4 +64,167 @@ class GeneticAlgorithmTest {
 				.isThrownBy(() -> new GeneticAlgorithm(populationSize, numberOfGenerations, mutationProbability, crossoverProbability))
 				.withMessage("Probability has to be in range <0,1>");
 	}
+
+	@Test
+	@DisplayName("Should return the best tour found within the time budget")
+	void shouldReturnBestTour_withinTimeBudget() {
+		// given
+		final TSP tsp = new TSP("resources/tsp/gr96.tsp");
+		final GeneticAlgorithm geneticAlgorithm = GeneticAlgorithm.create(100, 1, 0.2f, 0.5f, tsp, new Tournament(5), new PartiallyMappedCrossover(),
+				new RandomAlgorithm(), 250);
+		final long[] generationNanos = new long[2];
+		geneticAlgorithm.addGenerationListener(statistics -> {
+			final long now = System.nanoTime();
+			if (generationNanos[0] != 0L) {
+				generationNanos[1] = Math.max(generationNanos[1], now - generationNanos[0]);
+			}
+			generationNanos[0] = now;
+		});
+		final long start = System.nanoTime();
+		// when
+		final Individual individual = geneticAlgorithm.run();
+		// then
+		// the run may finish the generation started before the deadline, the
+		// slack covers reading the instance and a loaded machine
+		final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		assertThat(elapsedMillis).isGreaterThanOrEqualTo(250L).isLessThan(250L + TimeUnit.NANOSECONDS.toMillis(generationNanos[1]) + 2_000L);
+		assertThat(individual.getGenome()).containsExactlyInAnyOrderElementsOf(IntStream.rangeClosed(1, 96).boxed()::iterator);
+		assertThat(individual.getFitness()).isEqualTo(individual.calculateFitness(tsp.getPlaces()));
+	}
+
+	@Test
+	@DisplayName("Should stop the run when the deadline is cancelled from another thread")
+	void shouldStopRun_whenDeadlineIsCancelled() {
+		// given
+		final TSP tsp = new TSP("resources/tsp/gr96.tsp");
+		final GeneticAlgorithm geneticAlgorithm = GeneticAlgorithm.create(100, Integer.MAX_VALUE, 0.2f, 0.5f, tsp, new Tournament(5),
+				new PartiallyMappedCrossover(), new RandomAlgorithm());
+		final Deadline deadline = Deadline.none();
+		final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+		scheduler.schedule(deadline::cancel, 100, TimeUnit.MILLISECONDS);
+		// when
+		final Individual individual = geneticAlgorithm.run(deadline);
+		scheduler.shutdown();
+		// then
+		assertThat(deadline.isCancelled()).isTrue();
+		assertThat(individual.getFitness()).isEqualTo(individual.calculateFitness(tsp.getPlaces()));
+	}
+
+	@Test
+	@DisplayName("Should evolve tour of TSP instance loaded from TSPLIB file")
+	void shouldReturnBestTour_forTspInstance() {
+		// given
+		final TspInstance instance = TspInstance.load("resources/tsp/gr96.tsp");
+		final GeneticAlgorithm geneticAlgorithm = GeneticAlgorithm.create(100, 50, 0.2f, 0.5f, instance, new Tournament(5),
+				new PartiallyMappedCrossover(), new InversionMutation(), new GraspAlgorithm(2));
+		// when
+		final Individual individual = geneticAlgorithm.run();
+		// then
+		assertThat(individual.getGenome()).containsExactlyInAnyOrderElementsOf(IntStream.rangeClosed(1, 96).boxed()::iterator);
+		assertThat(individual.getFitness())
+				.isEqualTo(geneticAlgorithm.getDistanceMatrix().cost(geneticAlgorithm.getDistanceMatrix().toIndices(individual.getGenes())));
+	}
+
+	@Test
+	@DisplayName("Should evolve tour on distances computed on demand")
+	void shouldReturnBestTour_forCachedDistances() {
+		// given
+		final TspInstance instance = TspInstance.load("resources/tsp/gr96.tsp");
+		final CachedDistanceProvider distanceProvider = new CachedDistanceProvider(instance, 1024);
+		final GeneticAlgorithm geneticAlgorithm = GeneticAlgorithm.create(100, 50, 0.2f, 0.5f, instance, new Tournament(5),
+				new PartiallyMappedCrossover(), new InversionMutation(), new RandomAlgorithm());
+		geneticAlgorithm.setDistanceProvider(distanceProvider);
+		// when
+		final Individual individual = geneticAlgorithm.run();
+		// then
+		assertThat(individual.getFitness()).isEqualTo(instance.cost(instance.toIndices(individual.getGenes())));
+		assertThat(distanceProvider.getHitCount()).isPositive();
+	}
+
+	@Test
+	@DisplayName("Should report statistics of every generation to listeners")
+	void shouldNotifyListener_afterEveryGeneration() {
+		// given
+		final TspInstance instance = TspInstance.load("resources/tsp/gr96.tsp");
+		final GeneticAlgorithm geneticAlgorithm = GeneticAlgorithm.create(100, 20, 0.2f, 0.5f, instance, new Tournament(5),
+				new PartiallyMappedCrossover(), new InversionMutation(), new RandomAlgorithm());
+		final List<GenerationStatistics> statistics = new ArrayList<>();
+		geneticAlgorithm.addGenerationListener(statistics::add);
+		// when
+		final Individual individual = geneticAlgorithm.run();
+		// then
+		assertThat(statistics).hasSize(20);
+		assertThat(statistics).extracting(GenerationStatistics::getGeneration).containsExactlyElementsOf(IntStream.rangeClosed(1, 20).boxed()::iterator);
+		assertThat(statistics.get(19).getBestFitnessSoFar()).isEqualTo(individual.getFitness());
+		for (final GenerationStatistics generation: statistics) {
+			assertThat(generation.getBestFitness()).isLessThanOrEqualTo(generation.getAvgFitness());
+			assertThat(generation.getAvgFitness()).isLessThanOrEqualTo(generation.getWorstFitness());
+			assertThat(generation.getDiversity()).isBetween(0.01f, 1f);
+			assertThat(generation.getEvaluations()).isBetween(1, 100);
+			assertThat(generation.getPhaseNanos(GenerationStatistics.Phase.CROSSOVER)).isPositive();
+			assertThat(generation.getGenerationNanos()).isPositive();
+		}
+	}
+
+	@Test
+	@DisplayName("Should stop the run early when the best fitness stagnates")
+	void shouldStopEarly_whenBestFitnessStagnates() {
+		// given
+		final TspInstance instance = TspInstance.load("resources/tsp/gr96.tsp");
+		final GeneticAlgorithm geneticAlgorithm = GeneticAlgorithm.create(50, 10_000, 0.2f, 0.5f, instance, new Tournament(5),
+				new PartiallyMappedCrossover(), new InversionMutation(), new RandomAlgorithm());
+		geneticAlgorithm.addTerminationCriterion(new StagnationCriterion(20));
+		final List<GenerationStatistics> statistics = new ArrayList<>();
+		geneticAlgorithm.addGenerationListener(statistics::add);
+		// when
+		final Individual individual = geneticAlgorithm.run();
+		// then
+		assertThat(statistics).hasSizeLessThan(10_000);
+		final GenerationStatistics last = statistics.get(statistics.size() - 1);
+		assertThat(statistics).filteredOn(generation -> generation.getBestFitness() == last.getBestFitnessSoFar()).isNotEmpty();
+		assertThat(last.getBestFitnessSoFar()).isEqualTo(individual.getFitness());
+	}
+
+	@Test
+	@DisplayName("Should give the same run for the same master seed and number of workers")
+	void shouldGiveTheSameRun_forTheSameSeed() {
+		// given
+		final TspInstance instance = TspInstance.load("resources/tsp/gr96.tsp");
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		final Individual[] individuals = new Individual[2];
+		// when
+		for (int run = 0; run < individuals.length; run++) {
+			final GeneticAlgorithm geneticAlgorithm = GeneticAlgorithm.create(60, 30, 0.2f, 0.5f, instance, new Tournament(5),
+					new PartiallyMappedCrossover(), new InversionMutation(), new GraspAlgorithm(3));
+			geneticAlgorithm.setSeed(2024L);
+			geneticAlgorithm.setParallelism(run == 0 ? pool : null, 4);
+			individuals[run] = geneticAlgorithm.run();
+		}
+		pool.shutdown();
+		// then
+		assertThat(individuals[1].getGenome()).isEqualTo(individuals[0].getGenome());
+		assertThat(individuals[1].getFitness()).isEqualTo(individuals[0].getFitness());
+	}
+
+	@Test
+	@DisplayName("Should give the same run in population arenas as in populations of individuals")
+	void shouldGiveTheSameRun_inPopulationArenas() {
+		// given
+		final TspInstance instance = TspInstance.load("resources/tsp/gr96.tsp");
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		final Individual[] individuals = new Individual[2];
+		// when
+		for (int run = 0; run < individuals.length; run++) {
+			final GeneticAlgorithm geneticAlgorithm = GeneticAlgorithm.create(60, 30, 0.2f, 0.5f, instance, new Tournament(5),
+					new PartiallyMappedCrossover(), new InversionMutation(), new GraspAlgorithm(3));
+			geneticAlgorithm.setSeed(2024L);
+			geneticAlgorithm.setParallelism(pool, 4);
+			geneticAlgorithm.setArena(run == 0);
+			individuals[run] = geneticAlgorithm.run();
+		}
+		pool.shutdown();
+		// then
+		assertThat(individuals[1].getGenome()).isEqualTo(individuals[0].getGenome());
+		assertThat(individuals[1].getFitness()).isEqualTo(individuals[0].getFitness());
+	}
 }
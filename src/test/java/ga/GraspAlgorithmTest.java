@@ -0,0 +1,66 @@
+package ga;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.RepetitionInfo;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link GraspAlgorithm}
+ *
+ * @author Jagoda Wieczorek
+ */
+class GraspAlgorithmTest {
+	private static final int SIZE = 100;
+
+	@DisplayName("Should build tour starting at the first place and containing all places")
+	@RepeatedTest(10)
+	void shouldBuildTourOfAllPlaces(final RepetitionInfo repetitionInfo) {
+		// given
+		final long seed = RandomPoints.seed(repetitionInfo);
+		final DistanceMatrix distanceMatrix = RandomPoints.distanceMatrix(SIZE, seed);
+		// when
+		final int[] genome = new GraspAlgorithm(3).initialize(distanceMatrix, new SplittableRandom(seed));
+		// then
+		assertThat(genome[0]).isZero();
+		assertThat(genome).containsExactlyInAnyOrder(IntStream.range(0, SIZE).toArray());
+	}
+
+	@Test
+	@DisplayName("Should build nearest neighbor tour when RCL holds one place")
+	void shouldBuildNearestNeighborTour() {
+		// given
+		final DistanceMatrix distanceMatrix = RandomPoints.distanceMatrix(SIZE);
+		final int[] expected = new int[SIZE];
+		final boolean[] visited = new boolean[SIZE];
+		visited[0] = true;
+		for (int i = 1; i < SIZE; i++) {
+			int nearest = -1;
+			for (int place = 0; place < SIZE; place++) {
+				if (!visited[place] && (nearest < 0 || distanceMatrix.getDistance(expected[i - 1], place) < distanceMatrix.getDistance(expected[i - 1], nearest))) {
+					nearest = place;
+				}
+			}
+			expected[i] = nearest;
+			visited[nearest] = true;
+		}
+		// when
+		final int[] genome = new GraspAlgorithm(1).initialize(distanceMatrix);
+		// then
+		assertThat(genome).containsExactly(expected);
+	}
+
+	@Test
+	@DisplayName("Should throw exception when RCL size is not positive")
+	void shouldThrowExceptionForEmptyRcl() {
+		// when, then
+		assertThatThrownBy(() -> new GraspAlgorithm(0)).isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("RCL size cannot be less or equal 0");
+	}
+}
@@ -0,0 +1,164 @@
+package ga;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Jagoda Wieczorek
+ */
+class IncumbentPublisherTest {
+	@Test
+	@DisplayName("Should publish improving tours and the best tour of the run before completion")
+	void shouldPublishImprovingTours() throws InterruptedException {
+		// given
+		final TspInstance instance = TspInstance.load("resources/tsp/gr96.tsp");
+		final GeneticAlgorithm geneticAlgorithm = algorithm(instance, 200);
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		final RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+		// when
+		new IncumbentPublisher(geneticAlgorithm, executor).subscribe(subscriber);
+		// then
+		assertThat(subscriber.completed.await(10, TimeUnit.SECONDS)).isTrue();
+		executor.shutdown();
+		assertThat(subscriber.error).isNull();
+		assertThat(subscriber.tours).hasSizeGreaterThan(1);
+		for (int i = 1; i < subscriber.tours.size(); i++) {
+			assertThat(subscriber.tours.get(i).getFitness()).isLessThan(subscriber.tours.get(i - 1).getFitness());
+		}
+		final Individual last = subscriber.tours.get(subscriber.tours.size() - 1);
+		assertThat(last.getFitness()).isEqualTo(instance.cost(instance.toIndices(last.getGenes())));
+	}
+
+	@Test
+	@DisplayName("Should conflate tours while the subscriber has no demand")
+	void shouldConflateTours_withoutDemand() throws InterruptedException {
+		// given
+		final TspInstance instance = TspInstance.load("resources/tsp/gr96.tsp");
+		final GeneticAlgorithm geneticAlgorithm = algorithm(instance, 200);
+		final List<Integer> improvements = new CopyOnWriteArrayList<>();
+		geneticAlgorithm.addGenerationListener(statistics -> improvements.add(statistics.getBestFitnessSoFar()));
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		final RecordingSubscriber subscriber = new RecordingSubscriber(0);
+		// when
+		new IncumbentPublisher(geneticAlgorithm, executor).subscribe(subscriber);
+		executor.shutdown();
+		assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+		subscriber.subscription.request(5);
+		// then
+		assertThat(subscriber.completed.await(1, TimeUnit.SECONDS)).isTrue();
+		assertThat(subscriber.tours).hasSize(1);
+		assertThat(subscriber.tours.get(0).getFitness()).isEqualTo(improvements.get(improvements.size() - 1));
+	}
+
+	@Test
+	@DisplayName("Should finish the run while a slow subscriber handles a tour")
+	void shouldFinishRun_whileSubscriberIsSlow() throws InterruptedException {
+		// given
+		final TspInstance instance = TspInstance.load("resources/tsp/gr96.tsp");
+		final GeneticAlgorithm geneticAlgorithm = algorithm(instance, 200);
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		final CountDownLatch released = new CountDownLatch(1);
+		final RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE) {
+			@Override
+			public void onNext(final Individual item) {
+				super.onNext(item);
+				try {
+					released.await();
+				} catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		};
+		// when
+		new IncumbentPublisher(geneticAlgorithm, executor).subscribe(subscriber);
+		executor.shutdown();
+		final boolean finished;
+		try {
+			finished = executor.awaitTermination(10, TimeUnit.SECONDS);
+		} finally {
+			released.countDown();
+		}
+		// then
+		assertThat(finished).isTrue();
+		assertThat(subscriber.completed.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(subscriber.tours).hasSize(2);
+	}
+
+	@Test
+	@DisplayName("Should stop the run when the subscription is cancelled")
+	void shouldStopRun_whenSubscriptionIsCancelled() throws InterruptedException {
+		// given
+		final TspInstance instance = TspInstance.load("resources/tsp/gr96.tsp");
+		final GeneticAlgorithm geneticAlgorithm = algorithm(instance, 10_000_000);
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		final RecordingSubscriber subscriber = new RecordingSubscriber(1) {
+			@Override
+			public void onNext(final Individual item) {
+				super.onNext(item);
+				this.subscription.cancel();
+			}
+		};
+		// when
+		new IncumbentPublisher(geneticAlgorithm, executor).subscribe(subscriber);
+		executor.shutdown();
+		// then
+		assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(subscriber.tours).hasSize(1);
+		assertThat(subscriber.completed.getCount()).isEqualTo(1);
+	}
+
+	private static GeneticAlgorithm algorithm(final TspInstance instance, final int generations) {
+		return GeneticAlgorithm.create(50, generations, 0.2f, 0.5f, instance, new Tournament(5), new PartiallyMappedCrossover(), new InversionMutation(),
+				new RandomAlgorithm());
+	}
+
+	private static class RecordingSubscriber implements Flow.Subscriber<Individual> {
+		final List<Individual> tours = new CopyOnWriteArrayList<>();
+
+		final CountDownLatch completed = new CountDownLatch(1);
+
+		final long initialDemand;
+
+		volatile Flow.Subscription subscription;
+
+		volatile Throwable error;
+
+		RecordingSubscriber(final long initialDemand) {
+			this.initialDemand = initialDemand;
+		}
+
+		@Override
+		public void onSubscribe(final Flow.Subscription subscription) {
+			this.subscription = subscription;
+			if (this.initialDemand > 0) {
+				subscription.request(this.initialDemand);
+			}
+		}
+
+		@Override
+		public void onNext(final Individual item) {
+			this.tours.add(item);
+		}
+
+		@Override
+		public void onError(final Throwable throwable) {
+			this.error = throwable;
+			this.completed.countDown();
+		}
+
+		@Override
+		public void onComplete() {
+			this.completed.countDown();
+		}
+	}
+}
@@ -51,9 +51,9 @@ class IndividualTest {
 		// given
 		final Individual individual = new Individual();
 		// when
-		final ArrayList<Integer> genome = individual.randomGenome(1, 137);
+		final int[] genome = individual.randomGenome(1, 137);
 		// then
-		assertThat(genome.size()).isEqualTo(137);
+		assertThat(genome).hasSize(137);
 	}
 
 	@Test
@@ -0,0 +1,128 @@
+package ga;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import tsp.TSP;
+
+/**
+ * Island model test
+ *
+ * @author Jagoda Wieczorek
+ */
+class IslandGeneticAlgorithmTest {
+
+	@Test
+	@DisplayName("Should return valid tour found on all islands")
+	void shouldReturnValidTour() {
+		// given
+		final TSP tsp = new TSP("resources/tsp/gr96.tsp");
+		final GeneticAlgorithm algorithm = GeneticAlgorithm.create(50, 20, 0.2f, 0.5f, tsp, new Tournament(5), new PartiallyMappedCrossover(),
+				new RandomAlgorithm());
+		final IslandGeneticAlgorithm islandModel = new IslandGeneticAlgorithm(algorithm, 4, 5, 2, MigrationTopology.RING);
+		// when
+		final Individual individual = islandModel.run();
+		// then
+		assertThat(individual.getGenome()).containsExactlyInAnyOrderElementsOf(IntStream.rangeClosed(1, 96).boxed()::iterator);
+		assertThat(individual.getFitness()).isEqualTo(individual.calculateFitness(tsp.getPlaces()));
+	}
+
+	@Test
+	@DisplayName("Should return the best tour ever seen on the islands, not the best tour of the last generation")
+	void shouldReturnBestTourEverSeen() {
+		// given
+		final TSP tsp = new TSP("resources/tsp/gr96.tsp");
+		// scrambling every offspring loses good tours, nothing keeps them
+		final GeneticAlgorithm algorithm = GeneticAlgorithm.create(10, 40, 1f, 1f, tsp, new Tournament(2), new PartiallyMappedCrossover(),
+				new ScrambleMutation(), new GraspAlgorithm(1));
+		algorithm.setSeed(5L);
+		final List<GenerationStatistics> generations = new ArrayList<>();
+		algorithm.addGenerationListener(generations::add);
+		final IslandGeneticAlgorithm islandModel = new IslandGeneticAlgorithm(algorithm, 3, 5, 1, MigrationTopology.RING);
+		// when
+		final Individual individual = islandModel.run();
+		// then
+		assertThat(generations).hasSize(3 * 40);
+		assertThat(individual.getFitness()).isEqualTo(generations.stream().mapToInt(GenerationStatistics::getBestFitnessSoFar).min().getAsInt())
+				.isLessThanOrEqualTo(generations.stream().mapToInt(GenerationStatistics::getBestFitness).min().getAsInt());
+		assertThat(individual.getFitness()).isEqualTo(individual.calculateFitness(tsp.getPlaces()));
+	}
+
+	@Test
+	@DisplayName("Should move copies of the best genomes to the next island of the ring")
+	void shouldMoveBestGenomes_alongRing() {
+		// given
+		final DistanceMatrix distanceMatrix = DistanceMatrix.of(new TSP("resources/tsp/gr96.tsp").getPlaces());
+		final GeneticAlgorithm algorithm = new GeneticAlgorithm(10, 1, 0.2f, 0.5f);
+		final IslandGeneticAlgorithm islandModel = new IslandGeneticAlgorithm(algorithm, 2, 5, 1, MigrationTopology.RING);
+		final Population[] populations = { new Population(10, distanceMatrix, new RandomAlgorithm(), 1L),
+				new Population(10, distanceMatrix, new RandomAlgorithm(), 2L) };
+		final Individual[] best = { populations[0].getBestIndividual().copy(), populations[1].getBestIndividual().copy() };
+		// when
+		islandModel.migrate(populations, new SplittableRandom(3L));
+		// then
+		for (int island = 0; island < 2; island++) {
+			final Individual emigrant = best[1 - island];
+			final Population source = populations[1 - island];
+			assertThat(populations[island].getIndividuals()).anySatisfy(individual -> {
+				assertThat(individual.getGenes()).containsExactly(emigrant.getGenes());
+				assertThat(source.getIndividuals()).doesNotContain(individual);
+			});
+			assertThat(populations[island].getBestFitness()).isLessThanOrEqualTo(emigrant.getFitness());
+		}
+	}
+
+	@Test
+	@DisplayName("Should stop the islands when a termination criterion is met after an epoch")
+	void shouldStopIslands_whenTerminationCriterionIsMet() {
+		// given
+		final TSP tsp = new TSP("resources/tsp/gr96.tsp");
+		final GeneticAlgorithm algorithm = GeneticAlgorithm.create(20, 1_000, 0.2f, 0.5f, tsp, new Tournament(5), new PartiallyMappedCrossover(),
+				new RandomAlgorithm());
+		final List<Integer> criterionGenerations = new ArrayList<>();
+		algorithm.addTerminationCriterion((generation, bestFitness) -> {
+			criterionGenerations.add(generation);
+			return generation == 7;
+		});
+		final IslandGeneticAlgorithm islandModel = new IslandGeneticAlgorithm(algorithm, 2, 5, 1, MigrationTopology.RING);
+		// when
+		islandModel.run();
+		// then
+		assertThat(criterionGenerations).containsExactly(1, 2, 3, 4, 5, 6, 7);
+	}
+
+	@Test
+	@DisplayName("Should return the best tour so far when the deadline is cancelled")
+	void shouldReturnBestTour_whenDeadlineIsCancelled() {
+		// given
+		final TSP tsp = new TSP("resources/tsp/gr96.tsp");
+		final GeneticAlgorithm algorithm = GeneticAlgorithm.create(20, Integer.MAX_VALUE, 0.2f, 0.5f, tsp, new Tournament(5),
+				new PartiallyMappedCrossover(), new RandomAlgorithm());
+		final IslandGeneticAlgorithm islandModel = new IslandGeneticAlgorithm(algorithm, 2, 5, 1, MigrationTopology.RING);
+		final Deadline deadline = Deadline.none();
+		deadline.cancel();
+		// when
+		final Individual individual = islandModel.run(deadline);
+		// then
+		assertThat(individual.getGenome()).containsExactlyInAnyOrderElementsOf(IntStream.rangeClosed(1, 96).boxed()::iterator);
+	}
+
+	@Test
+	@DisplayName("Should throw exception when created with no islands")
+	void shouldThrowException_whenCreatedWithNoIslands() {
+		// given
+		final GeneticAlgorithm algorithm = new GeneticAlgorithm(50, 20, 0.2f, 0.5f);
+		// then
+		assertThatExceptionOfType(IllegalArgumentException.class)
+				.isThrownBy(() -> new IslandGeneticAlgorithm(algorithm, 0, 5, 2, MigrationTopology.FULLY_CONNECTED))
+				.withMessage("Number of islands cannot be less or equal 0");
+	}
+}
@@ -0,0 +1,95 @@
+package ga;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.RepetitionInfo;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for mutation implementations
+ *
+ * @author Jagoda Wieczorek
+ */
+class MutationTest {
+	private static final int SIZE = 12;
+
+	private final List<Mutation> mutations = List.of(new SwapMutation(), new InversionMutation(), new InsertionMutation(), new ScrambleMutation());
+
+	@DisplayName("Should report cost delta equal to the difference of full tour costs")
+	@RepeatedTest(50)
+	void shouldReportCostDeltaEqualToFullEvaluation(final RepetitionInfo repetitionInfo) {
+		// given
+		final long seed = RandomPoints.seed(repetitionInfo);
+		final DistanceMatrix distanceMatrix = RandomPoints.distanceMatrix(SIZE, seed);
+		final SplittableRandom random = new SplittableRandom(seed);
+
+		for (final Mutation mutation: this.mutations) {
+			final int[] genome = new RandomAlgorithm().initialize(distanceMatrix, random);
+			final int cost = distanceMatrix.cost(genome);
+			// when
+			final int delta = mutation.perform(genome, distanceMatrix, random);
+			// then
+			assertThat(cost + delta).as(mutation.getClass().getSimpleName()).isEqualTo(distanceMatrix.cost(genome));
+		}
+	}
+
+	@DisplayName("Should keep the first gen and all genes")
+	@RepeatedTest(20)
+	void shouldKeepFirstGenAndAllGenes(final RepetitionInfo repetitionInfo) {
+		// given
+		final long seed = RandomPoints.seed(repetitionInfo);
+		final DistanceMatrix distanceMatrix = RandomPoints.distanceMatrix(SIZE, seed);
+		final SplittableRandom random = new SplittableRandom(seed);
+
+		for (final Mutation mutation: this.mutations) {
+			final int[] genome = new RandomAlgorithm().initialize(distanceMatrix, random);
+			final int first = genome[0];
+			// when
+			mutation.perform(genome, distanceMatrix, random);
+			// then
+			assertThat(genome[0]).isEqualTo(first);
+			assertThat(genome).containsExactlyInAnyOrder(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11);
+		}
+	}
+
+	@DisplayName("Should mutate a genome inside a slab as the genome on its own")
+	@RepeatedTest(20)
+	void shouldMutateGenomeInsideSlab(final RepetitionInfo repetitionInfo) {
+		// given
+		final long seed = RandomPoints.seed(repetitionInfo);
+		final DistanceMatrix distanceMatrix = RandomPoints.distanceMatrix(SIZE, seed);
+		final SplittableRandom random = new SplittableRandom(seed);
+
+		for (final Mutation mutation: this.mutations) {
+			final int[] genome = new RandomAlgorithm().initialize(distanceMatrix, random);
+			final int[] genomes = new int[3 * SIZE];
+			System.arraycopy(genome, 0, genomes, SIZE, SIZE);
+			// when
+			final int delta = mutation.perform(genome, distanceMatrix, new SplittableRandom(seed));
+			final int slabDelta = mutation.perform(genomes, SIZE, SIZE, distanceMatrix, new SplittableRandom(seed));
+			// then
+			assertThat(slabDelta).as(mutation.getClass().getSimpleName()).isEqualTo(delta);
+			assertThat(Arrays.copyOfRange(genomes, SIZE, 2 * SIZE)).as(mutation.getClass().getSimpleName()).containsExactly(genome);
+			assertThat(Arrays.copyOfRange(genomes, 0, SIZE)).containsOnly(0);
+			assertThat(Arrays.copyOfRange(genomes, 2 * SIZE, 3 * SIZE)).containsOnly(0);
+		}
+	}
+
+	@Test
+	@DisplayName("Should update individual's fitness without full evaluation")
+	void shouldUpdateIndividualFitness() {
+		// given
+		final DistanceMatrix distanceMatrix = RandomPoints.distanceMatrix(SIZE);
+		final Individual individual = new Individual(distanceMatrix, new RandomAlgorithm());
+		// when
+		individual.mutate(new InversionMutation(), distanceMatrix, new SplittableRandom());
+		// then
+		assertThat(individual.getFitness()).isEqualTo(individual.calculateFitness(distanceMatrix));
+	}
+}
@@ -0,0 +1,126 @@
+package ga;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.RepetitionInfo;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link NeighborListLocalSearch} and {@link NeighborLists}
+ *
+ * @author Jagoda Wieczorek
+ */
+class NeighborListLocalSearchTest {
+	private static final int SIZE = 60;
+
+	@DisplayName("Should report cost delta equal to the difference of full tour costs")
+	@RepeatedTest(20)
+	void shouldReportCostDeltaEqualToFullEvaluation(final RepetitionInfo repetitionInfo) {
+		// given
+		final long seed = RandomPoints.seed(repetitionInfo);
+		final DistanceMatrix distanceMatrix = RandomPoints.distanceMatrix(SIZE, seed);
+		final LocalSearch localSearch = new NeighborListLocalSearch(NeighborLists.of(distanceMatrix, 8), Integer.MAX_VALUE, 0);
+		final int[] genome = new RandomAlgorithm().initialize(distanceMatrix, new SplittableRandom(seed));
+		final int cost = distanceMatrix.cost(genome);
+		final int first = genome[0];
+		// when
+		final int delta = localSearch.improve(genome, distanceMatrix);
+		// then
+		assertThat(delta).isNegative();
+		assertThat(cost + delta).isEqualTo(distanceMatrix.cost(genome));
+		assertThat(genome[0]).isEqualTo(first);
+		assertThat(genome).containsExactlyInAnyOrder(IntStream.range(0, SIZE).toArray());
+	}
+
+	@Test
+	@DisplayName("Should stop after the move budget is used")
+	void shouldStopAfterMoveBudget() {
+		// given
+		final DistanceMatrix distanceMatrix = RandomPoints.distanceMatrix(SIZE);
+		final NeighborLists neighborLists = NeighborLists.of(distanceMatrix, 8);
+		final int[] genome = new RandomAlgorithm().initialize(distanceMatrix, new SplittableRandom(RandomPoints.SEED));
+		final int[] copy = genome.clone();
+		// when
+		final int limited = new NeighborListLocalSearch(neighborLists, 1, 0).improve(genome, distanceMatrix);
+		final int unlimited = new NeighborListLocalSearch(neighborLists, Integer.MAX_VALUE, 0).improve(copy, distanceMatrix);
+		// then
+		assertThat(limited).isNegative().isGreaterThan(unlimited);
+	}
+
+	@Test
+	@DisplayName("Should keep fitness of improved offspring equal to full evaluation")
+	void shouldImproveOffspring() {
+		// given
+		final DistanceMatrix distanceMatrix = RandomPoints.distanceMatrix(SIZE);
+		final LocalSearch localSearch = new NeighborListLocalSearch(NeighborLists.of(distanceMatrix, 8), 50, 0);
+		final Population population = new Population(40, distanceMatrix, new RandomAlgorithm(), RandomPoints.SEED);
+		final Population offspring = new Population(40, SIZE);
+		// when
+		offspring.breed(population, distanceMatrix, 0.5f, 0.8f, new Tournament(5), new PartiallyMappedCrossover(), new InversionMutation(),
+				localSearch, null, 2, 42L, Deadline.none());
+		// then
+		assertThat(offspring.isComplete()).isTrue();
+		assertThat(offspring.getBestFitness()).isLessThan(population.getBestFitness());
+		for (final Individual individual: offspring.getIndividuals()) {
+			assertThat(individual.getFitness()).isEqualTo(individual.calculateFitness(distanceMatrix));
+		}
+	}
+
+	@Test
+	@DisplayName("Should list nearest places sorted by distance")
+	void shouldListNearestPlaces() {
+		// given
+		final DistanceMatrix distanceMatrix = RandomPoints.distanceMatrix(SIZE);
+		// when
+		final NeighborLists neighborLists = NeighborLists.of(distanceMatrix, 5);
+		// then
+		assertThat(neighborLists.getNeighborCount()).isEqualTo(5);
+		for (int place = 0; place < SIZE; place++) {
+			final int from = place;
+			final int[] expected = IntStream.range(0, SIZE).filter(other -> other != from).boxed()
+					.sorted((a, b) -> Integer.compare(distanceMatrix.getDistance(from, a), distanceMatrix.getDistance(from, b)))
+					.mapToInt(Integer::intValue).limit(5).map(other -> distanceMatrix.getDistance(from, other)).toArray();
+			final int[] actual = IntStream.range(0, 5).map(rank -> distanceMatrix.getDistance(from, neighborLists.getNeighbor(from, rank)))
+					.toArray();
+			assertThat(actual).containsExactly(expected);
+		}
+	}
+
+	@Test
+	@DisplayName("Should throw exception when the number of neighbors is not positive")
+	void shouldThrowExceptionForNoNeighbors() {
+		// given
+		final DistanceMatrix distanceMatrix = RandomPoints.distanceMatrix(SIZE);
+		// when, then
+		assertThatThrownBy(() -> NeighborLists.of(distanceMatrix, 0)).isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Number of neighbors cannot be less or equal 0");
+	}
+
+	@Test
+	@DisplayName("Should find the same neighbors from coordinates without computing distances through the cache")
+	void shouldFindNeighborsFromCoordinates() {
+		// given
+		final SplittableRandom random = new SplittableRandom(RandomPoints.SEED);
+		final TspInstance euclidean = TspInstance.of("random", random.doubles(500, 0, 1000).toArray(), random.doubles(500, 0, 1000).toArray());
+		for (final TspInstance instance : new TspInstance[] { TspInstance.load("resources/tsp/gr137.tsp"), euclidean }) {
+			final CachedDistanceProvider cachedDistanceProvider = new CachedDistanceProvider(instance, 64);
+			final NeighborLists expected = NeighborLists.of(instance.toDistanceMatrix(), 10);
+			// when
+			final NeighborLists neighborLists = NeighborLists.of(cachedDistanceProvider, 10);
+			// then
+			assertThat(cachedDistanceProvider.getHitCount() + cachedDistanceProvider.getMissCount()).isZero();
+			for (int place = 0; place < instance.size(); place++) {
+				for (int rank = 0; rank < 10; rank++) {
+					assertThat(instance.getDistance(place, neighborLists.getNeighbor(place, rank)))
+							.isEqualTo(instance.getDistance(place, expected.getNeighbor(place, rank)));
+				}
+			}
+		}
+	}
+}
@@ -4,7 +4,12 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.RepeatedTest;
@@ -56,6 +61,94 @@ class PartiallyMappedCrossoverTest {
 		assertThat(individual).isNotNull();
 	}
 
+	@DisplayName("Should produce the same child as swapping genes found by linear search")
+	@RepeatedTest(20)
+	void shouldProduceTheSameChildAsLinearSearch() {
+		// given
+		final PartiallyMappedCrossover crossover = new PartiallyMappedCrossover();
+		final int[] genome1 = shuffledGenome(50);
+		final int[] genome2 = shuffledGenome(50);
+		final int breakpoint = new Random().nextInt(genome1.length - 1);
+		final int[] child = new int[genome1.length];
+		// when
+		crossover.perform(genome1, genome2, breakpoint, child);
+		// then
+		final List<Integer> expected = new ArrayList<>();
+		Arrays.stream(genome1).forEach(expected::add);
+		for (int i = 0; i < breakpoint; i++) {
+			Collections.swap(expected, expected.indexOf(genome2[i]), i);
+		}
+		assertThat(child).containsExactly(expected.stream().mapToInt(Integer::intValue).toArray());
+	}
+
+	@Test
+	@DisplayName("Should write child into reused buffer")
+	void shouldWriteChildIntoReusedBuffer() {
+		// given
+		final PartiallyMappedCrossover crossover = new PartiallyMappedCrossover();
+		final int[] child = new int[6];
+		// when
+		crossover.perform(getParent2().getGenes(), getParent1().getGenes(), 2, child);
+		crossover.perform(getParent1().getGenes(), getParent2().getGenes(), 3, child);
+		// then
+		assertThat(child).containsExactly(4, 6, 5, 1, 2, 3);
+	}
+
+	@DisplayName("Should cross genomes inside slabs as the genomes on their own")
+	@RepeatedTest(20)
+	void shouldCrossGenomesInsideSlabs() {
+		// given
+		final PartiallyMappedCrossover crossover = new PartiallyMappedCrossover();
+		final int[] genome1 = shuffledGenome(50);
+		final int[] genome2 = shuffledGenome(50);
+		final int[] parents = new int[150];
+		System.arraycopy(genome1, 0, parents, 100, 50);
+		System.arraycopy(genome2, 0, parents, 0, 50);
+		final int breakpoint = new Random().nextInt(genome1.length - 1);
+		final int[] child = new int[genome1.length];
+		final int[] children = new int[100];
+		// when
+		crossover.perform(genome1, genome2, breakpoint, child);
+		crossover.perform(parents, 100, parents, 0, 50, breakpoint, children, 50);
+		// then
+		assertThat(Arrays.copyOfRange(children, 50, 100)).containsExactly(child);
+		assertThat(Arrays.copyOfRange(children, 0, 50)).containsOnly(0);
+	}
+
+	@Test
+	@DisplayName("Should cross individuals at a breakpoint drawn from the random generator by default")
+	void shouldCrossAtRandomBreakpoint_byDefault() {
+		// given
+		final LegacyCrossover crossover = new LegacyCrossover();
+		final int breakpoint = new SplittableRandom(7L).nextInt(5);
+		// when
+		final Individual child = crossover.perform(getParent1(), getParent2(), new SplittableRandom(7L));
+		// then
+		assertThat(crossover.breakpoint).isEqualTo(breakpoint);
+		assertThat(child.getGenes()).containsExactly(new PartiallyMappedCrossover().perform(getParent1(), getParent2(), breakpoint).getGenes());
+	}
+
+	@Test
+	@DisplayName("Should cross genomes through the method of individuals by default")
+	void shouldCrossGenomesThroughIndividuals_byDefault() {
+		// given
+		final LegacyCrossover crossover = new LegacyCrossover();
+		final int[] child = new int[6];
+		// when
+		crossover.perform(getParent1().getGenes(), getParent2().getGenes(), 3, child);
+		// then
+		assertThat(crossover.breakpoint).isEqualTo(3);
+		assertThat(child).containsExactly(4, 6, 5, 1, 2, 3);
+	}
+
+	private int[] shuffledGenome(final int size) {
+		final List<Integer> genome = new ArrayList<>();
+		IntStream.range(0, size).forEach(genome::add);
+		Collections.shuffle(genome);
+
+		return genome.stream().mapToInt(Integer::intValue).toArray();
+	}
+
 	private Individual getParent2() {
 		return getParent(4, 6, 5, 3, 1, 2);
 	}
@@ -67,4 +160,23 @@ class PartiallyMappedCrossoverTest {
 	private Individual getParent(final int i, final int i2, final int i3, final int i4, final int i5, final int i6) {
 		return new Individual(new ArrayList<>(List.of(i, i2, i3, i4, i5, i6)));
 	}
+
+	/**
+	 * Crossover implementing only the methods of individuals
+	 */
+	private static final class LegacyCrossover implements Crossover {
+		private int breakpoint = -1;
+
+		@Override
+		public Individual perform(final Individual parent1, final Individual parent2) {
+			return perform(parent1, parent2, 0);
+		}
+
+		@Override
+		public Individual perform(final Individual parent1, final Individual parent2, final int breakpoint) {
+			this.breakpoint = breakpoint;
+
+			return new PartiallyMappedCrossover().perform(parent1, parent2, breakpoint);
+		}
+	}
 }
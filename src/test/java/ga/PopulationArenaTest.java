@@ -0,0 +1,113 @@
+package ga;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import tsp.TSP;
+
+/**
+ * Population arena test
+ *
+ * @author Jagoda Wieczorek
+ */
+class PopulationArenaTest {
+
+	@Test
+	@DisplayName("Should throw exception when created with negative population size")
+	void shouldThrowException_whenCreatedWithNegativePopulationSize() {
+		// then
+		assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> new PopulationArena(-10, 96))
+				.withMessage("Population size cannot be less or equal 0");
+	}
+
+	@Test
+	@DisplayName("Should throw exception when genomes do not fit into one slab")
+	void shouldThrowException_whenGenomesDoNotFitIntoSlab() {
+		// then
+		assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> new PopulationArena(1_000_000, 3_000))
+				.withMessage("Population of 1000000 individuals of 3000 genes cannot be bigger than 2147483639 genes");
+	}
+
+	@Test
+	@DisplayName("Should estimate the footprint mostly taken by the genomes")
+	void shouldEstimateFootprint() {
+		// when
+		final long footprint = PopulationArena.footprint(1_000_000, 100);
+		// then
+		assertThat(footprint).isEqualTo(4L * (100_000_000L + 2_000_000L + 1_800_000L));
+	}
+
+	@Test
+	@DisplayName("Should place genomes one after another in the slab")
+	void shouldPlaceGenomesOneAfterAnother() {
+		// given
+		final DistanceMatrix distanceMatrix = DistanceMatrix.of(new TSP("resources/tsp/gr96.tsp").getPlaces());
+		final PopulationArena arena = new PopulationArena(10, distanceMatrix.size());
+		// when
+		arena.initialize(distanceMatrix, new RandomAlgorithm(), 7L);
+		// then
+		for (int i = 0; i < arena.size(); i++) {
+			assertThat(arena.offset(i)).isEqualTo(i * 96);
+			assertThat(arena.getGene(i, 5)).isEqualTo(arena.getGenomes()[i * 96 + 5]);
+			assertThat(arena.getGenome(i)).containsExactlyInAnyOrder(distanceMatrix.toIndices(distanceMatrix.toIds(arena.getGenome(i))));
+			assertThat(arena.getFitness(i)).isEqualTo(distanceMatrix.cost(arena.getGenome(i)));
+			assertThat(arena.getFitness(arena.getBestIndex())).isLessThanOrEqualTo(arena.getFitness(i));
+			assertThat(arena.getFitness(arena.getWorstIndex())).isGreaterThanOrEqualTo(arena.getFitness(i));
+		}
+	}
+
+	@Test
+	@DisplayName("Should breed the same generations as population of individuals for the same seed")
+	void shouldBreedTheSameGenerations_asPopulation() {
+		// given
+		final DistanceMatrix distanceMatrix = DistanceMatrix.of(new TSP("resources/tsp/gr96.tsp").getPlaces());
+		final int workers = 4;
+		final ForkJoinPool pool = new ForkJoinPool(workers);
+		Population population = new Population(200, distanceMatrix, new RandomAlgorithm(), 42L);
+		Population spare = new Population(200, distanceMatrix.size());
+		PopulationArena arena = new PopulationArena(200, distanceMatrix.size());
+		PopulationArena spareArena = new PopulationArena(200, distanceMatrix.size());
+		arena.initialize(distanceMatrix, new RandomAlgorithm(), 42L);
+		// when
+		for (int generation = 0; generation < 5; generation++) {
+			spare.breed(population, distanceMatrix, 0.3f, 0.7f, new Tournament(5), new PartiallyMappedCrossover(), new InversionMutation(), pool,
+					workers, generation, Deadline.none());
+			spareArena.breed(arena, distanceMatrix, 0.3f, 0.7f, new Tournament(5), new PartiallyMappedCrossover(), new InversionMutation(), null,
+					pool, workers, generation, Deadline.none());
+			final Population previous = population;
+			population = spare;
+			spare = previous;
+			final PopulationArena previousArena = arena;
+			arena = spareArena;
+			spareArena = previousArena;
+		}
+		pool.shutdown();
+		// then
+		assertThat(arena.isComplete()).isTrue();
+		assertThat(arena.getEvaluations()).isEqualTo(population.getEvaluations());
+		assertThat(arena.getAvgFitness()).isEqualTo(population.getAvgFitness());
+		assertThat(arena.getDiversity()).isEqualTo(population.getDiversity());
+		for (int i = 0; i < arena.size(); i++) {
+			assertThat(arena.getGenome(i)).containsExactly(population.getIndividuals().get(i).getGenes());
+			assertThat(arena.getFitness(i)).isEqualTo(population.getIndividuals().get(i).getFitness());
+		}
+	}
+
+	@Test
+	@DisplayName("Should throw exception when bred from arena of different size")
+	void shouldThrowException_whenBredFromArenaOfDifferentSize() {
+		// given
+		final PopulationArena arena = new PopulationArena(10, 96);
+		final PopulationArena previous = new PopulationArena(20, 96);
+		// then
+		assertThatExceptionOfType(IllegalArgumentException.class)
+				.isThrownBy(() -> arena.breed(previous, null, 0.1f, 0.1f, new Tournament(5), new PartiallyMappedCrossover(), new SwapMutation(), null,
+						null, 1, 0L, Deadline.none()))
+				.withMessage("Population of 10 individuals of 96 genes cannot be bred from population of 20 individuals of 96 genes");
+	}
+}
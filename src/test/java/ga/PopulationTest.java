@@ -1,12 +1,24 @@
 package ga;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import tsp.Place;
+import tsp.TSP;
+
 /**
  * Population test
  *
@@ -24,4 +36,233 @@ class PopulationTest {
 		assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> new Population(populationSize, null))
 				.withMessage("Population size cannot be less or equal 0");
 	}
+
+	@Test
+	@DisplayName("Should breed the same generation in parallel and on one thread for the same seed")
+	void shouldBreedTheSameGeneration_inParallelAndSequentially() {
+		// given
+		final DistanceMatrix distanceMatrix = DistanceMatrix.of(new TSP("resources/tsp/gr96.tsp").getPlaces());
+		final Population population = new Population(200, distanceMatrix, new RandomAlgorithm());
+		final int workers = 4;
+		final long seed = 42L;
+		final ForkJoinPool pool = new ForkJoinPool(workers);
+		// when
+		final Population sequential = new Population(population, distanceMatrix, 0.3f, 0.7f, new Tournament(5), new PartiallyMappedCrossover(),
+				new InversionMutation(), null, workers, seed);
+		final Population parallel = new Population(population, distanceMatrix, 0.3f, 0.7f, new Tournament(5), new PartiallyMappedCrossover(),
+				new InversionMutation(), pool, workers, seed);
+		pool.shutdown();
+		// then
+		assertThat(parallel.getIndividuals()).hasSameSizeAs(sequential.getIndividuals());
+		for (int i = 0; i < sequential.getIndividuals().size(); i++) {
+			assertThat(parallel.getIndividuals().get(i).getGenes()).containsExactly(sequential.getIndividuals().get(i).getGenes());
+			assertThat(parallel.getIndividuals().get(i).getFitness()).isEqualTo(sequential.getIndividuals().get(i).getFitness());
+		}
+	}
+
+	@Test
+	@DisplayName("Should select the best individuals without sorting the population")
+	void shouldSelectBestIndividuals() {
+		// given
+		final DistanceMatrix distanceMatrix = DistanceMatrix.of(new TSP("resources/tsp/gr96.tsp").getPlaces());
+		final Population population = new Population(101, distanceMatrix, new RandomAlgorithm());
+		final List<Individual> individuals = new ArrayList<>(population.getIndividuals());
+		// when
+		population.setBestIndividuals(0.25f);
+		// then
+		final List<Individual> bestIndividuals = population.getBestIndividuals();
+		final List<Individual> worstIndividuals = new ArrayList<>(individuals);
+		worstIndividuals.removeAll(bestIndividuals);
+		assertThat(population.getIndividuals()).containsExactlyElementsOf(individuals);
+		assertThat(bestIndividuals).hasSize(76);
+		assertThat(population.getBestIndividualsFitness()).containsExactly(bestIndividuals.stream().mapToInt(Individual::getFitness).toArray());
+		assertThat(bestIndividuals.stream().mapToInt(Individual::getFitness).max().getAsInt())
+				.isLessThanOrEqualTo(worstIndividuals.stream().mapToInt(Individual::getFitness).min().getAsInt());
+		assertThat(population.getBestFitness()).isEqualTo(individuals.stream().mapToInt(Individual::getFitness).min().getAsInt());
+		assertThat(population.getWorstFitness()).isEqualTo(individuals.stream().mapToInt(Individual::getFitness).max().getAsInt());
+	}
+
+	@Test
+	@DisplayName("Should breed into a reused population the same generation as the breeding constructor")
+	void shouldBreedIntoReusedPopulation_theSameGenerationAsConstructor() {
+		// given
+		final DistanceMatrix distanceMatrix = DistanceMatrix.of(new TSP("resources/tsp/gr96.tsp").getPlaces());
+		final Population population = new Population(100, distanceMatrix, new RandomAlgorithm());
+		final Population buffer = new Population(100, distanceMatrix.size());
+		final long seed = 7L;
+		// when
+		final Population expected = new Population(population, distanceMatrix, 0.3f, 0.7f, new Tournament(5), new PartiallyMappedCrossover(),
+				new SwapMutation(), null, 2, seed);
+		buffer.breed(population, distanceMatrix, 0.3f, 0.7f, new Tournament(5), new PartiallyMappedCrossover(), new SwapMutation(), null, 2, seed,
+				Deadline.none());
+		// then
+		assertThat(buffer.isComplete()).isTrue();
+		for (int i = 0; i < expected.getIndividuals().size(); i++) {
+			assertThat(buffer.getIndividuals().get(i).getGenes()).containsExactly(expected.getIndividuals().get(i).getGenes());
+			assertThat(buffer.getIndividuals().get(i).getFitness()).isEqualTo(buffer.getIndividuals().get(i).calculateFitness(distanceMatrix));
+		}
+		assertThat(buffer.getBestFitness()).isEqualTo(expected.getBestFitness());
+	}
+
+	@Test
+	@DisplayName("Should not evaluate offspring which were not changed by crossover")
+	void shouldNotEvaluateOffspring_withoutCrossover() {
+		// given
+		final DistanceMatrix distanceMatrix = DistanceMatrix.of(new TSP("resources/tsp/gr96.tsp").getPlaces());
+		final FitnessCache fitnessCache = new FitnessCache(distanceMatrix, 1024);
+		final Population population = new Population(100, distanceMatrix, new RandomAlgorithm());
+		final Population buffer = new Population(100, distanceMatrix.size());
+		// when
+		buffer.breed(population, fitnessCache, 0.5f, 0f, new Tournament(5), new PartiallyMappedCrossover(), new SwapMutation(), null, 1, 7L,
+				Deadline.none());
+		// then
+		assertThat(fitnessCache.getEvaluations() + fitnessCache.getSavedEvaluations()).isZero();
+		for (final Individual individual: buffer.getIndividuals()) {
+			assertThat(individual.isDirty()).isFalse();
+			assertThat(individual.getFitness()).isEqualTo(individual.calculateFitness(distanceMatrix));
+		}
+	}
+
+	@Test
+	@DisplayName("Should keep place ids in genomes of populations created and bred with places")
+	void shouldKeepPlaceIds_whenCreatedAndBredWithPlaces() {
+		// given
+		final TreeMap<Integer, Place> places = new TSP("resources/tsp/gr96.tsp").getPlaces();
+		final Population population = new Population(50, places, new GraspAlgorithm(2));
+		// when
+		final Population offspring = new Population(population, places, 0.3f, 0.7f, new Tournament(5), new PartiallyMappedCrossover());
+		// then
+		for (final Population generation: List.of(population, offspring)) {
+			for (final Individual individual: generation.getIndividuals()) {
+				assertThat(individual.getGenes()).containsExactlyInAnyOrder(places.keySet().stream().mapToInt(Integer::intValue).toArray());
+				assertThat(individual.getFitness()).isEqualTo(individual.calculateFitness(places));
+			}
+		}
+	}
+
+	@Test
+	@DisplayName("Should read fitness of cloned offspring from the fitness cache")
+	void shouldReadFitnessOfClones_fromFitnessCache() {
+		// given
+		final DistanceMatrix distanceMatrix = DistanceMatrix.of(new TSP("resources/tsp/gr96.tsp").getPlaces());
+		final FitnessCache fitnessCache = new FitnessCache(distanceMatrix, 1024);
+		final Population population = new Population(100, distanceMatrix, new GraspAlgorithm(1));
+		final Population buffer = new Population(100, distanceMatrix.size());
+		// when
+		buffer.breed(population, fitnessCache, 0f, 1f, new Tournament(5), new PartiallyMappedCrossover(), new SwapMutation(), null, 1, 7L,
+				Deadline.none());
+		// then
+		assertThat(fitnessCache.getEvaluations()).isEqualTo(1);
+		assertThat(fitnessCache.getSavedEvaluations()).isEqualTo(99);
+		assertThat(buffer.getBestFitness()).isEqualTo(population.getBestFitness());
+	}
+
+	@Test
+	@DisplayName("Should count rotated and reversed tours as the same tour in diversity")
+	void shouldCountDistinctTours_inDiversity() {
+		// given
+		final Population population = new Population(4, 5);
+		final int[][] genomes = { { 0, 1, 2, 3, 4 }, { 2, 3, 4, 0, 1 }, { 0, 4, 3, 2, 1 }, { 0, 2, 1, 3, 4 } };
+		for (int i = 0; i < genomes.length; i++) {
+			System.arraycopy(genomes[i], 0, population.getIndividuals().get(i).getGenes(), 0, genomes[i].length);
+		}
+		// when
+		final float diversity = population.getDiversity();
+		// then
+		assertThat(diversity).isEqualTo(0.5f);
+	}
+
+	@Test
+	@DisplayName("Should replace the worst part of the population on restart")
+	void shouldReseedPopulation_onRestart() {
+		// given
+		final TspInstance instance = TspInstance.load("resources/tsp/gr96.tsp");
+		final Population population = new Population(20, instance, new RandomAlgorithm());
+		population.restore();
+		final int bestFitness = population.getBestFitness();
+		// when
+		population.reseed(0.5f, instance, new GraspAlgorithm(1), 7L, null);
+		// then
+		assertThat(population.getBestFitness()).isLessThanOrEqualTo(bestFitness);
+		assertThat(population.getIndividuals()).filteredOn(individual -> individual.getFitness() == instance.cost(individual.getGenes())).hasSize(20);
+		assertThat(population.getIndividuals()).filteredOn(individual -> individual.getFitness() < bestFitness).hasSizeGreaterThanOrEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("Should create the population on the given pool or on the calling thread")
+	void shouldCreatePopulation_onGivenPool() {
+		// given
+		final TspInstance instance = TspInstance.load("resources/tsp/gr96.tsp");
+		final Set<String> threads = ConcurrentHashMap.newKeySet();
+		final InitialGenomeAlgorithm initialGenomeAlgorithm = (distanceProvider, random) -> {
+			final ForkJoinPool pool = ForkJoinTask.getPool();
+			threads.add(pool == null ? Thread.currentThread().getName() : String.valueOf(System.identityHashCode(pool)));
+			return new RandomAlgorithm().initialize(distanceProvider, random);
+		};
+		final ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			// when
+			final Population parallel = new Population(50, instance, initialGenomeAlgorithm, 7L, pool);
+			final Set<String> parallelThreads = Set.copyOf(threads);
+			threads.clear();
+			final Population sequential = new Population(50, instance, initialGenomeAlgorithm, 7L, null);
+			// then
+			assertThat(parallelThreads).containsExactly(String.valueOf(System.identityHashCode(pool)));
+			assertThat(threads).containsExactly(Thread.currentThread().getName());
+			for (int i = 0; i < 50; i++) {
+				assertThat(parallel.getIndividuals().get(i).getGenes()).isEqualTo(sequential.getIndividuals().get(i).getGenes());
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	@DisplayName("Should replace exactly the worst individuals on restart")
+	void shouldReseedTheWorstIndividuals() {
+		// given
+		final TspInstance instance = TspInstance.load("resources/tsp/gr96.tsp");
+		final Population population = new Population(20, instance, new RandomAlgorithm(), 3L, null);
+		final List<int[]> genomes = new ArrayList<>();
+		final int[] fitness = new int[20];
+		for (int i = 0; i < 20; i++) {
+			genomes.add(population.getIndividuals().get(i).getGenes().clone());
+			fitness[i] = population.getIndividuals().get(i).getFitness();
+		}
+		final int threshold = Population.select(fitness.clone(), 15);
+		// when
+		population.reseed(0.25f, instance, new GraspAlgorithm(1), 7L, null);
+		// then
+		for (int i = 0; i < 20; i++) {
+			if (fitness[i] < threshold) {
+				assertThat(population.getIndividuals().get(i).getGenes()).isEqualTo(genomes.get(i));
+			} else {
+				assertThat(population.getIndividuals().get(i).getGenes()).isNotEqualTo(genomes.get(i));
+			}
+		}
+	}
+
+	@Test
+	@DisplayName("Should stop breeding when the deadline is reached")
+	void shouldStopBreeding_whenDeadlineIsReached() {
+		// given
+		final TspInstance instance = TspInstance.load("resources/tsp/gr96.tsp");
+		final Population population = new Population(200, instance, new RandomAlgorithm(), 3L, null);
+		final Population buffer = new Population(200, instance.size());
+		final Deadline deadline = Deadline.none();
+		final int[] crossovers = new int[1];
+		final Crossover crossover = new PartiallyMappedCrossover() {
+			@Override
+			public void perform(final int[] genome1, final int[] genome2, final int breakpoint, final int[] child) {
+				crossovers[0]++;
+				deadline.cancel();
+				super.perform(genome1, genome2, breakpoint, child);
+			}
+		};
+		// when
+		buffer.breed(population, instance, 0.0f, 1.0f, new Tournament(5), crossover, new SwapMutation(), null, 1, 7L, deadline);
+		// then
+		assertThat(buffer.isComplete()).isFalse();
+		assertThat(crossovers[0]).isPositive().isLessThan(200);
+	}
 }
@@ -0,0 +1,92 @@
+package ga;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Jagoda Wieczorek
+ */
+class PortfolioSolverTest {
+	@Test
+	@DisplayName("Should return the best tour of the raced configurations within the time budget")
+	void shouldReturnBestTour_withinTimeBudget() {
+		// given
+		final TspInstance instance = TspInstance.load("resources/tsp/gr96.tsp");
+		final SolverConfig random = new SolverConfig(50, Integer.MAX_VALUE, 0.2f, 0.5f);
+		final SolverConfig grasp = new SolverConfig(50, Integer.MAX_VALUE, 0.2f, 0.5f);
+		grasp.setInitialGenomeAlgorithm(new GraspAlgorithm(2));
+		grasp.setMutation(new InversionMutation());
+		final SolverConfig elitist = new SolverConfig(20, 5, 0.5f, 0.9f);
+		final PortfolioSolver solver = new PortfolioSolver(Arrays.asList(random, grasp, elitist), 2);
+		// when
+		final long start = System.nanoTime();
+		final Individual individual = solver.solve(instance, 600);
+		final long elapsed = (System.nanoTime() - start) / 1_000_000L;
+		// then
+		assertThat(elapsed).isLessThan(2_000L);
+		assertThat(individual.getGenome()).containsExactlyInAnyOrderElementsOf(IntStream.rangeClosed(1, 96).boxed()::iterator);
+		assertThat(individual.getFitness()).isEqualTo(instance.cost(instance.toIndices(individual.getGenes())));
+	}
+
+	@Test
+	@DisplayName("Should evolve every configuration when there are more configurations than threads")
+	void shouldEvolveEveryConfiguration_whenMoreConfigurationsThanThreads() {
+		// given
+		final TspInstance instance = TspInstance.load("resources/tsp/gr96.tsp");
+		final AtomicIntegerArray lastGenerations = new AtomicIntegerArray(3);
+		final List<SolverConfig> configs = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			final int index = i;
+			final SolverConfig config = new SolverConfig(50, Integer.MAX_VALUE, 0.2f, 0.5f);
+			config.addTerminationCriterion(() -> (generation, bestFitness) -> {
+				lastGenerations.set(index, generation);
+				return false;
+			});
+			configs.add(config);
+		}
+		final PortfolioSolver solver = new PortfolioSolver(configs, 2);
+		// when
+		solver.solve(instance, 600);
+		// then
+		for (int i = 0; i < 3; i++) {
+			assertThat(lastGenerations.get(i)).as("generations of configuration %s", i).isPositive();
+		}
+	}
+
+	@Test
+	@DisplayName("Should stop a configuration when its termination criterion is met")
+	void shouldStopConfiguration_whenTerminationCriterionIsMet() {
+		// given
+		final TspInstance instance = TspInstance.load("resources/tsp/gr96.tsp");
+		final AtomicInteger lastGeneration = new AtomicInteger();
+		final SolverConfig config = new SolverConfig(20, Integer.MAX_VALUE, 0.2f, 0.5f);
+		config.addTerminationCriterion(() -> (generation, bestFitness) -> {
+			lastGeneration.set(generation);
+			return generation == 3;
+		});
+		final PortfolioSolver solver = new PortfolioSolver(Collections.singletonList(config), 1);
+		// when
+		final Individual individual = solver.solve(instance, 300);
+		// then
+		assertThat(lastGeneration.get()).isEqualTo(3);
+		assertThat(individual.getFitness()).isEqualTo(instance.cost(instance.toIndices(individual.getGenes())));
+	}
+
+	@Test
+	@DisplayName("Should throw exception when created with empty portfolio")
+	void shouldThrowException_whenCreatedWithEmptyPortfolio() {
+		assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> new PortfolioSolver(Collections.emptyList(), 2))
+				.withMessage("Portfolio cannot be empty");
+	}
+}
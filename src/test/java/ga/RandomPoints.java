@@ -0,0 +1,51 @@
+package ga;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.RepetitionInfo;
+
+/**
+ * Test fixture of random points on a plane, seeded so a failing test can be
+ * reproduced
+ *
+ * @author Jagoda Wieczorek
+ */
+final class RandomPoints {
+	static final long SEED = 20_240_601L;
+
+	private RandomPoints() {
+	}
+
+	/**
+	 * @param repetitionInfo
+	 *                           repetition of a repeated test
+	 * @return seed of the repetition, every repetition tests other points
+	 */
+	static long seed(final RepetitionInfo repetitionInfo) {
+		return Seeds.derive(SEED, repetitionInfo.getCurrentRepetition());
+	}
+
+	/**
+	 * @param size
+	 *                 number of points
+	 * @return symmetric distance matrix of random points with ids from 1
+	 */
+	static DistanceMatrix distanceMatrix(final int size) {
+		return distanceMatrix(size, SEED);
+	}
+
+	/**
+	 * @param size
+	 *                 number of points
+	 * @param seed
+	 *                 seed of the coordinates
+	 * @return symmetric distance matrix of random points with ids from 1
+	 */
+	static DistanceMatrix distanceMatrix(final int size, final long seed) {
+		final SplittableRandom random = new SplittableRandom(seed);
+		final double[] x = random.ints(size, 0, 1000).asDoubleStream().toArray();
+		final double[] y = random.ints(size, 0, 1000).asDoubleStream().toArray();
+
+		return TspInstance.of("random", x, y).toDistanceMatrix(null);
+	}
+}
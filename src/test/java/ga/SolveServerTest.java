@@ -0,0 +1,179 @@
+package ga;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Jagoda Wieczorek
+ */
+class SolveServerTest {
+	private static final Pattern ID = Pattern.compile("\"id\":\"(\\d+)\"");
+
+	private final HttpClient client = HttpClient.newHttpClient();
+
+	private SolveServer server;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		this.server = new SolveServer(0, 1, 1, 4);
+		this.server.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.server.close();
+	}
+
+	@Test
+	@DisplayName("Should solve TSPLIB instance and return the tour by long polling")
+	void shouldSolveTsplibInstance_byLongPolling() throws IOException, InterruptedException {
+		// given
+		final byte[] tsplib = Files.readAllBytes(Paths.get("resources/tsp/gr96.tsp"));
+		// when
+		final HttpResponse<String> submitted = post("/jobs?populationSize=50&generations=30&seed=1", tsplib);
+		final HttpResponse<String> result = get("/jobs/" + id(submitted) + "?wait=10000");
+		// then
+		assertThat(submitted.statusCode()).isEqualTo(202);
+		assertThat(submitted.headers().firstValue("Location")).hasValue("/jobs/" + id(submitted));
+		assertThat(result.statusCode()).isEqualTo(200);
+		assertThat(result.body()).contains("\"name\":\"gr96\"", "\"status\":\"DONE\"", "\"generation\":30", "\"tour\":[");
+	}
+
+	@Test
+	@DisplayName("Should solve instance given by coordinates")
+	void shouldSolveInstance_givenByCoordinates() throws IOException, InterruptedException {
+		// given
+		final String coordinates = "0 0\n0 10\n10 10\n10 0\n5 -3\n";
+		// when
+		final HttpResponse<String> submitted = post("/jobs?populationSize=10&generations=20&rclSize=0", coordinates.getBytes());
+		final HttpResponse<String> result = get("/jobs/" + id(submitted) + "?wait=10000");
+		// then
+		assertThat(result.body()).contains("\"status\":\"DONE\"", "\"fitness\":42");
+	}
+
+	@Test
+	@DisplayName("Should reject job with 503 when the queue is full and cancel the running job")
+	void shouldRejectJob_whenQueueIsFull() throws IOException, InterruptedException {
+		// given
+		final byte[] tsplib = Files.readAllBytes(Paths.get("resources/tsp/gr96.tsp"));
+		final HttpResponse<String> running = post("/jobs?generations=1000000&maxtime=60000", tsplib);
+		// when
+		final HttpResponse<String> rejected = post("/jobs", tsplib);
+		final HttpResponse<String> progress = get("/jobs/" + id(running) + "?wait=10000&after=0");
+		final HttpResponse<String> cancelled = send(HttpRequest.newBuilder(uri("/jobs/" + id(running))).DELETE().build());
+		final HttpResponse<String> result = get("/jobs/" + id(running) + "?wait=10000");
+		// then
+		assertThat(rejected.statusCode()).isEqualTo(503);
+		assertThat(rejected.headers().firstValue("Retry-After")).isPresent();
+		assertThat(progress.body()).contains("\"status\":\"RUNNING\"", "\"bestFitness\":");
+		assertThat(cancelled.statusCode()).isEqualTo(200);
+		assertThat(result.body()).contains("\"status\":\"CANCELLED\"", "\"tour\":[");
+	}
+
+	@Test
+	@DisplayName("Should answer other requests while long polls wait for the job")
+	void shouldAnswerRequests_whileLongPollsWait() throws IOException, InterruptedException {
+		// given
+		final byte[] tsplib = Files.readAllBytes(Paths.get("resources/tsp/gr96.tsp"));
+		final HttpResponse<String> running = post("/jobs?generations=1000000&maxtime=60000", tsplib);
+		final List<CompletableFuture<HttpResponse<String>>> polls = new ArrayList<>();
+		for (int i = 0; i < 16; i++) {
+			polls.add(this.client.sendAsync(HttpRequest.newBuilder(uri("/jobs/" + id(running) + "?wait=30000&after=100000000")).GET().build(),
+					HttpResponse.BodyHandlers.ofString()));
+		}
+		// when
+		final HttpResponse<String> status = get("/jobs/" + id(running));
+		final HttpResponse<String> cancelled = send(HttpRequest.newBuilder(uri("/jobs/" + id(running))).DELETE().build());
+		// then
+		assertThat(status.statusCode()).isEqualTo(200);
+		assertThat(cancelled.statusCode()).isEqualTo(200);
+		for (final CompletableFuture<HttpResponse<String>> poll: polls) {
+			assertThat(poll.join().body()).contains("\"status\":\"CANCELLED\"");
+		}
+	}
+
+	@Test
+	@DisplayName("Should answer 400 for invalid parameters and 404 for unknown job")
+	void shouldAnswerClientErrors() throws IOException, InterruptedException {
+		// when
+		final HttpResponse<String> invalid = post("/jobs?populationSize=abc", "0 0\n1 1\n".getBytes());
+		final HttpResponse<String> unknown = get("/jobs/999");
+		// then
+		assertThat(invalid.statusCode()).isEqualTo(400);
+		assertThat(invalid.body()).isEqualTo("{\"error\":\"Parameter populationSize has to be an integer\"}");
+		assertThat(unknown.statusCode()).isEqualTo(404);
+	}
+
+	@Test
+	@DisplayName("Should answer 400 for parameters or TSPLIB dimension out of range and 413 for too big body")
+	void shouldRejectJobs_exceedingLimits() throws IOException, InterruptedException {
+		// when
+		final HttpResponse<String> populationSize = post("/jobs?populationSize=1000000000", "0 0\n1 1\n".getBytes());
+		final HttpResponse<String> maxtime = post("/jobs?maxtime=-1", "0 0\n1 1\n".getBytes());
+		final HttpResponse<String> body = post("/jobs", new byte[(16 << 20) + 1]);
+		final HttpResponse<String> dimension = post("/jobs",
+				"NAME: huge\nTYPE: TSP\nDIMENSION: 400000000\nEDGE_WEIGHT_TYPE: EUC_2D\nNODE_COORD_SECTION\n1 0 0\nEOF\n".getBytes());
+		final HttpResponse<String> declared = post("/jobs",
+				"NAME: huge\nTYPE: TSP\nDIMENSION: 60000000\nEDGE_WEIGHT_TYPE: EUC_2D\nNODE_COORD_SECTION\n1 0 0\nEOF\n".getBytes());
+		// then
+		assertThat(populationSize.statusCode()).isEqualTo(400);
+		assertThat(populationSize.body()).isEqualTo("{\"error\":\"Parameter populationSize has to be in range [1,100000]\"}");
+		assertThat(maxtime.statusCode()).isEqualTo(400);
+		assertThat(body.statusCode()).isEqualTo(413);
+		assertThat(dimension.statusCode()).isEqualTo(400);
+		assertThat(dimension.body()).isEqualTo("{\"error\":\"TSPLIB file cannot have more than 67108864 nodes, got 400000000\"}");
+		assertThat(declared.statusCode()).isEqualTo(400);
+		assertThat(declared.body()).isEqualTo("{\"error\":\"TSPLIB file declares 60000000 nodes but contains 1\"}");
+	}
+
+	@Test
+	@DisplayName("Should run all generations when maxtime is 0")
+	void shouldRunAllGenerations_whenMaxtimeIsZero() throws IOException, InterruptedException {
+		// given
+		final String coordinates = "0 0\n0 10\n10 10\n10 0\n5 -3\n";
+		// when
+		final HttpResponse<String> submitted = post("/jobs?populationSize=10&generations=20&maxtime=0", coordinates.getBytes());
+		final HttpResponse<String> result = get("/jobs/" + id(submitted) + "?wait=10000");
+		// then
+		assertThat(result.body()).contains("\"status\":\"DONE\"", "\"generation\":20");
+	}
+
+	private HttpResponse<String> post(final String path, final byte[] body) throws IOException, InterruptedException {
+		return send(HttpRequest.newBuilder(uri(path)).POST(HttpRequest.BodyPublishers.ofByteArray(body)).build());
+	}
+
+	private HttpResponse<String> get(final String path) throws IOException, InterruptedException {
+		return send(HttpRequest.newBuilder(uri(path)).GET().build());
+	}
+
+	private HttpResponse<String> send(final HttpRequest request) throws IOException, InterruptedException {
+		return this.client.send(request, HttpResponse.BodyHandlers.ofString());
+	}
+
+	private URI uri(final String path) {
+		return URI.create("http://localhost:" + this.server.getPort() + path);
+	}
+
+	private static String id(final HttpResponse<String> response) {
+		final Matcher matcher = ID.matcher(response.body());
+		assertThat(matcher.find()).as(response.body()).isTrue();
+		return matcher.group(1);
+	}
+}
@@ -0,0 +1,71 @@
+package ga;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Jagoda Wieczorek
+ */
+class TerminationCriterionTest {
+	@Test
+	@DisplayName("Should stop after the number of generations without improvement")
+	void shouldStop_whenBestFitnessStagnates() {
+		// given
+		final StagnationCriterion criterion = new StagnationCriterion(3);
+		// then
+		assertThat(criterion.isMet(1, 100)).isFalse();
+		assertThat(criterion.isMet(2, 90)).isFalse();
+		assertThat(criterion.isMet(3, 90)).isFalse();
+		assertThat(criterion.isMet(4, 90)).isFalse();
+		assertThat(criterion.isMet(5, 90)).isTrue();
+	}
+
+	@Test
+	@DisplayName("Should forget the previous run when reset")
+	void shouldForgetPreviousRun_whenReset() {
+		// given
+		final StagnationCriterion criterion = new StagnationCriterion(2);
+		criterion.isMet(1, 50);
+		criterion.isMet(3, 50);
+		// when
+		criterion.reset();
+		// then
+		assertThat(criterion.isMet(1, 100)).isFalse();
+		assertThat(criterion.isMet(2, 100)).isFalse();
+		assertThat(criterion.isMet(3, 100)).isTrue();
+	}
+
+	@Test
+	@DisplayName("Should stop when relative improvement over the window is below epsilon")
+	void shouldStop_whenImprovementIsBelowEpsilon() {
+		// given
+		final ImprovementCriterion criterion = new ImprovementCriterion(0.01, 2);
+		// then
+		assertThat(criterion.isMet(1, 1000)).isFalse();
+		assertThat(criterion.isMet(2, 990)).isFalse();
+		// 1000 -> 980 is 2%
+		assertThat(criterion.isMet(3, 980)).isFalse();
+		// 990 -> 985 is 0.5%
+		assertThat(criterion.isMet(4, 985)).isTrue();
+	}
+
+	@Test
+	@DisplayName("Should stop when the target fitness is reached")
+	void shouldStop_whenTargetFitnessIsReached() {
+		// given
+		final TargetFitnessCriterion criterion = new TargetFitnessCriterion(500);
+		// then
+		assertThat(criterion.isMet(1, 501)).isFalse();
+		assertThat(criterion.isMet(2, 500)).isTrue();
+	}
+
+	@Test
+	@DisplayName("Should throw exception when created with invalid window")
+	void shouldThrowException_whenCreatedWithInvalidWindow() {
+		assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> new ImprovementCriterion(0.01, 0))
+				.withMessage("Window cannot be less or equal 0");
+	}
+}
@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -48,6 +49,37 @@ class TournamentTest {
 				.withMessage(String.format("The size of the population (%s) is to small to pick %s individuals", individuals.size(), size));
 	}
 
+	@Test
+	@DisplayName("Should select index of the best drawn competitor without modifying the fitness array")
+	void shouldSelectIndexOfBestCompetitor_withoutModifyingArray() {
+		// given
+		final int[] fitness = new int[] { 500, 400, 300, 200, 100 };
+		final Tournament tournament = new Tournament(3);
+		final SplittableRandom random = new SplittableRandom(42L);
+		// the same draws as the tournament, the higher index the lower fitness
+		final SplittableRandom draws = new SplittableRandom(42L);
+		int best = draws.nextInt(fitness.length);
+		for (int i = 1; i < 3; i++) {
+			best = Math.max(best, draws.nextInt(fitness.length));
+		}
+		// when
+		final int winner = tournament.select(fitness, random);
+		// then
+		assertThat(winner).isEqualTo(best);
+		assertThat(fitness).containsExactly(500, 400, 300, 200, 100);
+	}
+
+	@Test
+	@DisplayName("Should throw an IllegalArgumentException when fitness array is smaller than tournament")
+	void shouldThrowAnIllegalArgumentException_whenFitnessArrayIsSmallerThanTournament() {
+		// given
+		final int[] fitness = new int[] { 500, 400 };
+		final Tournament tournament = new Tournament(3);
+		// then
+		assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> tournament.select(fitness, new SplittableRandom()))
+				.withMessage("The size of the population (2) is to small to pick 3 individuals");
+	}
+
 	/**
 	 * @return Sample list of individuals
 	 */
@@ -0,0 +1,145 @@
+package ga;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import tsp.TSP;
+
+/**
+ * Tests for {@link TspInstance} and {@link TsplibParser}
+ *
+ * @author Jagoda Wieczorek
+ */
+class TspInstanceTest {
+	@Test
+	@DisplayName("Should load TSPLIB file with GEO coordinates")
+	void shouldLoadGeoInstance() {
+		// when
+		final TspInstance instance = TspInstance.load("resources/tsp/gr96.tsp");
+		// then
+		assertThat(instance.getName()).isEqualTo("gr96");
+		assertThat(instance.getEdgeWeightType()).isEqualTo(EdgeWeightType.GEO);
+		assertThat(instance.size()).isEqualTo(96);
+		assertThat(instance.getId(0)).isEqualTo(1);
+		assertThat(instance.getId(95)).isEqualTo(96);
+	}
+
+	@Test
+	@DisplayName("Should compute GEO distances as TSPLIB")
+	void shouldComputeGeoDistances() {
+		// when
+		final TspInstance instance = TspInstance.load("resources/tsp/test/gr4.tsp");
+		// then
+		assertThat(instance.getDistance(0, 1)).isEqualTo(808);
+		assertThat(instance.getDistance(1, 0)).isEqualTo(808);
+		assertThat(instance.getDistance(2, 2)).isZero();
+	}
+
+	@Test
+	@DisplayName("Should compute GEO distances with PI of TSPLIB where the legacy loader differs")
+	void shouldComputeGeoDistances_withPiOfTsplib() {
+		// given
+		final DistanceMatrix legacy = DistanceMatrix.of(new TSP("resources/tsp/gr137.tsp").getPlaces());
+		// when
+		final TspInstance instance = TspInstance.load("resources/tsp/gr137.tsp");
+		// then
+		assertThat(instance.getDistance(52, 88)).isEqualTo(3659);
+		assertThat(instance.getDistance(88, 52)).isEqualTo(3659);
+		assertThat(instance.getDistance(77, 133)).isEqualTo(3345);
+		assertThat(instance.getDistance(133, 77)).isEqualTo(3345);
+		assertThat(instance.getDistance(94, 128)).isEqualTo(4708);
+		assertThat(instance.getDistance(128, 94)).isEqualTo(4708);
+		int differences = 0;
+		for (int from = 0; from < 137; from++) {
+			for (int to = 0; to < 137; to++) {
+				if (instance.getDistance(from, to) != legacy.getDistance(from, to)) {
+					assertThat(Math.abs(instance.getDistance(from, to) - legacy.getDistance(from, to))).isEqualTo(1);
+					differences++;
+				}
+			}
+		}
+		assertThat(differences).isEqualTo(6);
+	}
+
+	@Test
+	@DisplayName("Should compute EUC_2D and ATT distances as TSPLIB")
+	void shouldComputeEuclideanDistances() {
+		// given
+		final String nodes = "NODE_COORD_SECTION\n1 0 0\n2 3.0e0 4\n3 -6 -8.0\nEOF\n";
+		// when
+		final TspInstance euclidean = TsplibParser.parse("NAME: euc\nTYPE: TSP\nDIMENSION: 3\nEDGE_WEIGHT_TYPE: EUC_2D\n" + nodes);
+		final TspInstance pseudoEuclidean = TsplibParser.parse("NAME : att\r\nEDGE_WEIGHT_TYPE : ATT\r\n" + nodes);
+		// then
+		assertThat(euclidean.getDistance(0, 1)).isEqualTo(5);
+		assertThat(euclidean.getDistance(1, 2)).isEqualTo(15);
+		assertThat(pseudoEuclidean.getDistance(0, 1)).isEqualTo(2);
+		assertThat(pseudoEuclidean.getDistance(0, 2)).isEqualTo(4);
+	}
+
+	@Test
+	@DisplayName("Should sort nodes by id")
+	void shouldSortNodesById() {
+		// when
+		final TspInstance instance = TsplibParser.parse("EDGE_WEIGHT_TYPE: EUC_2D\nNODE_COORD_SECTION\n3 0 10\n1 0 0\n2 0 4\n");
+		// then
+		assertThat(instance.getId(0)).isEqualTo(1);
+		assertThat(instance.getId(2)).isEqualTo(3);
+		assertThat(instance.getDistance(0, 1)).isEqualTo(4);
+		assertThat(instance.getDistance(0, 2)).isEqualTo(10);
+	}
+
+	@Test
+	@DisplayName("Should build distance matrix equal to computed distances")
+	void shouldBuildDistanceMatrix() {
+		// given
+		final TspInstance instance = TspInstance.load("resources/tsp/gr96.tsp");
+		// when
+		final DistanceMatrix distanceMatrix = instance.toDistanceMatrix();
+		// then
+		assertThat(distanceMatrix.size()).isEqualTo(96);
+		for (int from = 0; from < 96; from++) {
+			assertThat(distanceMatrix.getId(from)).isEqualTo(instance.getId(from));
+			for (int to = 0; to < 96; to++) {
+				assertThat(distanceMatrix.getDistance(from, to)).isEqualTo(instance.getDistance(from, to));
+			}
+		}
+	}
+
+	@Test
+	@DisplayName("Should throw exception when number of nodes differs from dimension")
+	void shouldThrowException_whenDimensionDiffers() {
+		// when, then
+		assertThatThrownBy(() -> TsplibParser.parse("DIMENSION: 3\nEDGE_WEIGHT_TYPE: EUC_2D\nNODE_COORD_SECTION\n1 0 0\n2 1 1\nEOF\n"))
+				.isInstanceOf(IllegalArgumentException.class).hasMessage("TSPLIB file declares 3 nodes but contains 2");
+	}
+
+	@Test
+	@DisplayName("Should throw exception for unsupported edge weight type")
+	void shouldThrowException_whenEdgeWeightTypeIsUnsupported() {
+		// when, then
+		assertThatThrownBy(() -> TsplibParser.parse("EDGE_WEIGHT_TYPE: EXPLICIT\nEDGE_WEIGHT_SECTION\n")).isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Unsupported edge weight type EXPLICIT");
+	}
+
+	@Test
+	@DisplayName("Should throw exception when there is no node coordinate section")
+	void shouldThrowException_whenNoNodeCoordinates() {
+		// when, then
+		assertThatThrownBy(() -> TsplibParser.parse("NAME: empty\nEDGE_WEIGHT_TYPE: GEO\nEOF\n")).isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("TSPLIB file has no NODE_COORD_SECTION");
+	}
+
+	@Test
+	@DisplayName("Should throw exception when the distance matrix does not fit into an array")
+	void shouldThrowException_whenDistanceMatrixIsTooBig() {
+		// given
+		final TspInstance instance = TspInstance.of("big", new double[46_341], new double[46_341]);
+		// when, then
+		assertThatThrownBy(instance::toDistanceMatrix).isInstanceOf(IllegalArgumentException.class)
+				.hasMessageStartingWith("Distance matrix cannot have more than 2147483639 values, got 2147488281 for 46341 places")
+				.hasMessageContaining("CachedDistanceProvider");
+	}
+}